@@ -0,0 +1,78 @@
+package br.com.duxusdesafio.analytics;
+
+/**
+ * Contagens de um período calculadas a partir do instantâneo colunar.
+ * Pode ser somada a outra agregação do mesmo instantâneo.
+ */
+public class AgregacaoColunar {
+
+    private final ContadorPorId aparicoes = new ContadorPorId();
+
+    private final ContadorPorId assinaturas = new ContadorPorId();
+
+    private final ContadorPorCodigo funcoes;
+
+    private final ContadorPorCodigo franquias;
+
+    private final ContadorPorCodigo timesPorFranquia;
+
+    private int quantidadeDeTimes;
+
+    public AgregacaoColunar(int quantidadeDeFuncoes, int quantidadeDeFranquias) {
+        this.funcoes = new ContadorPorCodigo(quantidadeDeFuncoes);
+        this.franquias = new ContadorPorCodigo(quantidadeDeFranquias);
+        this.timesPorFranquia = new ContadorPorCodigo(quantidadeDeFranquias);
+    }
+
+    /**
+     * Aparições por id do integrante.
+     */
+    public ContadorPorId getAparicoes() {
+        return aparicoes;
+    }
+
+    /**
+     * Times por assinatura da composição.
+     */
+    public ContadorPorId getAssinaturas() {
+        return assinaturas;
+    }
+
+    /**
+     * Composições por código da função.
+     */
+    public ContadorPorCodigo getFuncoes() {
+        return funcoes;
+    }
+
+    /**
+     * Composições por código da franquia.
+     */
+    public ContadorPorCodigo getFranquias() {
+        return franquias;
+    }
+
+    /**
+     * Times por código da franquia do primeiro integrante.
+     */
+    public ContadorPorCodigo getTimesPorFranquia() {
+        return timesPorFranquia;
+    }
+
+    public int getQuantidadeDeTimes() {
+        return quantidadeDeTimes;
+    }
+
+    void registrarTime() {
+        quantidadeDeTimes++;
+    }
+
+    public void somarTodos(AgregacaoColunar outra) {
+        aparicoes.somarTodos(outra.aparicoes);
+        assinaturas.somarTodos(outra.assinaturas);
+        funcoes.somarTodos(outra.funcoes);
+        franquias.somarTodos(outra.franquias);
+        timesPorFranquia.somarTodos(outra.timesPorFranquia);
+        quantidadeDeTimes += outra.quantidadeDeTimes;
+    }
+}
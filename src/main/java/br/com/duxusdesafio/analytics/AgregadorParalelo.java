@@ -0,0 +1,95 @@
+package br.com.duxusdesafio.analytics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Agrega períodos longos do instantâneo colunar em paralelo.
+ *
+ * Os times do período, já ordenados por data, são divididos em partes contíguas; cada parte
+ * é agregada em um pool fork/join com contadores próprios e as agregações parciais são somadas.
+ * Períodos mais curtos que duxus.analytics.paralelo.dias-minimos são agregados na thread da requisição.
+ * Os desempates dos contadores não dependem da ordem de inserção, então o resultado é igual ao sequencial.
+ */
+@Component
+public class AgregadorParalelo {
+
+    @Value("${duxus.analytics.paralelo.dias-minimos:366}")
+    private int diasMinimos = 366;
+
+    @Value("${duxus.analytics.paralelo.threads:0}")
+    private int threads;
+
+    @Value("${duxus.analytics.paralelo.times-por-parte:4096}")
+    private int timesPorParte = 4096;
+
+    private ForkJoinPool pool;
+
+    public AgregacaoColunar agregar(ComposicoesColunares colunas, LocalDate dataInicial, LocalDate dataFinal) {
+        int primeiroTime = colunas.primeiroTime(dataInicial);
+        int fimDosTimes = colunas.fimDosTimes(dataFinal);
+        if (!deveParalelizar(dataInicial, dataFinal, fimDosTimes - primeiroTime)) {
+            return colunas.agregar(primeiroTime, fimDosTimes);
+        }
+        return pool().invoke(new AgregacaoDeParte(colunas, primeiroTime, fimDosTimes, Math.max(timesPorParte, 1)));
+    }
+
+    boolean deveParalelizar(LocalDate dataInicial, LocalDate dataFinal, int quantidadeDeTimes) {
+        return diasMinimos > 0
+                && ChronoUnit.DAYS.between(dataInicial, dataFinal) + 1 >= diasMinimos
+                && quantidadeDeTimes > timesPorParte;
+    }
+
+    private synchronized ForkJoinPool pool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        }
+        return pool;
+    }
+
+    @PreDestroy
+    public synchronized void encerrar() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private static class AgregacaoDeParte extends RecursiveTask<AgregacaoColunar> {
+
+        private final ComposicoesColunares colunas;
+
+        private final int primeiroTime;
+
+        private final int fimDosTimes;
+
+        private final int timesPorParte;
+
+        AgregacaoDeParte(ComposicoesColunares colunas, int primeiroTime, int fimDosTimes, int timesPorParte) {
+            this.colunas = colunas;
+            this.primeiroTime = primeiroTime;
+            this.fimDosTimes = fimDosTimes;
+            this.timesPorParte = timesPorParte;
+        }
+
+        @Override
+        protected AgregacaoColunar compute() {
+            if (fimDosTimes - primeiroTime <= timesPorParte) {
+                return colunas.agregar(primeiroTime, fimDosTimes);
+            }
+            int meio = (primeiroTime + fimDosTimes) >>> 1;
+            AgregacaoDeParte primeiraMetade = new AgregacaoDeParte(colunas, primeiroTime, meio, timesPorParte);
+            AgregacaoDeParte segundaMetade = new AgregacaoDeParte(colunas, meio, fimDosTimes, timesPorParte);
+            primeiraMetade.fork();
+            AgregacaoColunar agregacao = segundaMetade.compute();
+            agregacao.somarTodos(primeiraMetade.join());
+            return agregacao;
+        }
+    }
+}
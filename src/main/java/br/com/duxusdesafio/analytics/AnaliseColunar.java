@@ -0,0 +1,57 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.component.AposConfirmacao;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Guarda o instantâneo colunar das composições usado pelas consultas da fonte COLUNAR.
+ *
+ * O instantâneo é montado sob demanda e descartado pelo TimeService e pelo IntegranteService
+ * a cada escrita; a consulta seguinte monta um novo a partir do banco.
+ */
+@Component
+public class AnaliseColunar {
+
+    private final AtomicLong versao = new AtomicLong();
+
+    private volatile ComposicoesColunares instantaneo;
+
+    public ComposicoesColunares obter(Supplier<ComposicoesColunares> construtor) {
+        ComposicoesColunares atual = instantaneo;
+        if (atual != null) {
+            return atual;
+        }
+        synchronized (this) {
+            if (instantaneo != null) {
+                return instantaneo;
+            }
+            long versaoDaConstrucao = versao.get();
+            ComposicoesColunares novo = construtor.get();
+            // uma escrita durante a construção torna o instantâneo obsoleto: ele é usado só nesta consulta
+            if (versao.get() == versaoDaConstrucao) {
+                instantaneo = novo;
+            }
+            return novo;
+        }
+    }
+
+    public boolean isCarregado() {
+        return instantaneo != null;
+    }
+
+    /**
+     * Descarta o instantâneo agora e, dentro de uma transação, novamente após a confirmação,
+     * para que uma consulta concorrente não guarde um instantâneo sem a escrita.
+     */
+    public void invalidar() {
+        AposConfirmacao.executarAgoraEAposConfirmar(this::descartar);
+    }
+
+    private void descartar() {
+        versao.incrementAndGet();
+        instantaneo = null;
+    }
+}
@@ -0,0 +1,204 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.component.AposConfirmacao;
+import br.com.duxusdesafio.response.EntradaDoCacheResponse;
+import br.com.duxusdesafio.response.EstatisticasDoCacheResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Cache dos resultados das consultas por período do ApiService, indexado pela métrica e pelo período.
+ *
+ * O tamanho é limitado pelo peso das entradas (1 por resultado, mais 1 por item de listas e mapas)
+ * e as entradas menos usadas recentemente são descartadas primeiro.
+ * A escrita de um time descarta só as entradas cujo período contém a data do time; a alteração de
+ * um integrante descarta as entradas que o retornam e as que dependem do dado alterado.
+ */
+@Component
+public class CacheDeResultados {
+
+    @Value("${duxus.analytics.cache.peso-maximo:10000}")
+    private long pesoMaximo = 10000;
+
+    private final LinkedHashMap<Chave, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long pesoTotal;
+
+    private long versao;
+
+    private long acertos;
+
+    private long falhas;
+
+    private long despejos;
+
+    /**
+     * Retorna o resultado guardado ou o calcula e o guarda. integrantesReferenciados retorna os ids
+     * dos integrantes contidos no resultado. Exceções do cálculo não são guardadas.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T obter(MetricaAnalitica metrica, LocalDate dataInicial, LocalDate dataFinal, Supplier<T> calculo,
+                       Function<? super T, ? extends Collection<Long>> integrantesReferenciados) {
+        if (pesoMaximo <= 0) {
+            return calculo.get();
+        }
+        Chave chave = new Chave(metrica, dataInicial, dataFinal);
+        long versaoDoCalculo;
+        synchronized (this) {
+            Entrada entrada = entradas.get(chave);
+            if (entrada != null) {
+                acertos++;
+                entrada.acertos++;
+                entrada.ultimoAcesso = LocalDateTime.now();
+                return (T) entrada.valor;
+            }
+            falhas++;
+            versaoDoCalculo = versao;
+        }
+
+        T valor = calculo.get();
+        long peso = pesoDe(valor);
+        synchronized (this) {
+            // uma escrita durante o cálculo pode não estar no resultado: ele é usado só nesta consulta
+            if (versao == versaoDoCalculo && peso <= pesoMaximo) {
+                Entrada anterior = entradas.put(chave, new Entrada(valor, peso,
+                        new HashSet<>(integrantesReferenciados.apply(valor))));
+                if (anterior != null) {
+                    pesoTotal -= anterior.peso;
+                }
+                pesoTotal += peso;
+                despejarExcedente();
+            }
+        }
+        return valor;
+    }
+
+    public <T> T obter(MetricaAnalitica metrica, LocalDate dataInicial, LocalDate dataFinal, Supplier<T> calculo) {
+        return obter(metrica, dataInicial, dataFinal, calculo, valor -> Collections.emptySet());
+    }
+
+    /**
+     * Descarta, agora e após a confirmação da transação, as entradas cujo período contém a data.
+     */
+    public void invalidarData(LocalDate data) {
+        if (data == null) {
+            return;
+        }
+        descartarAgoraEAposConfirmar(chave -> !data.isBefore(chave.dataInicial) && !data.isAfter(chave.dataFinal),
+                entrada -> false);
+    }
+
+    /**
+     * Descarta, agora e após a confirmação da transação, as entradas que retornam o integrante
+     * e as das métricas que dependem dos dados alterados.
+     */
+    public void invalidarIntegrante(Long idIntegrante, boolean nomeAlterado, boolean funcaoAlterada, boolean franquiaAlterada) {
+        descartarAgoraEAposConfirmar(chave -> chave.metrica.afetadaPor(nomeAlterado, funcaoAlterada, franquiaAlterada),
+                entrada -> entrada.integrantes.contains(idIntegrante));
+    }
+
+    public synchronized EstatisticasDoCacheResponse estatisticas() {
+        List<EntradaDoCacheResponse> resumoDasEntradas = new ArrayList<>(entradas.size());
+        entradas.forEach((chave, entrada) -> resumoDasEntradas.add(new EntradaDoCacheResponse(chave.metrica.name(),
+                chave.dataInicial, chave.dataFinal, entrada.peso, entrada.acertos, entrada.criadoEm, entrada.ultimoAcesso)));
+        return new EstatisticasDoCacheResponse(pesoMaximo, pesoTotal, acertos, falhas, despejos, resumoDasEntradas);
+    }
+
+    public synchronized boolean contem(MetricaAnalitica metrica, LocalDate dataInicial, LocalDate dataFinal) {
+        return entradas.containsKey(new Chave(metrica, dataInicial, dataFinal));
+    }
+
+    private void descartarAgoraEAposConfirmar(Predicate<Chave> porChave, Predicate<Entrada> porEntrada) {
+        AposConfirmacao.executarAgoraEAposConfirmar(() -> descartar(porChave, porEntrada));
+    }
+
+    private synchronized void descartar(Predicate<Chave> porChave, Predicate<Entrada> porEntrada) {
+        versao++;
+        Iterator<Map.Entry<Chave, Entrada>> iterador = entradas.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<Chave, Entrada> item = iterador.next();
+            if (porChave.test(item.getKey()) || porEntrada.test(item.getValue())) {
+                pesoTotal -= item.getValue().peso;
+                iterador.remove();
+            }
+        }
+    }
+
+    private void despejarExcedente() {
+        Iterator<Entrada> iterador = entradas.values().iterator();
+        while (pesoTotal > pesoMaximo && iterador.hasNext()) {
+            pesoTotal -= iterador.next().peso;
+            iterador.remove();
+            despejos++;
+        }
+    }
+
+    private static long pesoDe(Object valor) {
+        if (valor instanceof Collection) {
+            return 1L + ((Collection<?>) valor).size();
+        }
+        if (valor instanceof Map) {
+            return 1L + ((Map<?, ?>) valor).size();
+        }
+        return 1L;
+    }
+
+    private static final class Entrada {
+
+        private final Object valor;
+        private final long peso;
+        private final Set<Long> integrantes;
+        private final LocalDateTime criadoEm = LocalDateTime.now();
+        private LocalDateTime ultimoAcesso = criadoEm;
+        private long acertos;
+
+        private Entrada(Object valor, long peso, Set<Long> integrantes) {
+            this.valor = valor;
+            this.peso = peso;
+            this.integrantes = integrantes;
+        }
+    }
+
+    private static final class Chave {
+
+        private final MetricaAnalitica metrica;
+        private final LocalDate dataInicial;
+        private final LocalDate dataFinal;
+
+        private Chave(MetricaAnalitica metrica, LocalDate dataInicial, LocalDate dataFinal) {
+            this.metrica = metrica;
+            this.dataInicial = dataInicial;
+            this.dataFinal = dataFinal;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Chave)) return false;
+            Chave that = (Chave) o;
+            return metrica == that.metrica && Objects.equals(dataInicial, that.dataInicial)
+                    && Objects.equals(dataFinal, that.dataFinal);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metrica, dataInicial, dataFinal);
+        }
+    }
+}
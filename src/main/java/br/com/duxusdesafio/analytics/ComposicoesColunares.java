@@ -0,0 +1,204 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.dto.LinhaDeComposicao;
+import br.com.duxusdesafio.model.Time;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantâneo imutável das composições de todos os times em arrays paralelos de tipos primitivos.
+ *
+ * Cada linha é uma composição: dia (epoch day), id do integrante e códigos da função e da franquia.
+ * As linhas de um mesmo time são contíguas e os times estão ordenados pela data, de forma que um
+ * período corresponde a um intervalo contínuo dos arrays, localizado por busca binária.
+ * O id, o dia e a assinatura da composição ficam em arrays por time, com o índice da primeira linha de cada um.
+ */
+public final class ComposicoesColunares {
+
+    private final int[] dias;
+
+    private final long[] idsIntegrante;
+
+    private final int[] codigosFuncao;
+
+    private final int[] codigosFranquia;
+
+    private final long[] idsTime;
+
+    private final int[] diasDosTimes;
+
+    private final long[] assinaturas;
+
+    private final int[] inicioDosTimes;
+
+    private final Map<Long, String> nomesDosIntegrantes;
+
+    private final DicionarioIntegrantes dicionario;
+
+    private ComposicoesColunares(int quantidadeDeLinhas, int quantidadeDeTimes, DicionarioIntegrantes dicionario) {
+        this.dias = new int[quantidadeDeLinhas];
+        this.idsIntegrante = new long[quantidadeDeLinhas];
+        this.codigosFuncao = new int[quantidadeDeLinhas];
+        this.codigosFranquia = new int[quantidadeDeLinhas];
+        this.idsTime = new long[quantidadeDeTimes];
+        this.diasDosTimes = new int[quantidadeDeTimes];
+        this.assinaturas = new long[quantidadeDeTimes];
+        this.inicioDosTimes = new int[quantidadeDeTimes + 1];
+        this.nomesDosIntegrantes = new HashMap<>();
+        this.dicionario = dicionario;
+    }
+
+    /**
+     * Monta o instantâneo a partir das linhas ordenadas por data, id do time e id da composição.
+     */
+    public static ComposicoesColunares construir(List<? extends LinhaDeComposicao> linhas,
+                                                 DicionarioIntegrantes dicionario) {
+        int quantidadeDeTimes = 0;
+        Long idAnterior = null;
+        for (LinhaDeComposicao linha : linhas) {
+            if (!linha.getIdTime().equals(idAnterior)) {
+                quantidadeDeTimes++;
+                idAnterior = linha.getIdTime();
+            }
+        }
+
+        ComposicoesColunares colunas = new ComposicoesColunares(linhas.size(), quantidadeDeTimes, dicionario);
+        Dicionario funcoes = dicionario.getFuncoes();
+        Dicionario franquias = dicionario.getFranquias();
+        List<Long> idsDoTime = new ArrayList<>();
+        int time = -1;
+        for (int i = 0; i < linhas.size(); i++) {
+            LinhaDeComposicao linha = linhas.get(i);
+            int dia = (int) linha.getData().toEpochDay();
+            if (time < 0 || colunas.idsTime[time] != linha.getIdTime()) {
+                if (time >= 0) {
+                    if (dia < colunas.diasDosTimes[time]) {
+                        throw new IllegalArgumentException("As linhas de composição devem estar ordenadas pela data.");
+                    }
+                    colunas.assinaturas[time] = assinatura(idsDoTime);
+                    idsDoTime.clear();
+                }
+                time++;
+                colunas.idsTime[time] = linha.getIdTime();
+                colunas.diasDosTimes[time] = dia;
+                colunas.inicioDosTimes[time] = i;
+            }
+            colunas.dias[i] = dia;
+            colunas.idsIntegrante[i] = linha.getIdIntegrante();
+            colunas.codigosFuncao[i] = funcoes.codificar(linha.getFuncao());
+            colunas.codigosFranquia[i] = franquias.codificar(linha.getFranquia());
+            colunas.nomesDosIntegrantes.put(linha.getIdIntegrante(), linha.getNome());
+            idsDoTime.add(linha.getIdIntegrante());
+        }
+        if (time >= 0) {
+            colunas.assinaturas[time] = assinatura(idsDoTime);
+        }
+        colunas.inicioDosTimes[quantidadeDeTimes] = linhas.size();
+        return colunas;
+    }
+
+    private static long assinatura(List<Long> idsDosIntegrantes) {
+        return Long.parseUnsignedLong(Time.calcularAssinatura(idsDosIntegrantes), 16);
+    }
+
+    public int quantidadeDeTimes() {
+        return idsTime.length;
+    }
+
+    public int quantidadeDeLinhas() {
+        return dias.length;
+    }
+
+    /**
+     * Índice do primeiro time com data igual ou posterior à data informada.
+     */
+    public int primeiroTime(LocalDate dataInicial) {
+        return primeiroIndiceComDiaMaiorOuIgual((int) dataInicial.toEpochDay());
+    }
+
+    /**
+     * Índice seguinte ao do último time com data igual ou anterior à data informada.
+     */
+    public int fimDosTimes(LocalDate dataFinal) {
+        return primeiroIndiceComDiaMaiorOuIgual((int) dataFinal.toEpochDay() + 1);
+    }
+
+    private int primeiroIndiceComDiaMaiorOuIgual(int dia) {
+        int inicio = 0;
+        int fim = diasDosTimes.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (diasDosTimes[meio] < dia) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Conta as composições dos times do período.
+     */
+    public AgregacaoColunar agregar(LocalDate dataInicial, LocalDate dataFinal) {
+        return agregar(primeiroTime(dataInicial), fimDosTimes(dataFinal));
+    }
+
+    /**
+     * Conta as composições dos times de índice entre primeiroTime (inclusive) e fimDosTimes (exclusive).
+     */
+    public AgregacaoColunar agregar(int primeiroTime, int fimDosTimes) {
+        AgregacaoColunar agregacao = new AgregacaoColunar(
+                dicionario.getFuncoes().tamanho(), dicionario.getFranquias().tamanho());
+        ContadorPorId aparicoes = agregacao.getAparicoes();
+        ContadorPorCodigo funcoes = agregacao.getFuncoes();
+        ContadorPorCodigo franquias = agregacao.getFranquias();
+        for (int time = primeiroTime; time < fimDosTimes; time++) {
+            int primeiraLinha = inicioDosTimes[time];
+            int fimDasLinhas = inicioDosTimes[time + 1];
+            agregacao.registrarTime();
+            agregacao.getAssinaturas().incrementar(assinaturas[time]);
+            // a franquia do time é a do seu primeiro integrante
+            agregacao.getTimesPorFranquia().incrementar(codigosFranquia[primeiraLinha]);
+            for (int linha = primeiraLinha; linha < fimDasLinhas; linha++) {
+                aparicoes.incrementar(idsIntegrante[linha]);
+                funcoes.incrementar(codigosFuncao[linha]);
+                franquias.incrementar(codigosFranquia[linha]);
+            }
+        }
+        return agregacao;
+    }
+
+    /**
+     * Índice do primeiro time do período com a assinatura informada, ou -1 se não houver.
+     */
+    public int primeiroTimeComAssinatura(long assinatura, LocalDate dataInicial, LocalDate dataFinal) {
+        int fim = fimDosTimes(dataFinal);
+        for (int time = primeiroTime(dataInicial); time < fim; time++) {
+            if (assinaturas[time] == assinatura) {
+                return time;
+            }
+        }
+        return -1;
+    }
+
+    public List<String> nomesDoTime(int time) {
+        List<String> nomes = new ArrayList<>(inicioDosTimes[time + 1] - inicioDosTimes[time]);
+        for (int linha = inicioDosTimes[time]; linha < inicioDosTimes[time + 1]; linha++) {
+            nomes.add(nomesDosIntegrantes.get(idsIntegrante[linha]));
+        }
+        return nomes;
+    }
+
+    public long idDoTime(int time) {
+        return idsTime[time];
+    }
+
+    public LocalDate dataDoTime(int time) {
+        return LocalDate.ofEpochDay(diasDosTimes[time]);
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.component.AposConfirmacao;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controla quais meses das estatísticas mensais podem responder consultas.
+ *
+ * Até a primeira compactação completa nenhum mês é usado. Depois dela, um mês com escrita
+ * nas estatísticas diárias fica pendente até a próxima compactação e, enquanto isso, é
+ * respondido pelos dias. Cada marcação recebe uma versão: a compactação só libera o mês
+ * se nenhuma escrita o tiver marcado de novo enquanto ela rodava.
+ */
+@Component
+public class ConsolidacaoMensal {
+
+    private final Map<YearMonth, Long> pendentes = new ConcurrentHashMap<>();
+
+    private final AtomicLong versao = new AtomicLong();
+
+    private volatile boolean consolidado;
+
+    /**
+     * Marca o mês da data como pendente agora e de novo após a confirmação da transação,
+     * para que uma compactação concorrente não libere o mês antes de a escrita ser visível.
+     */
+    public void marcarPendente(LocalDate data) {
+        YearMonth mes = YearMonth.from(data);
+        AposConfirmacao.executarAgoraEAposConfirmar(() -> pendentes.put(mes, versao.incrementAndGet()));
+    }
+
+    /**
+     * Cópia dos meses pendentes com as versões atuais, a ser devolvida em {@link #concluir}.
+     */
+    public Map<YearMonth, Long> getPendentes() {
+        return new HashMap<>(pendentes);
+    }
+
+    /**
+     * Libera os meses compactados cuja versão não mudou. Uma compactação completa também
+     * habilita o uso das estatísticas mensais.
+     */
+    public void concluir(Map<YearMonth, Long> compactados, boolean completa) {
+        compactados.forEach(pendentes::remove);
+        if (completa) {
+            consolidado = true;
+        }
+    }
+
+    public boolean podeUsar(YearMonth mes) {
+        return consolidado && !pendentes.containsKey(mes);
+    }
+
+    public boolean isConsolidado() {
+        return consolidado;
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.duxusdesafio.analytics;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Contagens indexadas pelo código de um Dicionario, guardadas em um long[].
+ */
+public class ContadorPorCodigo {
+
+    private long[] contagens;
+
+    public ContadorPorCodigo(int quantidadeDeCodigos) {
+        this.contagens = new long[Math.max(quantidadeDeCodigos, 1)];
+    }
+
+    public void incrementar(int codigo) {
+        somar(codigo, 1);
+    }
+
+    public void somar(int codigo, long valor) {
+        if (codigo >= contagens.length) {
+            contagens = Arrays.copyOf(contagens, Math.max(codigo + 1, contagens.length * 2));
+        }
+        contagens[codigo] += valor;
+    }
+
+    public long obter(int codigo) {
+        return codigo < contagens.length ? contagens[codigo] : 0;
+    }
+
+    /**
+     * Soma todas as contagens do outro contador a este.
+     */
+    public void somarTodos(ContadorPorCodigo outro) {
+        for (int codigo = 0; codigo < outro.contagens.length; codigo++) {
+            if (outro.contagens[codigo] != 0) {
+                somar(codigo, outro.contagens[codigo]);
+            }
+        }
+    }
+
+    public boolean isVazio() {
+        for (long contagem : contagens) {
+            if (contagem > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converte as contagens positivas para um mapa com os valores textuais do dicionário.
+     */
+    public Map<String, Long> decodificar(Dicionario dicionario) {
+        Map<String, Long> contagemPorValor = new HashMap<>();
+        for (int codigo = 0; codigo < contagens.length; codigo++) {
+            if (contagens[codigo] > 0) {
+                contagemPorValor.put(dicionario.decodificar(codigo), contagens[codigo]);
+            }
+        }
+        return contagemPorValor;
+    }
+}
@@ -0,0 +1,185 @@
+package br.com.duxusdesafio.analytics;
+
+/**
+ * Mapa de contagens long -> long com endereçamento aberto (sondagem linear).
+ * Conta aparições por id sem criar objetos Long nem calcular hashCode de entidades,
+ * o que mantém as agregações livres de alocação por linha.
+ *
+ * A chave 0 é tratada à parte, pois marca as posições livres da tabela.
+ */
+public class ContadorPorId {
+
+    private static final int CAPACIDADE_MINIMA = 8;
+
+    private long[] chaves;
+    private long[] valores;
+    private int mascara;
+    private int ocupadas;
+    private int limite;
+
+    private boolean temChaveZero;
+    private long valorChaveZero;
+
+    public ContadorPorId() {
+        this(16);
+    }
+
+    public ContadorPorId(int quantidadeEsperada) {
+        int capacidade = CAPACIDADE_MINIMA;
+        while (capacidade < quantidadeEsperada * 2) {
+            capacidade <<= 1;
+        }
+        alocar(capacidade);
+    }
+
+    public void incrementar(long chave) {
+        somar(chave, 1);
+    }
+
+    public void somar(long chave, long valor) {
+        if (chave == 0) {
+            temChaveZero = true;
+            valorChaveZero += valor;
+            return;
+        }
+        int posicao = posicaoInicial(chave);
+        while (true) {
+            long atual = chaves[posicao];
+            if (atual == chave) {
+                valores[posicao] += valor;
+                return;
+            }
+            if (atual == 0) {
+                chaves[posicao] = chave;
+                valores[posicao] = valor;
+                if (++ocupadas > limite) {
+                    redimensionar();
+                }
+                return;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+    }
+
+    /**
+     * Soma todas as contagens do outro contador a este.
+     */
+    public void somarTodos(ContadorPorId outro) {
+        outro.paraCada(this::somar);
+    }
+
+    public long obter(long chave) {
+        if (chave == 0) {
+            return valorChaveZero;
+        }
+        int posicao = posicaoInicial(chave);
+        while (true) {
+            long atual = chaves[posicao];
+            if (atual == chave) {
+                return valores[posicao];
+            }
+            if (atual == 0) {
+                return 0;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+    }
+
+    public boolean contem(long chave) {
+        if (chave == 0) {
+            return temChaveZero;
+        }
+        int posicao = posicaoInicial(chave);
+        while (chaves[posicao] != 0) {
+            if (chaves[posicao] == chave) {
+                return true;
+            }
+            posicao = (posicao + 1) & mascara;
+        }
+        return false;
+    }
+
+    public int tamanho() {
+        return ocupadas + (temChaveZero ? 1 : 0);
+    }
+
+    public boolean isVazio() {
+        return tamanho() == 0;
+    }
+
+    public void paraCada(ConsumidorDeContagem consumidor) {
+        if (temChaveZero) {
+            consumidor.aceitar(0, valorChaveZero);
+        }
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != 0) {
+                consumidor.aceitar(chaves[i], valores[i]);
+            }
+        }
+    }
+
+    /**
+     * Retorna a chave de maior contagem; em caso de empate, a menor chave.
+     */
+    public long chaveDeMaiorContagem() {
+        if (isVazio()) {
+            throw new IllegalStateException("O contador está vazio.");
+        }
+        long melhorChave = 0;
+        long melhorValor = Long.MIN_VALUE;
+        boolean encontrado = false;
+        if (temChaveZero) {
+            melhorValor = valorChaveZero;
+            encontrado = true;
+        }
+        for (int i = 0; i < chaves.length; i++) {
+            long chave = chaves[i];
+            if (chave == 0) {
+                continue;
+            }
+            long valor = valores[i];
+            if (!encontrado || valor > melhorValor || (valor == melhorValor && chave < melhorChave)) {
+                melhorChave = chave;
+                melhorValor = valor;
+                encontrado = true;
+            }
+        }
+        return melhorChave;
+    }
+
+    private int posicaoInicial(long chave) {
+        long espalhado = chave * 0x9E3779B97F4A7C15L;
+        return (int) (espalhado ^ (espalhado >>> 32)) & mascara;
+    }
+
+    private void alocar(int capacidade) {
+        chaves = new long[capacidade];
+        valores = new long[capacidade];
+        mascara = capacidade - 1;
+        limite = capacidade / 2;
+        ocupadas = 0;
+    }
+
+    private void redimensionar() {
+        long[] chavesAnteriores = chaves;
+        long[] valoresAnteriores = valores;
+        alocar(chaves.length * 2);
+        for (int i = 0; i < chavesAnteriores.length; i++) {
+            if (chavesAnteriores[i] != 0) {
+                somar(chavesAnteriores[i], valoresAnteriores[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder("{");
+        paraCada((chave, valor) -> texto.append(texto.length() > 1 ? ", " : "").append(chave).append('=').append(valor));
+        return texto.append('}').toString();
+    }
+
+    @FunctionalInterface
+    public interface ConsumidorDeContagem {
+        void aceitar(long chave, long valor);
+    }
+}
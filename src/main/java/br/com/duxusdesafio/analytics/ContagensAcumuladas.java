@@ -0,0 +1,117 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.model.DimensaoEstatistica;
+import br.com.duxusdesafio.model.EstatisticaDiaria;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Somas acumuladas por dia das contagens de função e franquia, construídas a partir das
+ * estatísticas diárias e corrigidas pelo EstatisticaService a cada escrita.
+ *
+ * O intervalo coberto vai da primeira data com estatísticas até um ano depois da última
+ * (ou de hoje), para que os times cadastrados em datas futuras não exijam reconstrução.
+ *
+ * Cada escrita recebe uma versão antes da confirmação. Somas construídas depois do início de uma
+ * escrita podem já conter suas variações e são descartadas quando ela é confirmada, em vez de corrigidas;
+ * uma reconstrução durante a qual a versão mudou é usada só na consulta que a fez.
+ */
+@Component
+public class ContagensAcumuladas {
+
+    static final int MARGEM_DE_DIAS = 366;
+
+    private final Map<DimensaoEstatistica, Entrada> entradas = new EnumMap<>(DimensaoEstatistica.class);
+
+    private long versao;
+
+    public Map<String, Long> contagemNoPeriodo(DimensaoEstatistica dimensao, LocalDate dataInicial, LocalDate dataFinal,
+                                               Supplier<? extends Collection<EstatisticaDiaria>> carregador) {
+        long versaoDaConstrucao;
+        synchronized (this) {
+            Entrada entrada = entradas.get(dimensao);
+            if (entrada != null) {
+                return entrada.somas.contagemNoPeriodo(dataInicial, dataFinal);
+            }
+            versaoDaConstrucao = versao;
+        }
+
+        SomasAcumuladasPorDia somas = construir(carregador.get());
+        synchronized (this) {
+            if (versao == versaoDaConstrucao) {
+                entradas.put(dimensao, new Entrada(somas, versaoDaConstrucao));
+            }
+        }
+        return somas.contagemNoPeriodo(dataInicial, dataFinal);
+    }
+
+    /**
+     * Registra o início de uma escrita, ainda dentro da transação, e retorna a versão a informar em {@link #somar}.
+     */
+    public synchronized long iniciarEscrita() {
+        return ++versao;
+    }
+
+    /**
+     * Corrige as somas da dimensão com uma variação confirmada da escrita. Somas construídas depois do
+     * início da escrita, ou que não cobrem a data, são descartadas e reconstruídas na próxima consulta.
+     */
+    public synchronized void somar(long versaoDaEscrita, DimensaoEstatistica dimensao, String chave, LocalDate data, long valor) {
+        // reconstruções em andamento podem ter lido o banco antes ou depois da confirmação
+        versao++;
+        Entrada entrada = entradas.get(dimensao);
+        if (entrada == null) {
+            return;
+        }
+        if (entrada.versao < versaoDaEscrita && entrada.somas.cobre(data)) {
+            entrada.somas.somar(chave, data, valor);
+        } else {
+            entradas.remove(dimensao);
+        }
+    }
+
+    public synchronized void invalidar() {
+        versao++;
+        entradas.clear();
+    }
+
+    synchronized boolean isConstruida(DimensaoEstatistica dimensao) {
+        return entradas.containsKey(dimensao);
+    }
+
+    private SomasAcumuladasPorDia construir(Collection<EstatisticaDiaria> estatisticas) {
+        LocalDate primeiraData = LocalDate.now();
+        LocalDate ultimaData = LocalDate.now();
+        for (EstatisticaDiaria estatistica : estatisticas) {
+            if (estatistica.getData().isBefore(primeiraData)) {
+                primeiraData = estatistica.getData();
+            }
+            if (estatistica.getData().isAfter(ultimaData)) {
+                ultimaData = estatistica.getData();
+            }
+        }
+
+        SomasAcumuladasPorDia somas = new SomasAcumuladasPorDia(primeiraData, ultimaData.plusDays(MARGEM_DE_DIAS));
+        for (EstatisticaDiaria estatistica : estatisticas) {
+            somas.registrarDia(estatistica.getChave(), estatistica.getData(), estatistica.getTotal());
+        }
+        somas.acumular();
+        return somas;
+    }
+
+    private static final class Entrada {
+
+        private final SomasAcumuladasPorDia somas;
+        private final long versao;
+
+        private Entrada(SomasAcumuladasPorDia somas, long versao) {
+            this.somas = somas;
+            this.versao = versao;
+        }
+    }
+}
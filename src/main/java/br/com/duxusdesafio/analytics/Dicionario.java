@@ -0,0 +1,51 @@
+package br.com.duxusdesafio.analytics;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário que associa cada valor textual distinto a um código inteiro pequeno e sequencial.
+ * Usado para valores de baixa cardinalidade (função e franquia), permitindo contar em arrays
+ * indexados pelo código e converter para texto apenas na resposta.
+ *
+ * Os códigos nunca são reaproveitados: um valor que deixa de ser usado mantém o seu código.
+ */
+public class Dicionario {
+
+    private final ConcurrentHashMap<String, Integer> codigos = new ConcurrentHashMap<>();
+
+    private volatile String[] valores = new String[16];
+
+    private int tamanho;
+
+    /**
+     * Retorna o código do valor, criando um novo código caso o valor ainda não exista.
+     */
+    public int codificar(String valor) {
+        Integer codigo = codigos.get(valor);
+        if (codigo != null) {
+            return codigo;
+        }
+        synchronized (this) {
+            codigo = codigos.get(valor);
+            if (codigo != null) {
+                return codigo;
+            }
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho] = valor;
+            codigo = tamanho++;
+            codigos.put(valor, codigo);
+            return codigo;
+        }
+    }
+
+    public String decodificar(int codigo) {
+        return valores[codigo];
+    }
+
+    public int tamanho() {
+        return codigos.size();
+    }
+}
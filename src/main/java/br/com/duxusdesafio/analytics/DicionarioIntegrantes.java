@@ -0,0 +1,34 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.model.Integrante;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dicionários de funções e franquias dos integrantes.
+ * Mantidos pelo IntegranteService ao cadastrar ou atualizar integrantes; valores ainda
+ * desconhecidos recebem um código na primeira vez em que aparecem em uma agregação.
+ */
+@Component
+public class DicionarioIntegrantes {
+
+    private final Dicionario funcoes = new Dicionario();
+
+    private final Dicionario franquias = new Dicionario();
+
+    public Dicionario getFuncoes() {
+        return funcoes;
+    }
+
+    public Dicionario getFranquias() {
+        return franquias;
+    }
+
+    public void registrar(Integrante integrante) {
+        if (integrante.getFuncao() != null) {
+            funcoes.codificar(integrante.getFuncao());
+        }
+        if (integrante.getFranquia() != null) {
+            franquias.codificar(integrante.getFranquia());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.duxusdesafio.analytics;
+
+/**
+ * Define de onde o ApiService obtém os dados das consultas por período.
+ * Configurada pela propriedade duxus.analytics.fonte.
+ */
+public enum FonteAnalitica {
+
+    /**
+     * Times do período obtidos do índice por data e agrupados em memória.
+     */
+    INDICE,
+
+    /**
+     * Contagens agrupadas diretamente pelo banco de dados (GROUP BY).
+     */
+    SQL,
+
+    /**
+     * Soma das estatísticas diárias pré-calculadas a cada escrita de times.
+     */
+    ESTATISTICAS,
+
+    /**
+     * Composições de todos os times guardadas em arrays de tipos primitivos ordenados por data.
+     */
+    COLUNAR
+}
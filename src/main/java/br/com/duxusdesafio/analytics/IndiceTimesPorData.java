@@ -0,0 +1,224 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.component.AposConfirmacao;
+import br.com.duxusdesafio.model.ComposicaoTime;
+import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.model.Time;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Índice em memória dos times ordenado pela data.
+ * Permite recortar um período sem percorrer todos os times cadastrados,
+ * de forma que o custo de uma consulta depende apenas do tamanho do período.
+ *
+ * O índice é carregado sob demanda e mantido pelo TimeService e pelo IntegranteService a cada escrita confirmada.
+ */
+@Component
+public class IndiceTimesPorData {
+
+    private final NavigableMap<LocalDate, Map<Long, Time>> timesPorData = new TreeMap<>();
+
+    // id do integrante -> id e data de cada time do índice que o contém
+    private final Map<Long, Map<Long, LocalDate>> timesPorIntegrante = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean carregado;
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    /**
+     * Carrega o índice com os times fornecidos caso ele ainda não esteja carregado.
+     */
+    public void carregarSeNecessario(Supplier<? extends Collection<Time>> carregador) {
+        if (carregado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!carregado) {
+                preencher(carregador.get());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice pelos times fornecidos.
+     */
+    public void carregar(Collection<Time> times) {
+        lock.writeLock().lock();
+        try {
+            preencher(times);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void preencher(Collection<Time> times) {
+        timesPorData.clear();
+        timesPorIntegrante.clear();
+        for (Time time : times) {
+            incluir(time);
+        }
+        carregado = true;
+    }
+
+    /**
+     * Inclui o time após a confirmação da transação, para que um cadastro desfeito não fique no índice
+     * nem seja visto antes do commit pelas consultas concorrentes.
+     */
+    public void adicionar(Time time) {
+        AposConfirmacao.executar(() -> incluirSeCarregado(time));
+    }
+
+    /**
+     * Retira o time após a confirmação da transação; uma exclusão desfeita mantém o time no índice.
+     */
+    public void remover(long idTime, LocalDate data) {
+        AposConfirmacao.executar(() -> retirarSeCarregado(idTime, data));
+    }
+
+    /**
+     * Atualiza os dados do integrante nos times do índice que o contêm, após a confirmação da transação.
+     * Esses times são substituídos por cópias, para que uma consulta que já os recebeu não veja a troca.
+     */
+    public void atualizarIntegrante(Integrante integrante) {
+        AposConfirmacao.executar(() -> substituirIntegranteSeCarregado(integrante));
+    }
+
+    private void incluirSeCarregado(Time time) {
+        if (time == null || time.getData() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // conferido com o lock: uma carga em andamento pode ter lido o banco antes da confirmação
+            if (carregado) {
+                incluir(time);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void retirarSeCarregado(long idTime, LocalDate data) {
+        if (data == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (carregado) {
+                retirar(idTime, data);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void substituirIntegranteSeCarregado(Integrante integrante) {
+        Integrante atualizado = new Integrante(integrante.getFranquia(), integrante.getNome(), integrante.getFuncao(), null);
+        atualizado.setId(integrante.getId());
+        lock.writeLock().lock();
+        try {
+            Map<Long, LocalDate> times = timesPorIntegrante.get(atualizado.getId());
+            if (!carregado || times == null) {
+                return;
+            }
+            times.forEach((idTime, data) -> {
+                Map<Long, Time> timesDoDia = timesPorData.get(data);
+                Time time = timesDoDia == null ? null : timesDoDia.get(idTime);
+                if (time != null) {
+                    timesDoDia.put(idTime, copiarComIntegrante(time, atualizado));
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Time copiarComIntegrante(Time time, Integrante atualizado) {
+        Time copia = new Time(time.getData(), null);
+        copia.setId(time.getId());
+        copia.setAssinatura(time.getAssinatura());
+        List<ComposicaoTime> composicoes = new ArrayList<>(time.getComposicaoTime().size());
+        for (ComposicaoTime composicao : time.getComposicaoTime()) {
+            ComposicaoTime copiaDaComposicao = new ComposicaoTime(copia,
+                    composicao.getIntegrante().getId() == atualizado.getId() ? atualizado : composicao.getIntegrante());
+            copiaDaComposicao.setId(composicao.getId());
+            composicoes.add(copiaDaComposicao);
+        }
+        copia.setComposicaoTime(composicoes);
+        return copia;
+    }
+
+    /**
+     * Retorna, em ordem de data, os times com data entre dataInicial e dataFinal (inclusive).
+     */
+    public List<Time> buscarPorPeriodo(LocalDate dataInicial, LocalDate dataFinal) {
+        List<Time> times = new ArrayList<>();
+        if (dataInicial.isAfter(dataFinal)) {
+            return times;
+        }
+        lock.readLock().lock();
+        try {
+            for (Map<Long, Time> timesDoDia : timesPorData.subMap(dataInicial, true, dataFinal, true).values()) {
+                times.addAll(timesDoDia.values());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return times;
+    }
+
+    private void incluir(Time time) {
+        timesPorData.computeIfAbsent(time.getData(), data -> new LinkedHashMap<>()).put(time.getId(), time);
+        for (Integrante integrante : integrantesDo(time)) {
+            timesPorIntegrante.computeIfAbsent(integrante.getId(), id -> new HashMap<>()).put(time.getId(), time.getData());
+        }
+    }
+
+    private void retirar(long idTime, LocalDate data) {
+        Map<Long, Time> timesDoDia = timesPorData.get(data);
+        Time time = timesDoDia == null ? null : timesDoDia.remove(idTime);
+        if (time == null) {
+            return;
+        }
+        if (timesDoDia.isEmpty()) {
+            timesPorData.remove(data);
+        }
+        for (Integrante integrante : integrantesDo(time)) {
+            Map<Long, LocalDate> times = timesPorIntegrante.get(integrante.getId());
+            if (times != null && times.remove(idTime) != null && times.isEmpty()) {
+                timesPorIntegrante.remove(integrante.getId());
+            }
+        }
+    }
+
+    private static List<Integrante> integrantesDo(Time time) {
+        List<Integrante> integrantes = new ArrayList<>();
+        if (time.getComposicaoTime() != null) {
+            for (ComposicaoTime composicao : time.getComposicaoTime()) {
+                if (composicao.getIntegrante() != null) {
+                    integrantes.add(composicao.getIntegrante());
+                }
+            }
+        }
+        return integrantes;
+    }
+}
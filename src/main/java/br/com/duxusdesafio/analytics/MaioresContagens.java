@@ -0,0 +1,77 @@
+package br.com.duxusdesafio.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Mantém as k maiores contagens oferecidas em um heap limitado, usando memória O(k)
+ * em vez de ordenar todo o histograma.
+ *
+ * A ordem é pela contagem decrescente e, em caso de empate, pela chave crescente,
+ * de forma que o resultado não depende da ordem em que as contagens são oferecidas.
+ */
+public class MaioresContagens<T extends Comparable<? super T>> {
+
+    private final Comparator<Posicao<T>> ordem = Comparator.<Posicao<T>>comparingLong(Posicao::getTotal).reversed()
+            .thenComparing(Posicao::getChave);
+
+    private final int limite;
+
+    // o topo do heap é a pior posição mantida, a primeira a ser descartada
+    private final PriorityQueue<Posicao<T>> heap;
+
+    public MaioresContagens(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("A quantidade de posições deve ser maior que zero.");
+        }
+        this.limite = limite;
+        this.heap = new PriorityQueue<>(Math.min(limite, 1024) + 1, ordem.reversed());
+    }
+
+    public void oferecer(T chave, long total) {
+        if (heap.size() < limite) {
+            heap.add(new Posicao<>(chave, total));
+            return;
+        }
+        Posicao<T> pior = heap.peek();
+        if (total > pior.total || (total == pior.total && chave.compareTo(pior.chave) < 0)) {
+            heap.poll();
+            heap.add(new Posicao<>(chave, total));
+        }
+    }
+
+    /**
+     * Posições mantidas, da maior para a menor contagem.
+     */
+    public List<Posicao<T>> emOrdem() {
+        List<Posicao<T>> posicoes = new ArrayList<>(heap);
+        posicoes.sort(ordem);
+        return posicoes;
+    }
+
+    public boolean isVazio() {
+        return heap.isEmpty();
+    }
+
+    public static final class Posicao<T> {
+
+        private final T chave;
+
+        private final long total;
+
+        public Posicao(T chave, long total) {
+            this.chave = chave;
+            this.total = total;
+        }
+
+        public T getChave() {
+            return chave;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+}
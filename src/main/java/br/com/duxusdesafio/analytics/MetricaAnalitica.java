@@ -0,0 +1,35 @@
+package br.com.duxusdesafio.analytics;
+
+/**
+ * Consultas por período guardadas no cache de resultados, com os dados dos integrantes
+ * dos quais cada resultado depende além das aparições.
+ */
+public enum MetricaAnalitica {
+
+    INTEGRANTE_MAIS_USADO(false, false, false),
+    TIME_MAIS_COMUM(true, false, false),
+    FUNCAO_MAIS_COMUM(false, true, false),
+    FRANQUIA_MAIS_FAMOSA(false, false, true),
+    CONTAGEM_POR_FRANQUIA(false, false, true),
+    CONTAGEM_POR_FUNCAO(false, true, false),
+    PAINEL(true, true, true);
+
+    private final boolean dependeDoNome;
+    private final boolean dependeDaFuncao;
+    private final boolean dependeDaFranquia;
+
+    MetricaAnalitica(boolean dependeDoNome, boolean dependeDaFuncao, boolean dependeDaFranquia) {
+        this.dependeDoNome = dependeDoNome;
+        this.dependeDaFuncao = dependeDaFuncao;
+        this.dependeDaFranquia = dependeDaFranquia;
+    }
+
+    /**
+     * Indica se a alteração de algum desses dados de um integrante pode mudar o resultado.
+     */
+    public boolean afetadaPor(boolean nomeAlterado, boolean funcaoAlterada, boolean franquiaAlterada) {
+        return (nomeAlterado && dependeDoNome)
+                || (funcaoAlterada && dependeDaFuncao)
+                || (franquiaAlterada && dependeDaFranquia);
+    }
+}
@@ -0,0 +1,190 @@
+package br.com.duxusdesafio.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resumo aproximado das chaves mais frequentes de um fluxo (algoritmo Space-Saving),
+ * com memória limitada a uma quantidade fixa de contadores.
+ *
+ * Quando todos os contadores estão ocupados, uma chave nova substitui a de menor contagem e herda
+ * essa contagem como erro. A contagem estimada de uma chave nunca é menor que a real e a excede
+ * no máximo pelo seu erro, que por sua vez não passa de total / capacidade.
+ * Dois resumos podem ser somados, o que permite resumir períodos a partir de resumos mensais.
+ */
+public class ResumoSpaceSaving {
+
+    private final int capacidade;
+
+    private final Map<Long, long[]> contadores;
+
+    // chaves agrupadas pela contagem, para localizar a de menor contagem sem percorrer os contadores
+    private final TreeMap<Long, LinkedHashSet<Long>> chavesPorContagem = new TreeMap<>();
+
+    private long total;
+
+    // em resumos somados, quanto uma chave descartada por um dos resumos de origem pode ter tido
+    private long erroDasChavesAusentes;
+
+    public ResumoSpaceSaving(int capacidade) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade do resumo deve ser maior que zero.");
+        }
+        this.capacidade = capacidade;
+        // sem pré-alocação: os resumos diários costumam ter poucas chaves
+        this.contadores = new HashMap<>();
+    }
+
+    public int getCapacidade() {
+        return capacidade;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+
+    public synchronized int tamanho() {
+        return contadores.size();
+    }
+
+    public void incrementar(long chave) {
+        incrementar(chave, 1);
+    }
+
+    /**
+     * Soma de uma vez várias ocorrências da chave, como se ela fosse incrementada a mesma quantidade de vezes
+     * seguidas.
+     */
+    public synchronized void incrementar(long chave, long quantidade) {
+        if (quantidade <= 0) {
+            return;
+        }
+        total += quantidade;
+        long[] contador = contadores.get(chave);
+        if (contador != null) {
+            mover(chave, contador[0], contador[0] + quantidade);
+            contador[0] += quantidade;
+            return;
+        }
+        if (contadores.size() < capacidade) {
+            contadores.put(chave, new long[]{quantidade, 0});
+            agrupar(chave, quantidade);
+            return;
+        }
+        Map.Entry<Long, LinkedHashSet<Long>> menor = chavesPorContagem.firstEntry();
+        long menorContagem = menor.getKey();
+        Long substituida = menor.getValue().iterator().next();
+        desagrupar(substituida, menorContagem);
+        contadores.remove(substituida);
+        contadores.put(chave, new long[]{menorContagem + quantidade, menorContagem});
+        agrupar(chave, menorContagem + quantidade);
+    }
+
+    /**
+     * Contagem estimada da chave: para chaves fora do resumo, a maior contagem que ela poderia ter.
+     */
+    public synchronized long estimativa(long chave) {
+        long[] contador = contadores.get(chave);
+        if (contador != null) {
+            return contador[0];
+        }
+        return menorContagemSeCheio();
+    }
+
+    /**
+     * Quanto a estimativa da chave pode exceder a contagem real.
+     */
+    public synchronized long erro(long chave) {
+        long[] contador = contadores.get(chave);
+        if (contador != null) {
+            return contador[1];
+        }
+        return menorContagemSeCheio();
+    }
+
+    /**
+     * Limite do erro de qualquer estimativa deste resumo.
+     */
+    public synchronized long erroMaximo() {
+        return menorContagemSeCheio();
+    }
+
+    private long menorContagemSeCheio() {
+        long menorContagem = contadores.size() < capacidade ? 0 : chavesPorContagem.firstKey();
+        return Math.max(menorContagem, erroDasChavesAusentes);
+    }
+
+    public synchronized void paraCada(ContadorPorId.ConsumidorDeContagem consumidor) {
+        for (Map.Entry<Long, long[]> contador : contadores.entrySet()) {
+            consumidor.aceitar(contador.getKey(), contador.getValue()[0]);
+        }
+    }
+
+    /**
+     * Soma dois resumos em um novo resumo com a capacidade deste.
+     * Uma chave ausente em um dos resumos recebe a menor contagem dele como contagem e erro,
+     * e apenas as chaves de maior contagem são mantidas.
+     */
+    public ResumoSpaceSaving somar(ResumoSpaceSaving outro) {
+        Map<Long, long[]> estes = copiaDosContadores();
+        Map<Long, long[]> outros = outro.copiaDosContadores();
+        long menorDeste = erroMaximo();
+        long menorDoOutro = outro.erroMaximo();
+
+        Map<Long, long[]> somados = new HashMap<>(estes);
+        for (Map.Entry<Long, long[]> contador : outros.entrySet()) {
+            long[] deste = estes.get(contador.getKey());
+            long[] doOutro = contador.getValue();
+            somados.put(contador.getKey(), deste == null
+                    ? new long[]{menorDeste + doOutro[0], menorDeste + doOutro[1]}
+                    : new long[]{deste[0] + doOutro[0], deste[1] + doOutro[1]});
+        }
+        for (Map.Entry<Long, long[]> contador : estes.entrySet()) {
+            if (!outros.containsKey(contador.getKey())) {
+                long[] deste = contador.getValue();
+                somados.put(contador.getKey(), new long[]{deste[0] + menorDoOutro, deste[1] + menorDoOutro});
+            }
+        }
+
+        List<Map.Entry<Long, long[]>> ordenados = new ArrayList<>(somados.entrySet());
+        ordenados.sort((a, b) -> a.getValue()[0] != b.getValue()[0]
+                ? Long.compare(b.getValue()[0], a.getValue()[0])
+                : Long.compare(a.getKey(), b.getKey()));
+
+        ResumoSpaceSaving soma = new ResumoSpaceSaving(capacidade);
+        for (Map.Entry<Long, long[]> contador : ordenados.subList(0, Math.min(capacidade, ordenados.size()))) {
+            soma.contadores.put(contador.getKey(), contador.getValue());
+            soma.agrupar(contador.getKey(), contador.getValue()[0]);
+        }
+        soma.total = getTotal() + outro.getTotal();
+        soma.erroDasChavesAusentes = menorDeste + menorDoOutro;
+        return soma;
+    }
+
+    private synchronized Map<Long, long[]> copiaDosContadores() {
+        Map<Long, long[]> copia = new HashMap<>(contadores.size() * 2);
+        contadores.forEach((chave, contador) -> copia.put(chave, contador.clone()));
+        return copia;
+    }
+
+    private void mover(long chave, long contagemAnterior, long novaContagem) {
+        desagrupar(chave, contagemAnterior);
+        agrupar(chave, novaContagem);
+    }
+
+    private void agrupar(long chave, long contagem) {
+        chavesPorContagem.computeIfAbsent(contagem, c -> new LinkedHashSet<>()).add(chave);
+    }
+
+    private void desagrupar(long chave, long contagem) {
+        LinkedHashSet<Long> chaves = chavesPorContagem.get(contagem);
+        chaves.remove(chave);
+        if (chaves.isEmpty()) {
+            chavesPorContagem.remove(contagem);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.component.AposConfirmacao;
+import br.com.duxusdesafio.model.EstatisticaDiaria;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Resumos Space-Saving das aparições dos integrantes, um por mês e um por dia.
+ *
+ * O resumo de um período soma os resumos dos meses inteiros com os resumos dos dias avulsos das pontas,
+ * todos guardados após a primeira consulta. Os meses são calculados a partir das composições e os dias
+ * a partir das estatísticas diárias de integrantes, que já trazem as aparições de cada integrante no dia.
+ * O TimeService registra os times cadastrados nos resumos do mês e do dia e descarta os de times
+ * alterados ou excluídos, que são recalculados na próxima consulta.
+ */
+@Component
+public class ResumosDeAparicoes {
+
+    @Value("${duxus.analytics.aproximado.contadores:1000}")
+    private int capacidade = 1000;
+
+    private final Map<YearMonth, ResumoSpaceSaving> resumosPorMes = new ConcurrentHashMap<>();
+
+    private final Map<LocalDate, ResumoSpaceSaving> resumosPorDia = new ConcurrentHashMap<>();
+
+    private long versao;
+
+    /**
+     * Resume as aparições do período; idsDasComposicoes retorna o id do integrante de cada composição
+     * dos times entre as duas datas e aparicoesPorDia as estatísticas diárias de integrantes entre elas.
+     */
+    public ResumoSpaceSaving resumir(LocalDate dataInicial, LocalDate dataFinal,
+                                     BiFunction<LocalDate, LocalDate, ? extends Collection<Long>> idsDasComposicoes,
+                                     BiFunction<LocalDate, LocalDate, ? extends Collection<EstatisticaDiaria>> aparicoesPorDia) {
+        ResumoSpaceSaving resumo = new ResumoSpaceSaving(capacidade);
+        YearMonth ultimoMes = YearMonth.from(dataFinal);
+        for (YearMonth mes = YearMonth.from(dataInicial); !mes.isAfter(ultimoMes); mes = mes.plusMonths(1)) {
+            LocalDate inicio = mes.atDay(1).isBefore(dataInicial) ? dataInicial : mes.atDay(1);
+            LocalDate fim = mes.atEndOfMonth().isAfter(dataFinal) ? dataFinal : mes.atEndOfMonth();
+            boolean mesInteiro = inicio.equals(mes.atDay(1)) && fim.equals(mes.atEndOfMonth());
+            if (mesInteiro) {
+                resumo = resumo.somar(resumoDoMes(mes, idsDasComposicoes));
+            } else {
+                for (ResumoSpaceSaving resumoDoDia : resumosDosDias(inicio, fim, aparicoesPorDia)) {
+                    if (resumoDoDia.getTotal() > 0) {
+                        resumo = resumo.somar(resumoDoDia);
+                    }
+                }
+            }
+        }
+        return resumo;
+    }
+
+    private ResumoSpaceSaving resumoDoMes(YearMonth mes,
+                                          BiFunction<LocalDate, LocalDate, ? extends Collection<Long>> idsDasComposicoes) {
+        ResumoSpaceSaving resumo = resumosPorMes.get(mes);
+        if (resumo != null) {
+            return resumo;
+        }
+        long versaoDoCalculo;
+        synchronized (this) {
+            versaoDoCalculo = versao;
+        }
+        resumo = resumirIds(idsDasComposicoes.apply(mes.atDay(1), mes.atEndOfMonth()));
+        synchronized (this) {
+            // uma escrita durante o cálculo pode não estar no resumo: ele é usado só nesta consulta
+            if (versao == versaoDoCalculo) {
+                resumosPorMes.putIfAbsent(mes, resumo);
+            }
+        }
+        return resumo;
+    }
+
+    /**
+     * Resumos dos dias do trecho, com dias sem times incluídos como resumos vazios. Os dias ainda sem
+     * resumo são lidos de uma vez, do primeiro ao último deles.
+     */
+    private List<ResumoSpaceSaving> resumosDosDias(LocalDate inicio, LocalDate fim,
+                                                   BiFunction<LocalDate, LocalDate, ? extends Collection<EstatisticaDiaria>> aparicoesPorDia) {
+        Map<LocalDate, ResumoSpaceSaving> resumos = new TreeMap<>();
+        LocalDate primeiroAusente = null;
+        LocalDate ultimoAusente = null;
+        for (LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+            ResumoSpaceSaving resumo = resumosPorDia.get(dia);
+            if (resumo != null) {
+                resumos.put(dia, resumo);
+            } else {
+                primeiroAusente = primeiroAusente == null ? dia : primeiroAusente;
+                ultimoAusente = dia;
+            }
+        }
+        if (primeiroAusente == null) {
+            return new ArrayList<>(resumos.values());
+        }
+
+        long versaoDoCalculo;
+        synchronized (this) {
+            versaoDoCalculo = versao;
+        }
+        Map<LocalDate, ResumoSpaceSaving> lidos = new HashMap<>();
+        for (LocalDate dia = primeiroAusente; !dia.isAfter(ultimoAusente); dia = dia.plusDays(1)) {
+            lidos.put(dia, new ResumoSpaceSaving(capacidade));
+        }
+        for (EstatisticaDiaria aparicao : aparicoesPorDia.apply(primeiroAusente, ultimoAusente)) {
+            lidos.get(aparicao.getData()).incrementar(Long.parseLong(aparicao.getChave()), aparicao.getTotal());
+        }
+        synchronized (this) {
+            // uma escrita durante a leitura pode não estar nos resumos: eles são usados só nesta consulta
+            if (versao == versaoDoCalculo) {
+                lidos.forEach(resumosPorDia::putIfAbsent);
+            }
+        }
+        lidos.forEach(resumos::putIfAbsent);
+        return new ArrayList<>(resumos.values());
+    }
+
+    private ResumoSpaceSaving resumirIds(Collection<Long> idsDosIntegrantes) {
+        ResumoSpaceSaving resumo = new ResumoSpaceSaving(capacidade);
+        for (Long idIntegrante : idsDosIntegrantes) {
+            resumo.incrementar(idIntegrante);
+        }
+        return resumo;
+    }
+
+    public boolean contemMes(YearMonth mes) {
+        return resumosPorMes.containsKey(mes);
+    }
+
+    public boolean contemDia(LocalDate dia) {
+        return resumosPorDia.containsKey(dia);
+    }
+
+    /**
+     * Soma as aparições de um time cadastrado aos resumos do seu mês e do seu dia, depois da confirmação da transação.
+     */
+    public void registrar(LocalDate data, Collection<Long> idsDosIntegrantes) {
+        if (data == null) {
+            return;
+        }
+        AposConfirmacao.executar(() -> {
+            synchronized (this) {
+                versao++;
+                ResumoSpaceSaving resumoDoMes = resumosPorMes.get(YearMonth.from(data));
+                if (resumoDoMes != null) {
+                    idsDosIntegrantes.forEach(resumoDoMes::incrementar);
+                }
+                ResumoSpaceSaving resumoDoDia = resumosPorDia.get(data);
+                if (resumoDoDia != null) {
+                    idsDosIntegrantes.forEach(resumoDoDia::incrementar);
+                }
+            }
+        });
+    }
+
+    /**
+     * Descarta os resumos do mês e do dia da data agora e novamente após a confirmação da transação.
+     */
+    public void invalidar(LocalDate data) {
+        if (data == null) {
+            return;
+        }
+        Runnable descartar = () -> {
+            synchronized (this) {
+                versao++;
+                resumosPorMes.remove(YearMonth.from(data));
+                resumosPorDia.remove(data);
+            }
+        };
+        AposConfirmacao.executarAgoraEAposConfirmar(descartar);
+    }
+}
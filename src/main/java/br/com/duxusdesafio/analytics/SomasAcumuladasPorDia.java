@@ -0,0 +1,82 @@
+package br.com.duxusdesafio.analytics;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Somas acumuladas (prefix sums) de contagens diárias por chave, indexadas pelo dia (epoch day).
+ * A contagem de uma chave em qualquer período é obtida com duas leituras no array da chave.
+ *
+ * acumuladas[i] guarda a soma dos dias primeiroDia .. primeiroDia + i - 1.
+ */
+public class SomasAcumuladasPorDia {
+
+    private final long primeiroDia;
+    private final int quantidadeDeDias;
+    private final Map<String, long[]> acumuladasPorChave = new HashMap<>();
+
+    public SomasAcumuladasPorDia(LocalDate primeiraData, LocalDate ultimaData) {
+        this.primeiroDia = primeiraData.toEpochDay();
+        this.quantidadeDeDias = (int) (ultimaData.toEpochDay() - primeiroDia + 1);
+    }
+
+    public boolean cobre(LocalDate data) {
+        long dia = data.toEpochDay();
+        return dia >= primeiroDia && dia < primeiroDia + quantidadeDeDias;
+    }
+
+    /**
+     * Soma o valor à chave na data, atualizando todas as somas acumuladas a partir dela.
+     * A data precisa estar dentro do intervalo coberto.
+     */
+    public synchronized void somar(String chave, LocalDate data, long valor) {
+        if (!cobre(data)) {
+            throw new IllegalArgumentException("Data " + data + " fora do intervalo das somas acumuladas.");
+        }
+        long[] acumuladas = acumuladasPorChave.computeIfAbsent(chave, c -> new long[quantidadeDeDias + 1]);
+        for (int i = (int) (data.toEpochDay() - primeiroDia) + 1; i <= quantidadeDeDias; i++) {
+            acumuladas[i] += valor;
+        }
+    }
+
+    /**
+     * Registra a contagem de um dia sem propagar às somas seguintes.
+     * Usado na construção, que termina com uma única chamada a acumular().
+     */
+    synchronized void registrarDia(String chave, LocalDate data, long valor) {
+        long[] acumuladas = acumuladasPorChave.computeIfAbsent(chave, c -> new long[quantidadeDeDias + 1]);
+        acumuladas[(int) (data.toEpochDay() - primeiroDia) + 1] += valor;
+    }
+
+    synchronized void acumular() {
+        for (long[] acumuladas : acumuladasPorChave.values()) {
+            for (int i = 1; i <= quantidadeDeDias; i++) {
+                acumuladas[i] += acumuladas[i - 1];
+            }
+        }
+    }
+
+    /**
+     * Retorna o total de cada chave entre dataInicial e dataFinal (inclusive), omitindo as chaves sem aparições.
+     */
+    public synchronized Map<String, Long> contagemNoPeriodo(LocalDate dataInicial, LocalDate dataFinal) {
+        Map<String, Long> contagem = new HashMap<>();
+        int inicio = posicao(dataInicial.toEpochDay());
+        int fim = posicao(dataFinal.toEpochDay() + 1);
+        if (inicio >= fim) {
+            return contagem;
+        }
+        acumuladasPorChave.forEach((chave, acumuladas) -> {
+            long total = acumuladas[fim] - acumuladas[inicio];
+            if (total > 0) {
+                contagem.put(chave, total);
+            }
+        });
+        return contagem;
+    }
+
+    private int posicao(long dia) {
+        return (int) Math.max(0, Math.min(quantidadeDeDias, dia - primeiroDia));
+    }
+}
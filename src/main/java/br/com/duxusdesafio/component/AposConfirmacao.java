@@ -0,0 +1,41 @@
+package br.com.duxusdesafio.component;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia os efeitos de uma escrita nas estruturas em memória até a confirmação da transação,
+ * para que uma transação desfeita não deixe rastros nelas nem consultas concorrentes vejam dados não confirmados.
+ */
+public final class AposConfirmacao {
+
+    private AposConfirmacao() {
+    }
+
+    /**
+     * Executa a ação após a confirmação da transação atual ou imediatamente, fora de uma transação.
+     */
+    public static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    /**
+     * Executa a ação agora e, dentro de uma transação, novamente após a confirmação, para descartes
+     * que não podem esperar o fim da transação mas também não podem ser desfeitos por uma consulta concorrente.
+     */
+    public static void executarAgoraEAposConfirmar(Runnable acao) {
+        acao.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            executar(acao);
+        }
+    }
+}
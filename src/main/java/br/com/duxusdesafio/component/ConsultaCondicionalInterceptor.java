@@ -0,0 +1,53 @@
+package br.com.duxusdesafio.component;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Responde 304 às consultas cujo If-None-Match contém a ETag da versão atual dos dados,
+ * antes de o controller acessar o banco ou serializar a resposta.
+ * Nas demais consultas apenas envia a ETag.
+ */
+@Component
+public class ConsultaCondicionalInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private VersaoDosDados versaoDosDados;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        // a versão é lida antes da consulta: os dados retornados são no mínimo tão novos quanto ela
+        String etag = versaoDosDados.getEtag();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (contemEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean contemEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String valor : ifNoneMatch.split(",")) {
+            String candidata = valor.trim();
+            if (candidata.startsWith("W/")) {
+                candidata = candidata.substring(2);
+            }
+            if (candidata.equals("*") || candidata.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.duxusdesafio.component;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tamanho das páginas das listagens por cursor: sem tamanho informado usa o padrão
+ * e nenhum pedido ultrapassa o máximo configurado.
+ */
+@Component
+public class LimiteDePaginacao {
+
+    @Value("${duxus.paginacao.tamanho-padrao:20}")
+    private int tamanhoPadrao = 20;
+
+    @Value("${duxus.paginacao.tamanho-maximo:100}")
+    private int tamanhoMaximo = 100;
+
+    public int tamanhoDaPagina(Integer tamanho) {
+        if (tamanho == null) {
+            return Math.min(tamanhoPadrao, tamanhoMaximo);
+        }
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("O tamanho da página deve ser maior que zero.");
+        }
+        return Math.min(tamanho, tamanhoMaximo);
+    }
+
+    /**
+     * Cursor inicial quando nenhum foi informado: os ids gerados pelo banco são positivos.
+     */
+    public long cursorInicial(Long cursor) {
+        return cursor == null ? 0L : cursor;
+    }
+}
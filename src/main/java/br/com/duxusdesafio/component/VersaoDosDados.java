@@ -0,0 +1,32 @@
+package br.com.duxusdesafio.component;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Versão dos dados de times e integrantes, incrementada pelo TimeService e pelo IntegranteService
+ * a cada escrita e usada como ETag das consultas.
+ *
+ * O identificador da instância compõe a ETag para que uma versão emitida antes de um reinício
+ * nunca coincida com a versão atual. A versão é mantida em memória e só vale com uma instância.
+ */
+@Component
+public class VersaoDosDados {
+
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong versao = new AtomicLong();
+
+    public String getEtag() {
+        return "\"" + instancia + "-" + versao.get() + "\"";
+    }
+
+    /**
+     * Incrementa a versão depois da confirmação da transação: uma consulta que leu a versão antes disso
+     * pode ter visto os dados antigos e não deve receber a nova ETag.
+     */
+    public void registrarEscrita() {
+        AposConfirmacao.executar(versao::incrementAndGet);
+    }
+}
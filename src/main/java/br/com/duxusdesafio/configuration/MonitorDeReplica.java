@@ -0,0 +1,71 @@
+package br.com.duxusdesafio.configuration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.function.LongSupplier;
+
+/**
+ * Acompanha o atraso da réplica de leitura e decide se as transações somente leitura podem usá-la.
+ * A réplica fica indisponível até a primeira verificação, quando a consulta do atraso falha ou quando
+ * o atraso passa do máximo configurado. Depois da confirmação de uma escrita nesta instância, as leituras
+ * ficam na primária pelo atraso máximo mais o intervalo de verificação, para que os caches recarregados logo
+ * após a escrita não sejam montados com dados que a réplica ainda não recebeu.
+ */
+public class MonitorDeReplica {
+
+    private static final long SEM_VERIFICACAO = -1;
+
+    private final JdbcTemplate replica;
+    private final String consultaDoAtraso;
+    private final long atrasoMaximoMs;
+    private final long janelaAposEscritaMs;
+    private final LongSupplier relogio;
+
+    private volatile long atrasoMedidoMs = SEM_VERIFICACAO;
+    private volatile long ultimaEscritaMs = Long.MIN_VALUE;
+
+    public MonitorDeReplica(DataSource replica, String consultaDoAtraso, long atrasoMaximoMs, long intervaloDeVerificacaoMs) {
+        this(new JdbcTemplate(replica), consultaDoAtraso, atrasoMaximoMs, intervaloDeVerificacaoMs, System::currentTimeMillis);
+    }
+
+    MonitorDeReplica(JdbcTemplate replica, String consultaDoAtraso, long atrasoMaximoMs, long intervaloDeVerificacaoMs,
+                     LongSupplier relogio) {
+        this.replica = replica;
+        this.consultaDoAtraso = consultaDoAtraso;
+        this.atrasoMaximoMs = atrasoMaximoMs;
+        this.janelaAposEscritaMs = atrasoMaximoMs + intervaloDeVerificacaoMs;
+        this.relogio = relogio;
+    }
+
+    /**
+     * Mede o atraso da réplica em milissegundos com a consulta de duxus.replica.consulta-atraso.
+     */
+    @Scheduled(fixedDelayString = "${duxus.replica.intervalo-de-verificacao-ms:1000}")
+    public void verificar() {
+        try {
+            Number atraso = replica.queryForObject(consultaDoAtraso, Number.class);
+            atrasoMedidoMs = atraso == null ? SEM_VERIFICACAO : Math.max(0, atraso.longValue());
+        } catch (RuntimeException e) {
+            atrasoMedidoMs = SEM_VERIFICACAO;
+        }
+    }
+
+    public void registrarEscrita() {
+        ultimaEscritaMs = relogio.getAsLong();
+    }
+
+    public boolean replicaDisponivel() {
+        long atraso = atrasoMedidoMs;
+        if (atraso == SEM_VERIFICACAO || atraso > atrasoMaximoMs) {
+            return false;
+        }
+        long ultimaEscrita = ultimaEscritaMs;
+        return ultimaEscrita == Long.MIN_VALUE || relogio.getAsLong() - ultimaEscrita > janelaAposEscritaMs;
+    }
+
+    public long getAtrasoMedidoMs() {
+        return atrasoMedidoMs;
+    }
+}
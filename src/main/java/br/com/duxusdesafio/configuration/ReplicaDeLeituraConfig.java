@@ -0,0 +1,89 @@
+package br.com.duxusdesafio.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Com duxus.replica.habilitada=true, as transações somente leitura (consultas da ApiService, listar* e
+ * buscar*) passam a usar a réplica de duxus.replica.url e as escritas continuam na primária de
+ * spring.datasource. Sem a propriedade, a aplicação usa apenas o datasource configurado pelo Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "duxus.replica.habilitada", havingValue = "true")
+public class ReplicaDeLeituraConfig {
+
+    /**
+     * Atraso de replicação do Postgres em milissegundos; zero quando a réplica já aplicou tudo o que recebeu,
+     * para que uma primária sem escritas recentes não pareça atrasada.
+     */
+    static final String CONSULTA_DO_ATRASO_NO_POSTGRES = "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() " +
+            "then 0 else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0) end";
+
+    @Value("${duxus.replica.url}")
+    private String url;
+
+    @Value("${duxus.replica.usuario:${spring.datasource.username:}}")
+    private String usuario;
+
+    @Value("${duxus.replica.senha:${spring.datasource.password:}}")
+    private String senha;
+
+    @Value("${duxus.replica.tamanho-do-pool:10}")
+    private int tamanhoDoPool = 10;
+
+    @Value("${duxus.replica.atraso-maximo-ms:5000}")
+    private long atrasoMaximoMs = 5000;
+
+    @Value("${duxus.replica.intervalo-de-verificacao-ms:1000}")
+    private long intervaloDeVerificacaoMs = 1000;
+
+    @Value("${duxus.replica.consulta-atraso:" + CONSULTA_DO_ATRASO_NO_POSTGRES + "}")
+    private String consultaDoAtraso = CONSULTA_DO_ATRASO_NO_POSTGRES;
+
+    @Bean(autowireCandidate = false)
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        HikariDataSource primaria = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaria.setPoolName("primaria");
+        return primaria;
+    }
+
+    @Bean(autowireCandidate = false)
+    public HikariDataSource dataSourceReplica() {
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(usuario).password(senha).build();
+        replica.setPoolName("replica");
+        replica.setMaximumPoolSize(tamanhoDoPool);
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public MonitorDeReplica monitorDeReplica() {
+        return new MonitorDeReplica(dataSourceReplica(), consultaDoAtraso, atrasoMaximoMs, intervaloDeVerificacaoMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties propriedades) {
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(RoteamentoDeLeitura.Destino.PRIMARIA, dataSourcePrimario(propriedades));
+        destinos.put(RoteamentoDeLeitura.Destino.REPLICA, dataSourceReplica());
+
+        RoteamentoDeLeitura roteamento = new RoteamentoDeLeitura(monitorDeReplica());
+        roteamento.setTargetDataSources(destinos);
+        roteamento.setDefaultTargetDataSource(destinos.get(RoteamentoDeLeitura.Destino.PRIMARIA));
+        roteamento.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.duxusdesafio.configuration;
+
+import br.com.duxusdesafio.component.AposConfirmacao;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia as conexões das transações somente leitura para a réplica enquanto o monitor a considerar
+ * em dia, e todas as demais para a primária. Precisa ficar atrás de um LazyConnectionDataSourceProxy:
+ * o gerenciador de transações pede a conexão antes de marcar a transação como somente leitura.
+ */
+public class RoteamentoDeLeitura extends AbstractRoutingDataSource {
+
+    public enum Destino {
+        PRIMARIA, REPLICA
+    }
+
+    private final MonitorDeReplica monitor;
+
+    public RoteamentoDeLeitura(MonitorDeReplica monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                // a janela de leitura na primária também conta a partir da confirmação, para escritas demoradas
+                AposConfirmacao.executarAgoraEAposConfirmar(monitor::registrarEscrita);
+            }
+            return Destino.PRIMARIA;
+        }
+        return monitor.replicaDisponivel() ? Destino.REPLICA : Destino.PRIMARIA;
+    }
+}
@@ -1,18 +1,36 @@
 package br.com.duxusdesafio.configuration;
 
+import br.com.duxusdesafio.component.ConsultaCondicionalInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private ConsultaCondicionalInterceptor consultaCondicionalInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("http://192.168.10.252:3000")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders("ETag");
+    }
+
+    /**
+     * Consultas que dependem apenas dos times e integrantes cadastrados.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(consultaCondicionalInterceptor)
+                .addPathPatterns("/time/**", "/integrante/**", "/times/data", "/integrante-mais-usado",
+                        "/time-mais-comum", "/funcao-mais-comum", "/franquia-mais-famosa", "/contagem-por-franquia",
+                        "/contagem-por-funcao", "/painel", "/integrantes/top", "/funcoes/top", "/franquias/top");
     }
 
 }
@@ -4,11 +4,12 @@ import br.com.duxusdesafio.exceptions.DateNotFoundException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
 import br.com.duxusdesafio.exceptions.NullTimeException;
 import br.com.duxusdesafio.model.Integrante;
-import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.response.ContagemRankingResponse;
 import br.com.duxusdesafio.response.FuncaoMaisComumResponse;
+import br.com.duxusdesafio.response.IntegranteRankingResponse;
+import br.com.duxusdesafio.response.PainelResponse;
 import br.com.duxusdesafio.response.TimeDaDataResponse;
 import br.com.duxusdesafio.service.ApiService;
-import br.com.duxusdesafio.service.TimeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -27,16 +28,10 @@ public class ApiController {
     @Autowired
     private ApiService apiService;
 
-    @Autowired
-    private TimeService timeService;
-
     @GetMapping("/times/data")
     public ResponseEntity<Object> getTimesDaData(@RequestParam("data") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
         try {
-            List<Time> todosOsTimes = timeService.listarTodosOsTimes();
-            List<String> nomesIntegrantes = apiService.timeDaData(data, todosOsTimes);
-            TimeDaDataResponse response = new TimeDaDataResponse(data, nomesIntegrantes);
-
+            TimeDaDataResponse response = apiService.timesDaData(data);
             return ResponseEntity.ok(response);
         } catch (DateNotFoundException | NullTimeException | NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -48,10 +43,13 @@ public class ApiController {
     @GetMapping("/integrante-mais-usado")
     public ResponseEntity<Object> getIntegranteMaisUsado(
             @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
-            @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
+            @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(value = "approximate", defaultValue = "false") boolean aproximado) {
         try {
-            List<Time> todosOsTimes = timeService.listarTodosOsTimes();
-            Integrante integranteMaisUsado = apiService.integranteMaisUsado(dataInicial, dataFinal, todosOsTimes);
+            if (aproximado) {
+                return ResponseEntity.ok(apiService.integranteMaisUsadoAproximado(dataInicial, dataFinal));
+            }
+            Integrante integranteMaisUsado = apiService.integranteMaisUsado(dataInicial, dataFinal);
             return ResponseEntity.ok(integranteMaisUsado);
         } catch (NotFoundException | DateNotFoundException | NullTimeException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -65,8 +63,7 @@ public class ApiController {
             @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
             @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
         try {
-            List<Time> todosOsTimes = timeService.listarTodosOsTimes();
-            List<String> nomesIntegrantes = apiService.timeMaisComum(dataInicial, dataFinal, todosOsTimes);
+            List<String> nomesIntegrantes = apiService.timeMaisComum(dataInicial, dataFinal);
             return ResponseEntity.ok(nomesIntegrantes);
         } catch (NotFoundException | DateNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -80,8 +77,7 @@ public class ApiController {
             @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
             @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
         try {
-            List<Time> todosOsTimes = timeService.listarTodosOsTimes();
-            String funcaoMaisComum = apiService.funcaoMaisComum(dataInicial, dataFinal, todosOsTimes);
+            String funcaoMaisComum = apiService.funcaoMaisComum(dataInicial, dataFinal);
             FuncaoMaisComumResponse response = new FuncaoMaisComumResponse(funcaoMaisComum); //response criada para mostrar dados específicos
             return ResponseEntity.ok(response);
         } catch (NotFoundException | DateNotFoundException e) {
@@ -96,8 +92,7 @@ public class ApiController {
             @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
             @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
         try {
-            List<Time> todosOsTimes = timeService.listarTodosOsTimes();
-            String franquiaMaisFamosa = apiService.franquiaMaisFamosa(dataInicial, dataFinal, todosOsTimes);
+            String franquiaMaisFamosa = apiService.franquiaMaisFamosa(dataInicial, dataFinal);
             return ResponseEntity.ok(franquiaMaisFamosa);
         } catch (NotFoundException | DateNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -111,8 +106,7 @@ public class ApiController {
             @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
             @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
         try {
-            List<Time> todosOsTimes = timeService.listarTodosOsTimes();
-            Map<String, Long> contagemPorFranquia = apiService.contagemPorFranquia(dataInicial, dataFinal, todosOsTimes);
+            Map<String, Long> contagemPorFranquia = apiService.contagemPorFranquia(dataInicial, dataFinal);
             return ResponseEntity.ok(contagemPorFranquia);
         } catch (NotFoundException | DateNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -126,8 +120,7 @@ public class ApiController {
             @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
             @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
         try {
-            List<Time> todosOsTimes = timeService.listarTodosOsTimes();
-            Map<String, Long> contagemPorFuncao = apiService.contagemPorFuncao(dataInicial, dataFinal, todosOsTimes);
+            Map<String, Long> contagemPorFuncao = apiService.contagemPorFuncao(dataInicial, dataFinal);
             return ResponseEntity.ok(contagemPorFuncao);
         } catch (NotFoundException | DateNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -136,4 +129,82 @@ public class ApiController {
         }
     }
 
+    @GetMapping("/painel")
+    public ResponseEntity<Object> getPainel(
+            @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
+        try {
+            PainelResponse painel = apiService.painel(dataInicial, dataFinal);
+            return ResponseEntity.ok(painel);
+        } catch (NotFoundException | DateNotFoundException | NullTimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/cache/estatisticas")
+    public ResponseEntity<Object> getEstatisticasDoCache() {
+        try {
+            return ResponseEntity.ok(apiService.estatisticasDoCache());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/integrantes/top")
+    public ResponseEntity<Object> getTopIntegrantes(
+            @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            @RequestParam(value = "approximate", defaultValue = "false") boolean aproximado) {
+        try {
+            if (aproximado) {
+                return ResponseEntity.ok(apiService.topIntegrantesAproximado(dataInicial, dataFinal, k));
+            }
+            List<IntegranteRankingResponse> ranking = apiService.topIntegrantes(dataInicial, dataFinal, k);
+            return ResponseEntity.ok(ranking);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NotFoundException | DateNotFoundException | NullTimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/funcoes/top")
+    public ResponseEntity<Object> getTopFuncoes(
+            @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(value = "k", defaultValue = "10") int k) {
+        try {
+            List<ContagemRankingResponse> ranking = apiService.topFuncoes(dataInicial, dataFinal, k);
+            return ResponseEntity.ok(ranking);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NotFoundException | DateNotFoundException | NullTimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/franquias/top")
+    public ResponseEntity<Object> getTopFranquias(
+            @RequestParam("dataInicial") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam("dataFinal") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(value = "k", defaultValue = "10") int k) {
+        try {
+            List<ContagemRankingResponse> ranking = apiService.topFranquias(dataInicial, dataFinal, k);
+            return ResponseEntity.ok(ranking);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NotFoundException | DateNotFoundException | NullTimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
 }
@@ -0,0 +1,35 @@
+package br.com.duxusdesafio.controller;
+
+import br.com.duxusdesafio.service.EstatisticaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("estatisticas")
+public class EstatisticaController {
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @PostMapping(value = "/reconstruir")
+    public ResponseEntity<Object> reconstruir() {
+        try {
+            estatisticaService.reconstruir();
+            return new ResponseEntity<>("Estatísticas reconstruídas com sucesso!", HttpStatus.OK);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/compactar")
+    public ResponseEntity<Object> compactar() {
+        try {
+            estatisticaService.compactar();
+            return new ResponseEntity<>("Estatísticas mensais compactadas com sucesso!", HttpStatus.OK);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+}
@@ -5,6 +5,9 @@ import br.com.duxusdesafio.exceptions.IntegranteException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
 import br.com.duxusdesafio.exceptions.NullIntegranteException;
 import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.response.ImportacaoResponse;
+import br.com.duxusdesafio.response.IntegranteResponse;
+import br.com.duxusdesafio.response.PaginaResponse;
 import br.com.duxusdesafio.service.IntegranteService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -12,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -33,6 +37,20 @@ public class IntegranteController {
         }
     }
 
+    /**
+     * Importa integrantes do CSV enviado no corpo (franquia,nome,funcao), lido à medida que chega.
+     */
+    @PostMapping(value = "/importar")
+    public ResponseEntity<Object> importarIntegrantes(InputStream csv,
+                                                      @RequestParam(value = "atualizarExistentes", defaultValue = "false") boolean atualizarExistentes) {
+        try {
+            ImportacaoResponse resposta = integranteService.importarIntegrantes(csv, atualizarExistentes);
+            return new ResponseEntity<>(resposta, HttpStatus.OK);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     @GetMapping(value = "/listar")
     public ResponseEntity<Object> listarIntegrantes() {
         try {
@@ -45,10 +63,23 @@ public class IntegranteController {
         }
     }
 
+    @GetMapping(value = "/pagina")
+    public ResponseEntity<Object> listarIntegrantesPaginados(@RequestParam(value = "cursor", required = false) Long cursor,
+                                                             @RequestParam(value = "tamanho", required = false) Integer tamanho) {
+        try {
+            PaginaResponse<Integrante> pagina = integranteService.listarIntegrantesPaginados(cursor, tamanho);
+            return new ResponseEntity<>(pagina, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Object> buscarIntegrantePorId(@PathVariable Long id) {
         try {
-            Integrante integrante = integranteService.buscarIntegrantePorId(id)
+            IntegranteResponse integrante = integranteService.buscarIntegrantePorId(id)
                     .orElseThrow(() -> new NullIntegranteException("Integrante não encontrado para o ID: " + id));
             return new ResponseEntity<>(integrante, HttpStatus.OK);
         } catch (NullIntegranteException e) {
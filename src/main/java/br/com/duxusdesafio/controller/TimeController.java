@@ -6,11 +6,16 @@ import br.com.duxusdesafio.exceptions.IntegranteException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
 import br.com.duxusdesafio.exceptions.NullTimeException;
 import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.response.CadastroEmLoteResponse;
+import br.com.duxusdesafio.response.PaginaResponse;
+import br.com.duxusdesafio.response.TimeResponse;
 import br.com.duxusdesafio.service.TimeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -33,20 +38,56 @@ public class TimeController {
         }
     }
 
+    @PostMapping(value = "cadastrar-lote")
+    public ResponseEntity<Object> cadastrarTimesEmLote(@RequestBody List<TimeDto> times) {
+        try {
+            CadastroEmLoteResponse resposta = timeService.cadastrarTimesEmLote(times);
+            return ResponseEntity.ok(resposta);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     @GetMapping(value = "listar")
     public ResponseEntity<Object> listarTodosOsTimes() {
         try {
-            List<Time> times = timeService.listarTodosOsTimes();
+            List<TimeResponse> times = timeService.listarTodosOsTimes();
             return ResponseEntity.ok(times);
         } catch (NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         }
     }
 
+    /**
+     * Exportação de todos os times em NDJSON, escrita na resposta enquanto os times são lidos.
+     */
+    @GetMapping(value = "exportar")
+    public ResponseEntity<StreamingResponseBody> exportarTimes() {
+        StreamingResponseBody corpo = saida -> timeService.exportarTimes(saida);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(corpo);
+    }
+
+    @GetMapping(value = "pagina")
+    public ResponseEntity<Object> listarTimesPaginados(@RequestParam(value = "cursor", required = false) Long cursor,
+                                                       @RequestParam(value = "tamanho", required = false) Integer tamanho) {
+        try {
+            PaginaResponse<Time> pagina = timeService.listarTimesPaginados(cursor, tamanho);
+            return ResponseEntity.ok(pagina);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     @GetMapping(value = "/{id}")
     public ResponseEntity<Object> buscarTimePorId(@PathVariable Long id) {
         try {
-            Time time = timeService.buscarTimePorId(id);
+            TimeResponse time = timeService.consultarTime(id);
             return ResponseEntity.ok(time);
         } catch (NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
@@ -0,0 +1,11 @@
+package br.com.duxusdesafio.dto;
+
+/**
+ * Projeção de uma linha de contagem agrupada por um valor textual (função ou franquia).
+ */
+public interface ContagemPorChave {
+
+    String getChave();
+
+    Long getTotal();
+}
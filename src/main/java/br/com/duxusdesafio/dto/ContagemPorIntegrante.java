@@ -0,0 +1,11 @@
+package br.com.duxusdesafio.dto;
+
+/**
+ * Projeção de uma linha de contagem de aparições agrupada por integrante.
+ */
+public interface ContagemPorIntegrante {
+
+    Long getIdIntegrante();
+
+    Long getTotal();
+}
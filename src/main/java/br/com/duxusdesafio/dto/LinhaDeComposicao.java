@@ -0,0 +1,22 @@
+package br.com.duxusdesafio.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção de uma composição de time com a data do time e os dados do integrante,
+ * usada para montar o instantâneo colunar das análises.
+ */
+public interface LinhaDeComposicao {
+
+    LocalDate getData();
+
+    Long getIdTime();
+
+    Long getIdIntegrante();
+
+    String getNome();
+
+    String getFuncao();
+
+    String getFranquia();
+}
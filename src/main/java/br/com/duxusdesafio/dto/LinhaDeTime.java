@@ -0,0 +1,25 @@
+package br.com.duxusdesafio.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção de um time com uma de suas composições e o integrante dela, usada pelas consultas
+ * que respondem times sem carregar as entidades. Num time sem integrantes, os campos da
+ * composição vêm nulos.
+ */
+public interface LinhaDeTime {
+
+    Long getIdTime();
+
+    LocalDate getData();
+
+    Long getIdComposicao();
+
+    Long getIdIntegrante();
+
+    String getFranquia();
+
+    String getNome();
+
+    String getFuncao();
+}
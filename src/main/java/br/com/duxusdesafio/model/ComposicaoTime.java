@@ -6,11 +6,12 @@ import javax.persistence.*;
 import java.util.Objects;
 
 @Entity
-@Table(name = "composicao_time")
+@Table(name = "composicao_time", indexes = @Index(name = "idx_composicao_time_time", columnList = "time_id"))
 	public class ComposicaoTime {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "composicao_time_seq")
+	@SequenceGenerator(name = "composicao_time_seq", sequenceName = "composicao_time_seq", allocationSize = 50)
 	private long id;
 	
 	@ManyToOne
@@ -0,0 +1,12 @@
+package br.com.duxusdesafio.model;
+
+/**
+ * Dimensões pelas quais as aparições de integrantes são contadas nas estatísticas.
+ * COMPOSICAO conta times por assinatura da composição.
+ */
+public enum DimensaoEstatistica {
+    INTEGRANTE,
+    FUNCAO,
+    FRANQUIA,
+    COMPOSICAO
+}
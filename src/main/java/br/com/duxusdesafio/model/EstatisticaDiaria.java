@@ -0,0 +1,107 @@
+package br.com.duxusdesafio.model;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Contagem pré-calculada de aparições de integrantes em times em um dia,
+ * agrupada por uma dimensão (integrante, função, franquia ou composição do time).
+ * Mantida pelo EstatisticaService a cada escrita de times.
+ */
+@Entity
+@Table(name = "estatistica_diaria",
+		uniqueConstraints = @UniqueConstraint(columnNames = {"data", "dimensao", "chave"}),
+		indexes = @Index(name = "idx_estatistica_diaria_dimensao_data", columnList = "dimensao, data"))
+public class EstatisticaDiaria {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+
+	@Column(nullable = false)
+	private LocalDate data;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private DimensaoEstatistica dimensao;
+
+	@Column(nullable = false)
+	private String chave;
+
+	@Column(nullable = false)
+	private long total;
+
+	public EstatisticaDiaria() {
+	}
+
+	public EstatisticaDiaria(LocalDate data, DimensaoEstatistica dimensao, String chave, long total) {
+		this.data = data;
+		this.dimensao = dimensao;
+		this.chave = chave;
+		this.total = total;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public LocalDate getData() {
+		return data;
+	}
+
+	public void setData(LocalDate data) {
+		this.data = data;
+	}
+
+	public DimensaoEstatistica getDimensao() {
+		return dimensao;
+	}
+
+	public void setDimensao(DimensaoEstatistica dimensao) {
+		this.dimensao = dimensao;
+	}
+
+	public String getChave() {
+		return chave;
+	}
+
+	public void setChave(String chave) {
+		this.chave = chave;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public void setTotal(long total) {
+		this.total = total;
+	}
+
+	@Override
+	public final boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof EstatisticaDiaria)) return false;
+		EstatisticaDiaria that = (EstatisticaDiaria) o;
+		return Objects.equals(data, that.data) && dimensao == that.dimensao && Objects.equals(chave, that.chave);
+	}
+
+	@Override
+	public final int hashCode() {
+		return Objects.hash(data, dimensao, chave);
+	}
+
+	@Override
+	public String toString() {
+		return "EstatisticaDiaria{" +
+				"data=" + data +
+				", dimensao=" + dimensao +
+				", chave='" + chave + '\'' +
+				", total=" + total +
+				'}';
+	}
+}
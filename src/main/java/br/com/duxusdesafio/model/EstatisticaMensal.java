@@ -0,0 +1,106 @@
+package br.com.duxusdesafio.model;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Soma das estatísticas diárias de um mês, gravada pela compactação do EstatisticaService.
+ * O mês é representado pelo seu primeiro dia.
+ */
+@Entity
+@Table(name = "estatistica_mensal",
+		uniqueConstraints = @UniqueConstraint(columnNames = {"mes", "dimensao", "chave"}),
+		indexes = @Index(name = "idx_estatistica_mensal_dimensao_mes", columnList = "dimensao, mes"))
+public class EstatisticaMensal {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private long id;
+
+	@Column(nullable = false)
+	private LocalDate mes;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private DimensaoEstatistica dimensao;
+
+	@Column(nullable = false)
+	private String chave;
+
+	@Column(nullable = false)
+	private long total;
+
+	public EstatisticaMensal() {
+	}
+
+	public EstatisticaMensal(LocalDate mes, DimensaoEstatistica dimensao, String chave, long total) {
+		this.mes = mes;
+		this.dimensao = dimensao;
+		this.chave = chave;
+		this.total = total;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	public void setId(long id) {
+		this.id = id;
+	}
+
+	public LocalDate getMes() {
+		return mes;
+	}
+
+	public void setMes(LocalDate mes) {
+		this.mes = mes;
+	}
+
+	public DimensaoEstatistica getDimensao() {
+		return dimensao;
+	}
+
+	public void setDimensao(DimensaoEstatistica dimensao) {
+		this.dimensao = dimensao;
+	}
+
+	public String getChave() {
+		return chave;
+	}
+
+	public void setChave(String chave) {
+		this.chave = chave;
+	}
+
+	public long getTotal() {
+		return total;
+	}
+
+	public void setTotal(long total) {
+		this.total = total;
+	}
+
+	@Override
+	public final boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof EstatisticaMensal)) return false;
+		EstatisticaMensal that = (EstatisticaMensal) o;
+		return Objects.equals(mes, that.mes) && dimensao == that.dimensao && Objects.equals(chave, that.chave);
+	}
+
+	@Override
+	public final int hashCode() {
+		return Objects.hash(mes, dimensao, chave);
+	}
+
+	@Override
+	public String toString() {
+		return "EstatisticaMensal{" +
+				"mes=" + mes +
+				", dimensao=" + dimensao +
+				", chave='" + chave + '\'' +
+				", total=" + total +
+				'}';
+	}
+}
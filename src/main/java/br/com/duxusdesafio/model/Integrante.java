@@ -10,11 +10,12 @@ import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "integrante")
+@Table(name = "integrante", indexes = @Index(name = "idx_integrante_nome", columnList = "nome"))
 public class Integrante {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "integrante_seq")
+	@SequenceGenerator(name = "integrante_seq", sequenceName = "integrante_seq", allocationSize = 50)
 	private long id;
 	
 	@NotNull
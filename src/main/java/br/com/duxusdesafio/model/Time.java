@@ -1,24 +1,43 @@
 package br.com.duxusdesafio.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import javax.persistence.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "time")
+@Table(name = "time", indexes = @Index(name = "idx_time_data_assinatura", columnList = "data, assinatura"))
 public class Time {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_seq")
+	@SequenceGenerator(name = "time_seq", sequenceName = "time_seq", allocationSize = 50)
 	private long id;
 
 	@Column
     private LocalDate data;
 	
-	@OneToMany(mappedBy = "time", cascade = CascadeType.ALL)
+	/**
+	 * Assinatura canônica da composição: os ids dos integrantes ordenados e resumidos
+	 * em 16 caracteres hexadecimais. Times com os mesmos integrantes têm a mesma assinatura.
+	 */
+	@Column(length = 16)
+	@JsonIgnore
+	private String assinatura;
+
+	/**
+	 * Alterada sempre no lugar: as composições retiradas da lista são excluídas pelo orphanRemoval.
+	 */
+	@OneToMany(mappedBy = "time", cascade = CascadeType.ALL, orphanRemoval = true)
 	@JsonManagedReference
 	private List<ComposicaoTime> composicaoTime;
 
@@ -46,6 +65,14 @@ public class Time {
 		this.data = data;
 	}
 
+	public String getAssinatura() {
+		return assinatura;
+	}
+
+	public void setAssinatura(String assinatura) {
+		this.assinatura = assinatura;
+	}
+
 	public List<ComposicaoTime> getComposicaoTime() {
 		return composicaoTime;
 	}
@@ -75,4 +102,39 @@ public class Time {
 				", data=" + data +
 				'}';
 	}
+
+	/**
+	 * Calcula a assinatura canônica a partir dos ids dos integrantes, independente da ordem.
+	 */
+	public static String calcularAssinatura(Collection<Long> idsIntegrantes) {
+		String idsOrdenados = idsIntegrantes.stream()
+				.sorted()
+				.map(String::valueOf)
+				.collect(Collectors.joining(","));
+		try {
+			byte[] resumo = MessageDigest.getInstance("SHA-256").digest(idsOrdenados.getBytes(StandardCharsets.UTF_8));
+			StringBuilder assinatura = new StringBuilder(16);
+			for (int i = 0; i < 8; i++) {
+				assinatura.append(String.format("%02x", resumo[i]));
+			}
+			return assinatura.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 indisponível", e);
+		}
+	}
+
+	/**
+	 * Retorna a assinatura gravada ou, para times ainda sem assinatura, a calcula pela composição.
+	 */
+	public String assinaturaDaComposicao() {
+		if (assinatura != null) {
+			return assinatura;
+		}
+		if (composicaoTime == null) {
+			return calcularAssinatura(Collections.emptyList());
+		}
+		return calcularAssinatura(composicaoTime.stream()
+				.map(composicao -> composicao.getIntegrante().getId())
+				.collect(Collectors.toList()));
+	}
 }
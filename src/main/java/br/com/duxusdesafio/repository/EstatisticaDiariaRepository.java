@@ -0,0 +1,57 @@
+package br.com.duxusdesafio.repository;
+
+import br.com.duxusdesafio.dto.ContagemPorChave;
+import br.com.duxusdesafio.model.DimensaoEstatistica;
+import br.com.duxusdesafio.model.EstatisticaDiaria;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EstatisticaDiariaRepository extends JpaRepository<EstatisticaDiaria, Long> {
+
+    /**
+     * Soma a variação ao total no próprio banco, sem ler o valor antes; retorna 0 se a linha não existir.
+     */
+    @Modifying
+    @Query("update EstatisticaDiaria e set e.total = e.total + :variacao " +
+            "where e.data = :data and e.dimensao = :dimensao and e.chave = :chave")
+    int somarAoTotal(@Param("data") LocalDate data, @Param("dimensao") DimensaoEstatistica dimensao,
+                     @Param("chave") String chave, @Param("variacao") long variacao);
+
+    /**
+     * Insere a linha com o total; se outra transação já a inseriu, não faz nada e retorna 0.
+     */
+    @Modifying
+    @Query(value = "insert into estatistica_diaria (data, dimensao, chave, total) " +
+            "values (:data, :dimensao, :chave, :total) on conflict do nothing", nativeQuery = true)
+    int inserirSeAusente(@Param("data") LocalDate data, @Param("dimensao") String dimensao,
+                         @Param("chave") String chave, @Param("total") long total);
+
+    @Modifying
+    @Query("delete from EstatisticaDiaria e " +
+            "where e.data = :data and e.dimensao = :dimensao and e.chave = :chave and e.total <= 0")
+    int removerSemAparicoes(@Param("data") LocalDate data, @Param("dimensao") DimensaoEstatistica dimensao,
+                            @Param("chave") String chave);
+
+    List<EstatisticaDiaria> findByDimensao(DimensaoEstatistica dimensao);
+
+    boolean existsByDimensao(DimensaoEstatistica dimensao);
+
+    List<EstatisticaDiaria> findByDimensaoAndChave(DimensaoEstatistica dimensao, String chave);
+
+    List<EstatisticaDiaria> findByDataBetween(LocalDate dataInicial, LocalDate dataFinal);
+
+    List<EstatisticaDiaria> findByDimensaoAndDataBetween(DimensaoEstatistica dimensao, LocalDate dataInicial,
+                                                         LocalDate dataFinal);
+
+    @Query("select e.chave as chave, sum(e.total) as total from EstatisticaDiaria e " +
+            "where e.dimensao = :dimensao and e.data between :dataInicial and :dataFinal " +
+            "group by e.chave")
+    List<ContagemPorChave> somarPorChaveNoPeriodo(@Param("dimensao") DimensaoEstatistica dimensao,
+                                                  @Param("dataInicial") LocalDate dataInicial,
+                                                  @Param("dataFinal") LocalDate dataFinal);
+}
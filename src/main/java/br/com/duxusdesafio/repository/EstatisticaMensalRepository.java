@@ -0,0 +1,26 @@
+package br.com.duxusdesafio.repository;
+
+import br.com.duxusdesafio.dto.ContagemPorChave;
+import br.com.duxusdesafio.model.DimensaoEstatistica;
+import br.com.duxusdesafio.model.EstatisticaMensal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EstatisticaMensalRepository extends JpaRepository<EstatisticaMensal, Long> {
+
+    @Modifying
+    @Query("delete from EstatisticaMensal e where e.mes = :mes")
+    int excluirDoMes(@Param("mes") LocalDate mes);
+
+    @Query("select e.chave as chave, sum(e.total) as total from EstatisticaMensal e " +
+            "where e.dimensao = :dimensao and e.mes between :mesInicial and :mesFinal " +
+            "group by e.chave")
+    List<ContagemPorChave> somarPorChaveNoPeriodo(@Param("dimensao") DimensaoEstatistica dimensao,
+                                                  @Param("mesInicial") LocalDate mesInicial,
+                                                  @Param("mesFinal") LocalDate mesFinal);
+}
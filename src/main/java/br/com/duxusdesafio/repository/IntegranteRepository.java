@@ -1,13 +1,39 @@
 package br.com.duxusdesafio.repository;
 
+import br.com.duxusdesafio.dto.ContagemPorIntegrante;
 import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.response.IntegranteResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IntegranteRepository extends JpaRepository<Integrante,Long > {
 
     Optional<Integrante> findByNome(String nome);
+
+    List<Integrante> findByNomeIn(Collection<String> nomes);
+
+    @Query("select new br.com.duxusdesafio.response.IntegranteResponse(i.id, i.franquia, i.nome, i.funcao) " +
+            "from Integrante i where i.id = :id")
+    Optional<IntegranteResponse> buscarResumoPorId(@Param("id") Long id);
+
+    /**
+     * Página da listagem por cursor: só lê os integrantes seguintes ao id informado, pela chave primária.
+     */
+    List<Integrante> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select c.integrante.id as idIntegrante, count(c) as total from ComposicaoTime c join c.time t " +
+            "where t.data between :dataInicial and :dataFinal " +
+            "group by c.integrante.id order by count(c) desc, c.integrante.id")
+    List<ContagemPorIntegrante> contarAparicoesNoPeriodo(@Param("dataInicial") LocalDate dataInicial,
+                                                         @Param("dataFinal") LocalDate dataFinal,
+                                                         Pageable pageable);
 }
@@ -1,7 +1,105 @@
 package br.com.duxusdesafio.repository;
 
+import br.com.duxusdesafio.dto.ContagemPorChave;
+import br.com.duxusdesafio.dto.LinhaDeComposicao;
+import br.com.duxusdesafio.dto.LinhaDeTime;
 import br.com.duxusdesafio.model.Time;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TimeRepository extends JpaRepository<Time, Long> {
+
+    @Query("select distinct t from Time t left join fetch t.composicaoTime c left join fetch c.integrante")
+    List<Time> findAllComComposicao();
+
+    /**
+     * Ids da página da listagem por cursor. A página é limitada pelos ids para que o limite não
+     * seja aplicado em memória sobre as linhas de uma consulta com fetch das composições.
+     */
+    @Query("select t.id from Time t where t.id > :cursor order by t.id")
+    List<Long> listarIdsAposCursor(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("select distinct t from Time t left join fetch t.composicaoTime c left join fetch c.integrante " +
+            "where t.id in :ids order by t.id, c.id")
+    List<Time> findAllComComposicaoPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Todos os times em ordem de id, lidos sob demanda por um cursor do banco em vez de carregados
+     * de uma vez. Precisa de uma transação aberta e o Stream deve ser fechado por quem o consome.
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "100"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("select t from Time t order by t.id")
+    Stream<Time> streamTodosOrdenadosPorId();
+
+    @Override
+    @EntityGraph(attributePaths = {"composicaoTime", "composicaoTime.integrante"})
+    Optional<Time> findById(Long id);
+
+    /**
+     * Linhas de time, composição e integrante lidas como projeção: as consultas de leitura montam
+     * as respostas a partir delas sem carregar entidades no contexto de persistência.
+     */
+    String LINHAS_DE_TIME = "select t.id as idTime, t.data as data, c.id as idComposicao, i.id as idIntegrante, " +
+            "i.franquia as franquia, i.nome as nome, i.funcao as funcao " +
+            "from Time t left join t.composicaoTime c left join c.integrante i ";
+
+    @Query(LINHAS_DE_TIME + "order by t.id, c.id")
+    List<LinhaDeTime> listarLinhasDosTimes();
+
+    @Query(LINHAS_DE_TIME + "where t.id = :id order by c.id")
+    List<LinhaDeTime> listarLinhasDoTime(@Param("id") Long id);
+
+    /**
+     * Times da data pelo índice iniciado por time.data.
+     */
+    @Query(LINHAS_DE_TIME + "where t.data = :data order by t.id, c.id")
+    List<LinhaDeTime> listarLinhasDosTimesDaData(@Param("data") LocalDate data);
+
+    @Query("select t.data as data, t.id as idTime, i.id as idIntegrante, i.nome as nome, " +
+            "i.funcao as funcao, i.franquia as franquia from ComposicaoTime c join c.time t join c.integrante i " +
+            "order by t.data, t.id, c.id")
+    List<LinhaDeComposicao> listarLinhasDeComposicao();
+
+    @Query("select c.integrante.id from ComposicaoTime c join c.time t where t.data between :dataInicial and :dataFinal")
+    List<Long> listarIdsDosIntegrantesNoPeriodo(@Param("dataInicial") LocalDate dataInicial,
+                                                @Param("dataFinal") LocalDate dataFinal);
+
+    @Query("select min(t.data) from Time t")
+    LocalDate buscarPrimeiraData();
+
+    @Query("select max(t.data) from Time t")
+    LocalDate buscarUltimaData();
+
+    @Query("select i.funcao as chave, count(c) as total from ComposicaoTime c join c.time t join c.integrante i " +
+            "where t.data between :dataInicial and :dataFinal group by i.funcao")
+    List<ContagemPorChave> contarPorFuncaoNoPeriodo(@Param("dataInicial") LocalDate dataInicial,
+                                                   @Param("dataFinal") LocalDate dataFinal);
+
+    @Query("select i.franquia as chave, count(c) as total from ComposicaoTime c join c.time t join c.integrante i " +
+            "where t.data between :dataInicial and :dataFinal group by i.franquia")
+    List<ContagemPorChave> contarPorFranquiaNoPeriodo(@Param("dataInicial") LocalDate dataInicial,
+                                                     @Param("dataFinal") LocalDate dataFinal);
+
+    @Query("select t.assinatura as chave, count(t) as total from Time t " +
+            "where t.data between :dataInicial and :dataFinal and t.assinatura is not null " +
+            "group by t.assinatura order by count(t) desc, t.assinatura")
+    List<ContagemPorChave> contarAssinaturasNoPeriodo(@Param("dataInicial") LocalDate dataInicial,
+                                                      @Param("dataFinal") LocalDate dataFinal,
+                                                      Pageable pageable);
+
+    Optional<Time> findFirstByAssinaturaAndDataBetweenOrderByDataAsc(String assinatura, LocalDate dataInicial, LocalDate dataFinal);
+
+    List<Time> findByAssinaturaIsNull();
 }
@@ -0,0 +1,43 @@
+package br.com.duxusdesafio.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado do cadastro em lote: os ids dos times gravados e, para cada item recusado,
+ * a sua posição na lista enviada e o motivo.
+ */
+public class CadastroEmLoteResponse {
+
+    private int recebidos;
+    private List<Long> idsCadastrados = new ArrayList<>();
+    private List<ErroDoLoteResponse> erros = new ArrayList<>();
+
+    public CadastroEmLoteResponse(int recebidos) {
+        this.recebidos = recebidos;
+    }
+
+    public void adicionarCadastrado(long id) {
+        idsCadastrados.add(id);
+    }
+
+    public void adicionarErro(int indice, String mensagem) {
+        erros.add(new ErroDoLoteResponse(indice, mensagem));
+    }
+
+    public int getRecebidos() {
+        return recebidos;
+    }
+
+    public int getCadastrados() {
+        return idsCadastrados.size();
+    }
+
+    public List<Long> getIdsCadastrados() {
+        return idsCadastrados;
+    }
+
+    public List<ErroDoLoteResponse> getErros() {
+        return erros;
+    }
+}
@@ -0,0 +1,20 @@
+package br.com.duxusdesafio.response;
+
+public class ComposicaoTimeResponse {
+
+    private final long id;
+    private final IntegranteResponse integrante;
+
+    public ComposicaoTimeResponse(long id, IntegranteResponse integrante) {
+        this.id = id;
+        this.integrante = integrante;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public IntegranteResponse getIntegrante() {
+        return integrante;
+    }
+}
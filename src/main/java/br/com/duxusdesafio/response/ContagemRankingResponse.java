@@ -0,0 +1,21 @@
+package br.com.duxusdesafio.response;
+
+public class ContagemRankingResponse {
+
+    private String nome;
+
+    private long total;
+
+    public ContagemRankingResponse(String nome, long total) {
+        this.nome = nome;
+        this.total = total;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.duxusdesafio.response;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class EntradaDoCacheResponse {
+
+    private String metrica;
+
+    private LocalDate dataInicial;
+
+    private LocalDate dataFinal;
+
+    private long peso;
+
+    private long acertos;
+
+    private LocalDateTime criadoEm;
+
+    private LocalDateTime ultimoAcesso;
+
+    public EntradaDoCacheResponse(String metrica, LocalDate dataInicial, LocalDate dataFinal, long peso, long acertos,
+                                  LocalDateTime criadoEm, LocalDateTime ultimoAcesso) {
+        this.metrica = metrica;
+        this.dataInicial = dataInicial;
+        this.dataFinal = dataFinal;
+        this.peso = peso;
+        this.acertos = acertos;
+        this.criadoEm = criadoEm;
+        this.ultimoAcesso = ultimoAcesso;
+    }
+
+    public String getMetrica() {
+        return metrica;
+    }
+
+    public LocalDate getDataInicial() {
+        return dataInicial;
+    }
+
+    public LocalDate getDataFinal() {
+        return dataFinal;
+    }
+
+    public long getPeso() {
+        return peso;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    public LocalDateTime getUltimoAcesso() {
+        return ultimoAcesso;
+    }
+}
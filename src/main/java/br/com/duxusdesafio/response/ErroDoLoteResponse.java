@@ -0,0 +1,20 @@
+package br.com.duxusdesafio.response;
+
+public class ErroDoLoteResponse {
+
+    private int indice;
+    private String mensagem;
+
+    public ErroDoLoteResponse(int indice, String mensagem) {
+        this.indice = indice;
+        this.mensagem = mensagem;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.duxusdesafio.response;
+
+import java.util.List;
+
+public class EstatisticasDoCacheResponse {
+
+    private long pesoMaximo;
+
+    private long peso;
+
+    private long acertos;
+
+    private long falhas;
+
+    private long despejos;
+
+    private List<EntradaDoCacheResponse> entradas;
+
+    public EstatisticasDoCacheResponse(long pesoMaximo, long peso, long acertos, long falhas, long despejos,
+                                       List<EntradaDoCacheResponse> entradas) {
+        this.pesoMaximo = pesoMaximo;
+        this.peso = peso;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.despejos = despejos;
+        this.entradas = entradas;
+    }
+
+    public long getPesoMaximo() {
+        return pesoMaximo;
+    }
+
+    public long getPeso() {
+        return peso;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public long getDespejos() {
+        return despejos;
+    }
+
+    public List<EntradaDoCacheResponse> getEntradas() {
+        return entradas;
+    }
+}
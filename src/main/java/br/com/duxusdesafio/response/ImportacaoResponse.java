@@ -0,0 +1,81 @@
+package br.com.duxusdesafio.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da importação de integrantes. Os erros trazem o número da linha do CSV no índice
+ * e apenas os primeiros MAXIMO_DE_ERROS são detalhados; totalDeErros conta todos. Cada linha lida conta
+ * em exatamente um dos totais: inseridos, atualizados, inalterados, repetidos ou totalDeErros.
+ */
+public class ImportacaoResponse {
+
+    public static final int MAXIMO_DE_ERROS = 1000;
+
+    private long linhasLidas;
+    private long inseridos;
+    private long atualizados;
+    private long inalterados;
+    private long repetidos;
+    private long totalDeErros;
+    private List<ErroDoLoteResponse> erros = new ArrayList<>();
+    private long duracaoEmMs;
+
+    public void contarLinha() {
+        linhasLidas++;
+    }
+
+    public void somarGravados(long inseridos, long atualizados, long inalterados, long repetidos) {
+        this.inseridos += inseridos;
+        this.atualizados += atualizados;
+        this.inalterados += inalterados;
+        this.repetidos += repetidos;
+    }
+
+    public void adicionarErro(int linha, String mensagem) {
+        totalDeErros++;
+        if (erros.size() < MAXIMO_DE_ERROS) {
+            erros.add(new ErroDoLoteResponse(linha, mensagem));
+        }
+    }
+
+    public void concluir(long duracaoEmMs) {
+        this.duracaoEmMs = duracaoEmMs;
+    }
+
+    public long getLinhasLidas() {
+        return linhasLidas;
+    }
+
+    public long getInseridos() {
+        return inseridos;
+    }
+
+    public long getAtualizados() {
+        return atualizados;
+    }
+
+    public long getInalterados() {
+        return inalterados;
+    }
+
+    public long getRepetidos() {
+        return repetidos;
+    }
+
+    public long getTotalDeErros() {
+        return totalDeErros;
+    }
+
+    public List<ErroDoLoteResponse> getErros() {
+        return erros;
+    }
+
+    public long getDuracaoEmMs() {
+        return duracaoEmMs;
+    }
+
+    public long getLinhasPorSegundo() {
+        return duracaoEmMs == 0 ? linhasLidas : linhasLidas * 1000 / duracaoEmMs;
+    }
+}
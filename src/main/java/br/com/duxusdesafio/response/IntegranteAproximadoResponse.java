@@ -0,0 +1,36 @@
+package br.com.duxusdesafio.response;
+
+import br.com.duxusdesafio.model.Integrante;
+
+public class IntegranteAproximadoResponse {
+
+    private Integrante integrante;
+
+    private long aparicoesEstimadas;
+
+    private long erroMaximo;
+
+    public IntegranteAproximadoResponse(Integrante integrante, long aparicoesEstimadas, long erroMaximo) {
+        this.integrante = integrante;
+        this.aparicoesEstimadas = aparicoesEstimadas;
+        this.erroMaximo = erroMaximo;
+    }
+
+    public Integrante getIntegrante() {
+        return integrante;
+    }
+
+    /**
+     * Nunca menor que a quantidade real de aparições.
+     */
+    public long getAparicoesEstimadas() {
+        return aparicoesEstimadas;
+    }
+
+    /**
+     * Quanto as aparições estimadas podem exceder a quantidade real.
+     */
+    public long getErroMaximo() {
+        return erroMaximo;
+    }
+}
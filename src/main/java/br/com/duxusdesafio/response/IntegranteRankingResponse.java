@@ -0,0 +1,23 @@
+package br.com.duxusdesafio.response;
+
+import br.com.duxusdesafio.model.Integrante;
+
+public class IntegranteRankingResponse {
+
+    private Integrante integrante;
+
+    private long aparicoes;
+
+    public IntegranteRankingResponse(Integrante integrante, long aparicoes) {
+        this.integrante = integrante;
+        this.aparicoes = aparicoes;
+    }
+
+    public Integrante getIntegrante() {
+        return integrante;
+    }
+
+    public long getAparicoes() {
+        return aparicoes;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.duxusdesafio.response;
+
+/**
+ * Integrante consultado por projeção, com os mesmos campos do JSON da entidade.
+ */
+public class IntegranteResponse {
+
+    private final long id;
+    private final String franquia;
+    private final String nome;
+    private final String funcao;
+
+    public IntegranteResponse(long id, String franquia, String nome, String funcao) {
+        this.id = id;
+        this.franquia = franquia;
+        this.nome = nome;
+        this.funcao = funcao;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getFranquia() {
+        return franquia;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public String getFuncao() {
+        return funcao;
+    }
+}
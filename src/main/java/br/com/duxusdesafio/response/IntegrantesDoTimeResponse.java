@@ -0,0 +1,23 @@
+package br.com.duxusdesafio.response;
+
+import java.util.List;
+
+public class IntegrantesDoTimeResponse {
+
+    private long idTime;
+
+    private List<String> integrantes;
+
+    public IntegrantesDoTimeResponse(long idTime, List<String> integrantes) {
+        this.idTime = idTime;
+        this.integrantes = integrantes;
+    }
+
+    public long getIdTime() {
+        return idTime;
+    }
+
+    public List<String> getIntegrantes() {
+        return integrantes;
+    }
+}
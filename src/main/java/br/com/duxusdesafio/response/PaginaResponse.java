@@ -0,0 +1,39 @@
+package br.com.duxusdesafio.response;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem por cursor. O próximo cursor é o id do último item da página
+ * e fica nulo quando não há mais itens.
+ */
+public class PaginaResponse<T> {
+
+    private List<T> itens;
+    private Long proximoCursor;
+
+    public PaginaResponse(List<T> itens, Long proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou até tamanho + 1 itens: o item excedente
+     * só indica que existe uma próxima página e não é devolvido.
+     */
+    public static <T> PaginaResponse<T> de(List<T> encontrados, int tamanho, Function<T, Long> id) {
+        if (encontrados.size() <= tamanho) {
+            return new PaginaResponse<>(encontrados, null);
+        }
+        List<T> itens = encontrados.subList(0, tamanho);
+        return new PaginaResponse<>(itens, id.apply(itens.get(tamanho - 1)));
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public Long getProximoCursor() {
+        return proximoCursor;
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.duxusdesafio.response;
+
+import br.com.duxusdesafio.model.Integrante;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public class PainelResponse {
+
+    private LocalDate dataInicial;
+    private LocalDate dataFinal;
+    private Integrante integranteMaisUsado;
+    private List<String> timeMaisComum;
+    private String funcaoMaisComum;
+    private String franquiaMaisFamosa;
+    private Map<String, Long> contagemPorFranquia;
+    private Map<String, Long> contagemPorFuncao;
+
+    public PainelResponse(LocalDate dataInicial, LocalDate dataFinal, Integrante integranteMaisUsado,
+                          List<String> timeMaisComum, String funcaoMaisComum, String franquiaMaisFamosa,
+                          Map<String, Long> contagemPorFranquia, Map<String, Long> contagemPorFuncao) {
+        this.dataInicial = dataInicial;
+        this.dataFinal = dataFinal;
+        this.integranteMaisUsado = integranteMaisUsado;
+        this.timeMaisComum = timeMaisComum;
+        this.funcaoMaisComum = funcaoMaisComum;
+        this.franquiaMaisFamosa = franquiaMaisFamosa;
+        this.contagemPorFranquia = contagemPorFranquia;
+        this.contagemPorFuncao = contagemPorFuncao;
+    }
+
+    public LocalDate getDataInicial() {
+        return dataInicial;
+    }
+
+    public LocalDate getDataFinal() {
+        return dataFinal;
+    }
+
+    public Integrante getIntegranteMaisUsado() {
+        return integranteMaisUsado;
+    }
+
+    public List<String> getTimeMaisComum() {
+        return timeMaisComum;
+    }
+
+    public String getFuncaoMaisComum() {
+        return funcaoMaisComum;
+    }
+
+    public String getFranquiaMaisFamosa() {
+        return franquiaMaisFamosa;
+    }
+
+    public Map<String, Long> getContagemPorFranquia() {
+        return contagemPorFranquia;
+    }
+
+    public Map<String, Long> getContagemPorFuncao() {
+        return contagemPorFuncao;
+    }
+
+}
@@ -1,24 +1,32 @@
 package br.com.duxusdesafio.response;
 
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
 
 public class TimeDaDataResponse {
 
     private LocalDate data;
-    private List<String> integrantes;
+    private List<IntegrantesDoTimeResponse> times;
 
-    public TimeDaDataResponse(LocalDate data, List<String> integrantes) {
+    public TimeDaDataResponse(LocalDate data, List<IntegrantesDoTimeResponse> times) {
         this.data = data;
-        this.integrantes = integrantes;
+        this.times = times;
     }
 
     public LocalDate getData() {
         return data;
     }
 
+    public List<IntegrantesDoTimeResponse> getTimes() {
+        return times;
+    }
+
+    /**
+     * Integrantes do primeiro time da data, mantidos para os clientes que esperam um único time.
+     */
     public List<String> getIntegrantes() {
-        return integrantes;
+        return times.isEmpty() ? Collections.emptyList() : times.get(0).getIntegrantes();
     }
 
 }
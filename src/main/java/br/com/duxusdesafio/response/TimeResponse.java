@@ -0,0 +1,61 @@
+package br.com.duxusdesafio.response;
+
+import br.com.duxusdesafio.dto.LinhaDeTime;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Time consultado por projeção, com os mesmos campos do JSON da entidade, montado a partir
+ * das linhas de uma consulta sem passar pelo contexto de persistência.
+ */
+public class TimeResponse {
+
+    private final long id;
+    private final LocalDate data;
+    private final List<ComposicaoTimeResponse> composicaoTime;
+
+    public TimeResponse(long id, LocalDate data, List<ComposicaoTimeResponse> composicaoTime) {
+        this.id = id;
+        this.data = data;
+        this.composicaoTime = Collections.unmodifiableList(composicaoTime);
+    }
+
+    /**
+     * Agrupa as linhas consecutivas de cada time, mantendo a ordem da consulta.
+     */
+    public static List<TimeResponse> agrupar(List<LinhaDeTime> linhas) {
+        Map<Long, TimeResponse> times = new LinkedHashMap<>();
+        Map<Long, List<ComposicaoTimeResponse>> composicoes = new LinkedHashMap<>();
+        for (LinhaDeTime linha : linhas) {
+            List<ComposicaoTimeResponse> composicoesDoTime = composicoes.get(linha.getIdTime());
+            if (composicoesDoTime == null) {
+                composicoesDoTime = new ArrayList<>();
+                composicoes.put(linha.getIdTime(), composicoesDoTime);
+                times.put(linha.getIdTime(), new TimeResponse(linha.getIdTime(), linha.getData(), composicoesDoTime));
+            }
+            if (linha.getIdComposicao() != null) {
+                IntegranteResponse integrante = new IntegranteResponse(linha.getIdIntegrante(), linha.getFranquia(),
+                        linha.getNome(), linha.getFuncao());
+                composicoesDoTime.add(new ComposicaoTimeResponse(linha.getIdComposicao(), integrante));
+            }
+        }
+        return new ArrayList<>(times.values());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public List<ComposicaoTimeResponse> getComposicaoTime() {
+        return composicaoTime;
+    }
+}
@@ -1,27 +1,95 @@
 package br.com.duxusdesafio.service;
 
+import br.com.duxusdesafio.analytics.AgregacaoColunar;
+import br.com.duxusdesafio.analytics.AgregadorParalelo;
+import br.com.duxusdesafio.analytics.AnaliseColunar;
+import br.com.duxusdesafio.analytics.CacheDeResultados;
+import br.com.duxusdesafio.analytics.ComposicoesColunares;
+import br.com.duxusdesafio.analytics.ContadorPorCodigo;
+import br.com.duxusdesafio.analytics.ContadorPorId;
+import br.com.duxusdesafio.analytics.Dicionario;
+import br.com.duxusdesafio.analytics.DicionarioIntegrantes;
+import br.com.duxusdesafio.analytics.FonteAnalitica;
+import br.com.duxusdesafio.analytics.MaioresContagens;
+import br.com.duxusdesafio.analytics.MetricaAnalitica;
+import br.com.duxusdesafio.analytics.ResumoSpaceSaving;
+import br.com.duxusdesafio.analytics.ResumosDeAparicoes;
+import br.com.duxusdesafio.dto.ContagemPorChave;
+import br.com.duxusdesafio.dto.ContagemPorIntegrante;
 import br.com.duxusdesafio.exceptions.DateNotFoundException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
 import br.com.duxusdesafio.exceptions.NullTimeException;
 import br.com.duxusdesafio.model.ComposicaoTime;
+import br.com.duxusdesafio.model.DimensaoEstatistica;
 import br.com.duxusdesafio.model.Integrante;
 import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.repository.IntegranteRepository;
+import br.com.duxusdesafio.repository.TimeRepository;
+import br.com.duxusdesafio.response.ContagemRankingResponse;
+import br.com.duxusdesafio.response.EstatisticasDoCacheResponse;
+import br.com.duxusdesafio.response.IntegranteAproximadoResponse;
+import br.com.duxusdesafio.response.IntegranteRankingResponse;
+import br.com.duxusdesafio.response.IntegrantesDoTimeResponse;
+import br.com.duxusdesafio.response.PainelResponse;
+import br.com.duxusdesafio.response.TimeDaDataResponse;
+import br.com.duxusdesafio.response.TimeResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Service que possuirá as regras de negócio para o processamento dos dados
  * solicitados no desafio!
  *
+ * Todas as consultas rodam em transações somente leitura, atendidas pela réplica quando configurada.
+ *
  * @author carlosau
  */
 @Service
+@Transactional(readOnly = true)
 public class ApiService {
 
+    @Autowired
+    private TimeService timeService;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private IntegranteRepository integranteRepository;
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Autowired
+    private DicionarioIntegrantes dicionarioIntegrantes;
+
+    @Autowired
+    private AnaliseColunar analiseColunar;
+
+    @Autowired
+    private AgregadorParalelo agregadorParalelo;
+
+    @Autowired
+    private ResumosDeAparicoes resumosDeAparicoes;
+
+    @Autowired
+    private CacheDeResultados cacheDeResultados;
+
+    @Value("${duxus.analytics.fonte:INDICE}")
+    private FonteAnalitica fonteAnalitica = FonteAnalitica.INDICE;
+
     public void validaData(LocalDate data) {
         if (data == null) {
             throw new DateNotFoundException("A data do time não pode ser nula ou anterior a 2024.");
@@ -46,6 +114,23 @@ public class ApiService {
         }
     }
 
+    /**
+     * Vai retornar todos os times da data com os nomes dos seus integrantes,
+     * buscados diretamente pela data em vez de percorrer todos os times.
+     */
+    public TimeDaDataResponse timesDaData(LocalDate data) {
+        validaData(data);
+        List<TimeResponse> times = TimeResponse.agrupar(timeRepository.listarLinhasDosTimesDaData(data));
+        if (times.isEmpty()) {
+            throw new DateNotFoundException("Data " + data + " não encontrada.");
+        }
+        return new TimeDaDataResponse(data, times.stream()
+                .map(time -> new IntegrantesDoTimeResponse(time.getId(), time.getComposicaoTime().stream()
+                        .map(composicao -> composicao.getIntegrante().getNome())
+                        .collect(Collectors.toList())))
+                .collect(Collectors.toList()));
+    }
+
     /**
      * Vai retornar uma lista com os nomes dos integrantes do time daquela data
      */
@@ -70,10 +155,10 @@ public class ApiService {
         List<Time> timesFiltrados = filtrarTimesPorPeriodo(dataInicial, dataFinal, todosOsTimes);
 
         // 2. Contar as aparições dos integrantes
-        Map<Integrante, Long> contadorDeAparicoes = contarAparicoes(timesFiltrados);
+        ContadorPorId contadorDeAparicoes = contarAparicoes(timesFiltrados);
 
         // 3. Encontrar o integrante mais usado
-        return encontrarIntegranteMaisUsado(contadorDeAparicoes);
+        return encontrarIntegranteMaisUsado(contadorDeAparicoes, timesFiltrados);
     }
 
     /**
@@ -101,20 +186,22 @@ public class ApiService {
 
     /**
      * Conta as aparições dos integrantes nos times filtrados.
+     * A contagem é feita pelo id do integrante em um contador de tipos primitivos,
+     * sem criar um Long por aparição nem calcular o hashCode da entidade.
      * Este método foi criado para simplificar o método 'integranteMaisUsado'
      * Seguindo o primeiro princípio do SOLID, Single Responsability Principle
      */
-    private Map<Integrante, Long> contarAparicoes(List<Time> timesFiltrados) {
+    private ContadorPorId contarAparicoes(List<Time> timesFiltrados) {
         validaTimesFiltrados(timesFiltrados);
 
-        Map<Integrante, Long> contadorDeAparicoes = timesFiltrados.stream()
-                .flatMap(time -> time.getComposicaoTime().stream())
-                .collect(Collectors.groupingBy(
-                        ComposicaoTime::getIntegrante,
-                        Collectors.counting()
-                ));
+        ContadorPorId contadorDeAparicoes = new ContadorPorId();
+        for (Time time : timesFiltrados) {
+            for (ComposicaoTime composicao : time.getComposicaoTime()) {
+                contadorDeAparicoes.incrementar(composicao.getIntegrante().getId());
+            }
+        }
 
-        if (contadorDeAparicoes.isEmpty()) {
+        if (contadorDeAparicoes.isVazio()) {
             throw new NotFoundException("Nenhum integrante encontrado na contagem de aparições.");
         }
 
@@ -123,17 +210,21 @@ public class ApiService {
 
     /**
      * Encontra o integrante mais usado com base na contagem de aparições.
+     * A entidade é procurada nos times apenas para o id vencedor.
      * Este método foi criado para simplificar o método 'integranteMaisUsado'
      * Seguindo o primeiro princípio do SOLID, Single Responsability Principle
      */
-    private Integrante encontrarIntegranteMaisUsado(Map<Integrante, Long> contadorDeAparicoes) {
-        if (contadorDeAparicoes == null || contadorDeAparicoes.isEmpty()) {
+    private Integrante encontrarIntegranteMaisUsado(ContadorPorId contadorDeAparicoes, List<Time> timesFiltrados) {
+        if (contadorDeAparicoes == null || contadorDeAparicoes.isVazio()) {
             throw new NotFoundException("Nenhuma aparição encontrada no mapa de contagem de aparições.");
         }
 
-        return contadorDeAparicoes.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
+        long idIntegranteMaisUsado = contadorDeAparicoes.chaveDeMaiorContagem();
+        return timesFiltrados.stream()
+                .flatMap(time -> time.getComposicaoTime().stream())
+                .map(ComposicaoTime::getIntegrante)
+                .filter(integrante -> integrante.getId() == idIntegranteMaisUsado)
+                .findFirst()
                 .orElseThrow(() -> new NotFoundException("Nenhum integrante encontrado após a verificação de aparições."));
     }
 
@@ -150,14 +241,22 @@ public class ApiService {
             throw new NotFoundException("Nenhum time encontrado no período especificado.");
         }
 
-        Time timeMaisComum = timesFiltrados.stream()
-                .collect(Collectors.groupingBy(time -> time, Collectors.counting()))
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
+        // times com os mesmos integrantes têm a mesma assinatura de composição
+        Map<String, List<Time>> timesPorAssinatura = timesFiltrados.stream()
+                .collect(Collectors.groupingBy(Time::assinaturaDaComposicao));
+
+        // em caso de empate vence a menor assinatura, como na consulta agrupada pelo banco
+        Time timeMaisComum = timesPorAssinatura.entrySet().stream()
+                .max(Comparator.comparingInt((Map.Entry<String, List<Time>> grupo) -> grupo.getValue().size())
+                        .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()))
+                .map(grupo -> grupo.getValue().get(0))
                 .orElseThrow(() -> new NotFoundException("Nenhum time mais comum encontrado."));
 
-        return timeMaisComum.getComposicaoTime().stream()
+        return nomesDosIntegrantes(timeMaisComum);
+    }
+
+    private List<String> nomesDosIntegrantes(Time time) {
+        return time.getComposicaoTime().stream()
                 .map(composicao -> composicao.getIntegrante().getNome())
                 .collect(Collectors.toList());
     }
@@ -170,14 +269,10 @@ public class ApiService {
         validaTimesFiltrados(timesFiltrados);
         validaData(dataInicial, dataFinal);
 
-        return timesFiltrados.stream()
-                .flatMap(time -> time.getComposicaoTime().stream())  // Obtém a composição de cada time
-                .map(composicao -> composicao.getIntegrante().getFuncao())  // Mapeia para a função do integrante
-                .collect(Collectors.groupingBy(funcao -> funcao, Collectors.counting()))  // Conta as ocorrências de cada função
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())  // Encontra a função mais comum
-                .map(Map.Entry::getKey)
-                .orElseThrow(() -> new NotFoundException("Nenhuma função comum encontrada no período especificado."));
+        Dicionario funcoes = dicionarioIntegrantes.getFuncoes();
+        ContadorPorCodigo contagemPorFuncao = contarPorCodigo(timesFiltrados, funcoes, Integrante::getFuncao);
+        return valorDeMaiorContagem(contagemPorFuncao, funcoes,
+                "Nenhuma função comum encontrada no período especificado.");
     }
 
     /**
@@ -188,18 +283,17 @@ public class ApiService {
         validaTimesFiltrados(timesFiltrados);
         validaData(dataInicial, dataFinal);
 
-        return timesFiltrados.stream()
-                .collect(Collectors.groupingBy(
-                        time -> time.getComposicaoTime().stream()
-                                .map(composicao -> composicao.getIntegrante().getFranquia())
-                                .findFirst()
-                                .orElseThrow(() -> new NotFoundException("Nenhuma franquia encontrada para esse time.")),
-                        Collectors.counting()
-                ))
-                .entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElseThrow(() -> new NotFoundException("Nenhuma franquia mais famosa encontrada no período especificado."));
+        Dicionario franquias = dicionarioIntegrantes.getFranquias();
+        ContadorPorCodigo timesPorFranquia = new ContadorPorCodigo(franquias.tamanho());
+        for (Time time : timesFiltrados) {
+            String franquia = time.getComposicaoTime().stream()
+                    .map(composicao -> composicao.getIntegrante().getFranquia())
+                    .findFirst()
+                    .orElseThrow(() -> new NotFoundException("Nenhuma franquia encontrada para esse time."));
+            timesPorFranquia.incrementar(franquias.codificar(franquia));
+        }
+        return valorDeMaiorContagem(timesPorFranquia, franquias,
+                "Nenhuma franquia mais famosa encontrada no período especificado.");
     }
 
 
@@ -211,12 +305,9 @@ public class ApiService {
         validaTimesFiltrados(timesFiltrados);
         validaData(dataInicial, dataFinal);
 
-        Map<String, Long> contagemPorFranquia = timesFiltrados.stream()
-                .flatMap(time -> time.getComposicaoTime().stream())
-                .collect(Collectors.groupingBy(
-                        composicao -> composicao.getIntegrante().getFranquia(),
-                        Collectors.counting()
-                ));
+        Dicionario franquias = dicionarioIntegrantes.getFranquias();
+        Map<String, Long> contagemPorFranquia =
+                contarPorCodigo(timesFiltrados, franquias, Integrante::getFranquia).decodificar(franquias);
 
         if (contagemPorFranquia.isEmpty()) {
             throw new NotFoundException("Nenhuma franquia encontrada no período especificado.");
@@ -233,12 +324,9 @@ public class ApiService {
         validaTimesFiltrados(timesFiltrados);
         validaData(dataInicial, dataFinal);
 
-        Map<String, Long> contagemPorFuncao = timesFiltrados.stream()
-                .flatMap(time -> time.getComposicaoTime().stream())
-                .collect(Collectors.groupingBy(
-                        composicao -> composicao.getIntegrante().getFuncao(),
-                        Collectors.counting()
-                ));
+        Dicionario funcoes = dicionarioIntegrantes.getFuncoes();
+        Map<String, Long> contagemPorFuncao =
+                contarPorCodigo(timesFiltrados, funcoes, Integrante::getFuncao).decodificar(funcoes);
 
         if (contagemPorFuncao.isEmpty()) {
             throw new NotFoundException("Nenhuma função encontrada no período especificado.");
@@ -247,4 +335,443 @@ public class ApiService {
         return contagemPorFuncao;
     }
 
+    /*
+     * Consultas por período.
+     * Obtêm os dados de acordo com a fonte configurada em duxus.analytics.fonte:
+     * os times do índice por data (INDICE), as contagens agrupadas pelo banco (SQL),
+     * as estatísticas diárias pré-calculadas (ESTATISTICAS) ou o instantâneo colunar (COLUNAR).
+     * Os resultados ficam no cache de resultados até uma escrita que possa alterá-los.
+     */
+
+    public Integrante integranteMaisUsado(LocalDate dataInicial, LocalDate dataFinal) {
+        validaData(dataInicial, dataFinal);
+        return cacheDeResultados.obter(MetricaAnalitica.INTEGRANTE_MAIS_USADO, dataInicial, dataFinal,
+                () -> calcularIntegranteMaisUsado(dataInicial, dataFinal),
+                integrante -> Collections.singleton(integrante.getId()));
+    }
+
+    private Integrante calcularIntegranteMaisUsado(LocalDate dataInicial, LocalDate dataFinal) {
+        if (fonteAnalitica == FonteAnalitica.SQL) {
+            List<ContagemPorIntegrante> contagens = integranteRepository
+                    .contarAparicoesNoPeriodo(dataInicial, dataFinal, PageRequest.of(0, 1));
+            if (contagens.isEmpty()) {
+                throw new NotFoundException("Nenhum integrante encontrado na contagem de aparições.");
+            }
+            return integranteRepository.findById(contagens.get(0).getIdIntegrante())
+                    .orElseThrow(() -> new NotFoundException("Nenhum integrante encontrado após a verificação de aparições."));
+        }
+        if (fonteAnalitica == FonteAnalitica.ESTATISTICAS) {
+            // as chaves são comparadas como números para desempatar pelo menor id, como nas demais fontes
+            MaioresContagens<Long> maisUsado = new MaioresContagens<>(1);
+            estatisticasNoPeriodo(DimensaoEstatistica.INTEGRANTE, dataInicial, dataFinal,
+                    "Nenhum integrante encontrado na contagem de aparições.")
+                    .forEach((idIntegrante, total) -> maisUsado.oferecer(Long.valueOf(idIntegrante), total));
+            return integranteRepository.findById(maisUsado.emOrdem().get(0).getChave())
+                    .orElseThrow(() -> new NotFoundException("Nenhum integrante encontrado após a verificação de aparições."));
+        }
+        if (fonteAnalitica == FonteAnalitica.COLUNAR) {
+            long idIntegrante = agregarColunas(composicoesColunares(), dataInicial, dataFinal)
+                    .getAparicoes().chaveDeMaiorContagem();
+            return integranteRepository.findById(idIntegrante)
+                    .orElseThrow(() -> new NotFoundException("Nenhum integrante encontrado após a verificação de aparições."));
+        }
+        return integranteMaisUsado(dataInicial, dataFinal, timeService.listarTimesPorPeriodo(dataInicial, dataFinal));
+    }
+
+    public List<String> timeMaisComum(LocalDate dataInicial, LocalDate dataFinal) {
+        validaData(dataInicial, dataFinal);
+        return cacheDeResultados.obter(MetricaAnalitica.TIME_MAIS_COMUM, dataInicial, dataFinal,
+                () -> calcularTimeMaisComum(dataInicial, dataFinal));
+    }
+
+    private List<String> calcularTimeMaisComum(LocalDate dataInicial, LocalDate dataFinal) {
+        if (fonteAnalitica == FonteAnalitica.ESTATISTICAS) {
+            String assinatura = chaveDeMaiorContagem(estatisticaService.contagemNoPeriodo(DimensaoEstatistica.COMPOSICAO,
+                    dataInicial, dataFinal), "Nenhum time encontrado no período especificado.");
+            return timeRepository.findFirstByAssinaturaAndDataBetweenOrderByDataAsc(assinatura, dataInicial, dataFinal)
+                    .map(this::nomesDosIntegrantes)
+                    .orElseThrow(() -> new NotFoundException("Nenhum time mais comum encontrado."));
+        }
+        if (fonteAnalitica == FonteAnalitica.SQL) {
+            List<ContagemPorChave> contagens = timeRepository
+                    .contarAssinaturasNoPeriodo(dataInicial, dataFinal, PageRequest.of(0, 1));
+            if (contagens.isEmpty()) {
+                throw new NotFoundException("Nenhum time encontrado no período especificado.");
+            }
+            return timeRepository
+                    .findFirstByAssinaturaAndDataBetweenOrderByDataAsc(contagens.get(0).getChave(), dataInicial, dataFinal)
+                    .map(this::nomesDosIntegrantes)
+                    .orElseThrow(() -> new NotFoundException("Nenhum time mais comum encontrado."));
+        }
+        if (fonteAnalitica == FonteAnalitica.COLUNAR) {
+            ComposicoesColunares colunas = composicoesColunares();
+            long assinatura = assinaturaMaisComum(agregarColunas(colunas, dataInicial, dataFinal));
+            return colunas.nomesDoTime(colunas.primeiroTimeComAssinatura(assinatura, dataInicial, dataFinal));
+        }
+        return timeMaisComum(dataInicial, dataFinal, timeService.listarTimesPorPeriodo(dataInicial, dataFinal));
+    }
+
+    public String funcaoMaisComum(LocalDate dataInicial, LocalDate dataFinal) {
+        validaData(dataInicial, dataFinal);
+        return cacheDeResultados.obter(MetricaAnalitica.FUNCAO_MAIS_COMUM, dataInicial, dataFinal,
+                () -> calcularFuncaoMaisComum(dataInicial, dataFinal));
+    }
+
+    private String calcularFuncaoMaisComum(LocalDate dataInicial, LocalDate dataFinal) {
+        if (fonteAnalitica == FonteAnalitica.SQL || fonteAnalitica == FonteAnalitica.ESTATISTICAS) {
+            return chaveDeMaiorContagem(contagemPorFuncao(dataInicial, dataFinal),
+                    "Nenhuma função comum encontrada no período especificado.");
+        }
+        if (fonteAnalitica == FonteAnalitica.COLUNAR) {
+            return valorDeMaiorContagem(agregarColunas(composicoesColunares(), dataInicial, dataFinal).getFuncoes(),
+                    dicionarioIntegrantes.getFuncoes(), "Nenhuma função comum encontrada no período especificado.");
+        }
+        return funcaoMaisComum(dataInicial, dataFinal, timeService.listarTimesPorPeriodo(dataInicial, dataFinal));
+    }
+
+    public String franquiaMaisFamosa(LocalDate dataInicial, LocalDate dataFinal) {
+        validaData(dataInicial, dataFinal);
+        return cacheDeResultados.obter(MetricaAnalitica.FRANQUIA_MAIS_FAMOSA, dataInicial, dataFinal,
+                () -> calcularFranquiaMaisFamosa(dataInicial, dataFinal));
+    }
+
+    private String calcularFranquiaMaisFamosa(LocalDate dataInicial, LocalDate dataFinal) {
+        if (fonteAnalitica == FonteAnalitica.COLUNAR) {
+            return valorDeMaiorContagem(agregarColunas(composicoesColunares(), dataInicial, dataFinal).getTimesPorFranquia(),
+                    dicionarioIntegrantes.getFranquias(), "Nenhuma franquia mais famosa encontrada no período especificado.");
+        }
+        return franquiaMaisFamosa(dataInicial, dataFinal, timeService.listarTimesPorPeriodo(dataInicial, dataFinal));
+    }
+
+    public Map<String, Long> contagemPorFranquia(LocalDate dataInicial, LocalDate dataFinal) {
+        validaData(dataInicial, dataFinal);
+        return cacheDeResultados.obter(MetricaAnalitica.CONTAGEM_POR_FRANQUIA, dataInicial, dataFinal,
+                () -> calcularContagemPorFranquia(dataInicial, dataFinal));
+    }
+
+    private Map<String, Long> calcularContagemPorFranquia(LocalDate dataInicial, LocalDate dataFinal) {
+        if (fonteAnalitica == FonteAnalitica.SQL) {
+            Map<String, Long> contagemPorFranquia = paraMapa(timeRepository.contarPorFranquiaNoPeriodo(dataInicial, dataFinal));
+            if (contagemPorFranquia.isEmpty()) {
+                throw new NotFoundException("Nenhuma franquia encontrada no período especificado.");
+            }
+            return contagemPorFranquia;
+        }
+        if (fonteAnalitica == FonteAnalitica.ESTATISTICAS) {
+            return estatisticasNoPeriodo(DimensaoEstatistica.FRANQUIA, dataInicial, dataFinal,
+                    "Nenhuma franquia encontrada no período especificado.");
+        }
+        if (fonteAnalitica == FonteAnalitica.COLUNAR) {
+            return agregarColunas(composicoesColunares(), dataInicial, dataFinal).getFranquias()
+                    .decodificar(dicionarioIntegrantes.getFranquias());
+        }
+        return contagemPorFranquia(dataInicial, dataFinal, timeService.listarTimesPorPeriodo(dataInicial, dataFinal));
+    }
+
+    public Map<String, Long> contagemPorFuncao(LocalDate dataInicial, LocalDate dataFinal) {
+        validaData(dataInicial, dataFinal);
+        return cacheDeResultados.obter(MetricaAnalitica.CONTAGEM_POR_FUNCAO, dataInicial, dataFinal,
+                () -> calcularContagemPorFuncao(dataInicial, dataFinal));
+    }
+
+    private Map<String, Long> calcularContagemPorFuncao(LocalDate dataInicial, LocalDate dataFinal) {
+        if (fonteAnalitica == FonteAnalitica.SQL) {
+            Map<String, Long> contagemPorFuncao = paraMapa(timeRepository.contarPorFuncaoNoPeriodo(dataInicial, dataFinal));
+            if (contagemPorFuncao.isEmpty()) {
+                throw new NotFoundException("Nenhuma função encontrada no período especificado.");
+            }
+            return contagemPorFuncao;
+        }
+        if (fonteAnalitica == FonteAnalitica.ESTATISTICAS) {
+            return estatisticasNoPeriodo(DimensaoEstatistica.FUNCAO, dataInicial, dataFinal,
+                    "Nenhuma função encontrada no período especificado.");
+        }
+        if (fonteAnalitica == FonteAnalitica.COLUNAR) {
+            return agregarColunas(composicoesColunares(), dataInicial, dataFinal).getFuncoes()
+                    .decodificar(dicionarioIntegrantes.getFuncoes());
+        }
+        return contagemPorFuncao(dataInicial, dataFinal, timeService.listarTimesPorPeriodo(dataInicial, dataFinal));
+    }
+
+    /*
+     * Rankings por período.
+     * Retornam as k maiores contagens em ordem decrescente; empates são desfeitos pelo id do integrante
+     * ou pelo nome da função/franquia, para que o resultado seja o mesmo em qualquer instância.
+     */
+
+    public List<IntegranteRankingResponse> topIntegrantes(LocalDate dataInicial, LocalDate dataFinal, int k) {
+        validaData(dataInicial, dataFinal);
+        MaioresContagens<Long> maiores = new MaioresContagens<>(k);
+        if (fonteAnalitica == FonteAnalitica.SQL) {
+            integranteRepository.contarAparicoesNoPeriodo(dataInicial, dataFinal, PageRequest.of(0, k))
+                    .forEach(contagem -> maiores.oferecer(contagem.getIdIntegrante(), contagem.getTotal()));
+        } else if (fonteAnalitica == FonteAnalitica.ESTATISTICAS) {
+            estatisticasNoPeriodo(DimensaoEstatistica.INTEGRANTE, dataInicial, dataFinal,
+                    "Nenhum integrante encontrado na contagem de aparições.")
+                    .forEach((idIntegrante, total) -> maiores.oferecer(Long.valueOf(idIntegrante), total));
+        } else if (fonteAnalitica == FonteAnalitica.COLUNAR) {
+            agregarColunas(composicoesColunares(), dataInicial, dataFinal).getAparicoes().paraCada(maiores::oferecer);
+        } else {
+            contarAparicoes(timeService.listarTimesPorPeriodo(dataInicial, dataFinal)).paraCada(maiores::oferecer);
+        }
+        if (maiores.isVazio()) {
+            throw new NotFoundException("Nenhum integrante encontrado na contagem de aparições.");
+        }
+
+        List<MaioresContagens.Posicao<Long>> posicoes = maiores.emOrdem();
+        Map<Long, Integrante> integrantesPorId = integrantesDasPosicoes(posicoes);
+        return posicoes.stream()
+                .filter(posicao -> integrantesPorId.containsKey(posicao.getChave()))
+                .map(posicao -> new IntegranteRankingResponse(integrantesPorId.get(posicao.getChave()), posicao.getTotal()))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, Integrante> integrantesDasPosicoes(List<MaioresContagens.Posicao<Long>> posicoes) {
+        Map<Long, Integrante> integrantesPorId = new HashMap<>();
+        integranteRepository.findAllById(posicoes.stream().map(MaioresContagens.Posicao::getChave).collect(Collectors.toList()))
+                .forEach(integrante -> integrantesPorId.put(integrante.getId(), integrante));
+        return integrantesPorId;
+    }
+
+    /*
+     * Consultas aproximadas.
+     * Usam os resumos Space-Saving das aparições, guardados por mês e por dia. Cada mês é calculado uma vez
+     * a partir das composições e cada dia avulso a partir das estatísticas diárias; depois disso as consultas
+     * só somam resumos em memória. Cada resultado informa quanto a contagem estimada pode exceder a real.
+     */
+
+    public IntegranteAproximadoResponse integranteMaisUsadoAproximado(LocalDate dataInicial, LocalDate dataFinal) {
+        List<IntegranteAproximadoResponse> ranking = topIntegrantesAproximado(dataInicial, dataFinal, 1);
+        if (ranking.isEmpty()) {
+            throw new NotFoundException("Nenhum integrante encontrado na contagem de aparições.");
+        }
+        return ranking.get(0);
+    }
+
+    public List<IntegranteAproximadoResponse> topIntegrantesAproximado(LocalDate dataInicial, LocalDate dataFinal, int k) {
+        validaData(dataInicial, dataFinal);
+        MaioresContagens<Long> maiores = new MaioresContagens<>(k);
+        ResumoSpaceSaving resumo = resumoDasAparicoes(dataInicial, dataFinal);
+        resumo.paraCada(maiores::oferecer);
+        if (maiores.isVazio()) {
+            throw new NotFoundException("Nenhum integrante encontrado na contagem de aparições.");
+        }
+
+        List<MaioresContagens.Posicao<Long>> posicoes = maiores.emOrdem();
+        Map<Long, Integrante> integrantesPorId = integrantesDasPosicoes(posicoes);
+        return posicoes.stream()
+                .filter(posicao -> integrantesPorId.containsKey(posicao.getChave()))
+                .map(posicao -> new IntegranteAproximadoResponse(integrantesPorId.get(posicao.getChave()),
+                        posicao.getTotal(), resumo.erro(posicao.getChave())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * O período é limitado às datas dos times cadastrados, para que janelas como "todo o histórico"
+     * não percorram meses sem times.
+     */
+    private ResumoSpaceSaving resumoDasAparicoes(LocalDate dataInicial, LocalDate dataFinal) {
+        LocalDate primeiraData = timeRepository.buscarPrimeiraData();
+        LocalDate ultimaData = timeRepository.buscarUltimaData();
+        if (primeiraData == null || ultimaData == null) {
+            throw new NotFoundException("Nenhum time encontrado no período especificado.");
+        }
+        LocalDate inicio = dataInicial.isBefore(primeiraData) ? primeiraData : dataInicial;
+        LocalDate fim = dataFinal.isAfter(ultimaData) ? ultimaData : dataFinal;
+        if (inicio.isAfter(fim)) {
+            throw new NotFoundException("Nenhum time encontrado no período especificado.");
+        }
+        return resumosDeAparicoes.resumir(inicio, fim, timeRepository::listarIdsDosIntegrantesNoPeriodo,
+                estatisticaService::aparicoesPorDia);
+    }
+
+    public List<ContagemRankingResponse> topFuncoes(LocalDate dataInicial, LocalDate dataFinal, int k) {
+        MaioresContagens<String> maiores = new MaioresContagens<>(k);
+        contagemPorFuncao(dataInicial, dataFinal).forEach(maiores::oferecer);
+        return ranking(maiores);
+    }
+
+    public List<ContagemRankingResponse> topFranquias(LocalDate dataInicial, LocalDate dataFinal, int k) {
+        MaioresContagens<String> maiores = new MaioresContagens<>(k);
+        contagemPorFranquia(dataInicial, dataFinal).forEach(maiores::oferecer);
+        return ranking(maiores);
+    }
+
+    private List<ContagemRankingResponse> ranking(MaioresContagens<String> maiores) {
+        return maiores.emOrdem().stream()
+                .map(posicao -> new ContagemRankingResponse(posicao.getChave(), posicao.getTotal()))
+                .collect(Collectors.toList());
+    }
+
+    public EstatisticasDoCacheResponse estatisticasDoCache() {
+        return cacheDeResultados.estatisticas();
+    }
+
+    /**
+     * Vai retornar todas as estatísticas do período de uma só vez.
+     * Os times são carregados e filtrados uma única vez e as composições
+     * são percorridas em uma única passagem para calcular os seis resultados.
+     */
+    public PainelResponse painel(LocalDate dataInicial, LocalDate dataFinal) {
+        validaData(dataInicial, dataFinal);
+        return cacheDeResultados.obter(MetricaAnalitica.PAINEL, dataInicial, dataFinal,
+                () -> calcularPainel(dataInicial, dataFinal),
+                painel -> Collections.singleton(painel.getIntegranteMaisUsado().getId()));
+    }
+
+    private PainelResponse calcularPainel(LocalDate dataInicial, LocalDate dataFinal) {
+        if (fonteAnalitica == FonteAnalitica.COLUNAR) {
+            return painelColunar(dataInicial, dataFinal);
+        }
+        return painel(dataInicial, dataFinal, timeService.listarTimesPorPeriodo(dataInicial, dataFinal));
+    }
+
+    public PainelResponse painel(LocalDate dataInicial, LocalDate dataFinal, List<Time> todosOsTimes) {
+        List<Time> timesFiltrados = filtrarTimesPorPeriodo(dataInicial, dataFinal, todosOsTimes);
+
+        ContadorPorId contadorDeAparicoes = new ContadorPorId();
+        Map<String, Long> contagemPorAssinatura = new HashMap<>();
+        Map<String, Time> timePorAssinatura = new HashMap<>();
+        Dicionario funcoes = dicionarioIntegrantes.getFuncoes();
+        Dicionario franquias = dicionarioIntegrantes.getFranquias();
+        ContadorPorCodigo contagemPorFranquia = new ContadorPorCodigo(franquias.tamanho());
+        ContadorPorCodigo contagemPorFuncao = new ContadorPorCodigo(funcoes.tamanho());
+        ContadorPorCodigo timesPorFranquia = new ContadorPorCodigo(franquias.tamanho());
+
+        for (Time time : timesFiltrados) {
+            String assinatura = time.assinaturaDaComposicao();
+            contagemPorAssinatura.merge(assinatura, 1L, Long::sum);
+            timePorAssinatura.putIfAbsent(assinatura, time);
+            boolean primeiraComposicao = true;
+            for (ComposicaoTime composicao : time.getComposicaoTime()) {
+                Integrante integrante = composicao.getIntegrante();
+                contadorDeAparicoes.incrementar(integrante.getId());
+                int codigoDaFranquia = franquias.codificar(integrante.getFranquia());
+                contagemPorFranquia.incrementar(codigoDaFranquia);
+                contagemPorFuncao.incrementar(funcoes.codificar(integrante.getFuncao()));
+                // a franquia do time é a do seu primeiro integrante, como em 'franquiaMaisFamosa'
+                if (primeiraComposicao) {
+                    timesPorFranquia.incrementar(codigoDaFranquia);
+                    primeiraComposicao = false;
+                }
+            }
+        }
+
+        if (contadorDeAparicoes.isVazio()) {
+            throw new NotFoundException("Nenhum integrante encontrado na contagem de aparições.");
+        }
+
+        Time timeMaisComum = timePorAssinatura.get(
+                chaveDeMaiorContagem(contagemPorAssinatura, "Nenhum time mais comum encontrado."));
+
+        return new PainelResponse(
+                dataInicial,
+                dataFinal,
+                encontrarIntegranteMaisUsado(contadorDeAparicoes, timesFiltrados),
+                nomesDosIntegrantes(timeMaisComum),
+                valorDeMaiorContagem(contagemPorFuncao, funcoes, "Nenhuma função comum encontrada no período especificado."),
+                valorDeMaiorContagem(timesPorFranquia, franquias, "Nenhuma franquia mais famosa encontrada no período especificado."),
+                contagemPorFranquia.decodificar(franquias),
+                contagemPorFuncao.decodificar(funcoes));
+    }
+
+    /**
+     * Conta as composições dos times pelo código do atributo do integrante no dicionário,
+     * convertendo para texto apenas no resultado final.
+     */
+    private ContadorPorCodigo contarPorCodigo(List<Time> times, Dicionario dicionario,
+                                              Function<Integrante, String> atributo) {
+        ContadorPorCodigo contador = new ContadorPorCodigo(dicionario.tamanho());
+        for (Time time : times) {
+            for (ComposicaoTime composicao : time.getComposicaoTime()) {
+                contador.incrementar(dicionario.codificar(atributo.apply(composicao.getIntegrante())));
+            }
+        }
+        return contador;
+    }
+
+    private String valorDeMaiorContagem(ContadorPorCodigo contador, Dicionario dicionario,
+                                        String mensagemNaoEncontrado) {
+        // o desempate é pelo valor e não pelo código, que depende da ordem de cadastro em cada instância
+        return chaveDeMaiorContagem(contador.decodificar(dicionario), mensagemNaoEncontrado);
+    }
+
+    private PainelResponse painelColunar(LocalDate dataInicial, LocalDate dataFinal) {
+        ComposicoesColunares colunas = composicoesColunares();
+        AgregacaoColunar agregacao = agregarColunas(colunas, dataInicial, dataFinal);
+        Dicionario funcoes = dicionarioIntegrantes.getFuncoes();
+        Dicionario franquias = dicionarioIntegrantes.getFranquias();
+
+        long assinatura = assinaturaMaisComum(agregacao);
+        Integrante integranteMaisUsado = integranteRepository.findById(agregacao.getAparicoes().chaveDeMaiorContagem())
+                .orElseThrow(() -> new NotFoundException("Nenhum integrante encontrado após a verificação de aparições."));
+
+        return new PainelResponse(
+                dataInicial,
+                dataFinal,
+                integranteMaisUsado,
+                colunas.nomesDoTime(colunas.primeiroTimeComAssinatura(assinatura, dataInicial, dataFinal)),
+                valorDeMaiorContagem(agregacao.getFuncoes(), funcoes, "Nenhuma função comum encontrada no período especificado."),
+                valorDeMaiorContagem(agregacao.getTimesPorFranquia(), franquias, "Nenhuma franquia mais famosa encontrada no período especificado."),
+                agregacao.getFranquias().decodificar(franquias),
+                agregacao.getFuncoes().decodificar(funcoes));
+    }
+
+    /**
+     * Instantâneo colunar atual, montado a partir do banco caso tenha sido descartado.
+     */
+    private ComposicoesColunares composicoesColunares() {
+        return analiseColunar.obter(() -> ComposicoesColunares.construir(
+                timeRepository.listarLinhasDeComposicao(), dicionarioIntegrantes));
+    }
+
+    /**
+     * Assinatura de maior contagem; em caso de empate, a menor assinatura sem sinal,
+     * que corresponde à menor assinatura em hexadecimal usada pelas demais fontes.
+     */
+    private long assinaturaMaisComum(AgregacaoColunar agregacao) {
+        long[] maisComum = {0L, 0L};
+        agregacao.getAssinaturas().paraCada((assinatura, total) -> {
+            if (total > maisComum[1] || (total == maisComum[1] && Long.compareUnsigned(assinatura, maisComum[0]) < 0)) {
+                maisComum[0] = assinatura;
+                maisComum[1] = total;
+            }
+        });
+        return maisComum[0];
+    }
+
+    private AgregacaoColunar agregarColunas(ComposicoesColunares colunas, LocalDate dataInicial, LocalDate dataFinal) {
+        AgregacaoColunar agregacao = agregadorParalelo.agregar(colunas, dataInicial, dataFinal);
+        if (agregacao.getQuantidadeDeTimes() == 0) {
+            throw new NotFoundException("Nenhum time encontrado no período especificado.");
+        }
+        return agregacao;
+    }
+
+    /**
+     * Chave de maior contagem; em caso de empate, a menor chave.
+     */
+    private <T extends Comparable<? super T>> T chaveDeMaiorContagem(Map<T, Long> contagem, String mensagemNaoEncontrado) {
+        if (contagem.isEmpty()) {
+            throw new NotFoundException(mensagemNaoEncontrado);
+        }
+        MaioresContagens<T> maior = new MaioresContagens<>(1);
+        contagem.forEach(maior::oferecer);
+        return maior.emOrdem().get(0).getChave();
+    }
+
+    private Map<String, Long> estatisticasNoPeriodo(DimensaoEstatistica dimensao, LocalDate dataInicial,
+                                                    LocalDate dataFinal, String mensagemNaoEncontrado) {
+        Map<String, Long> contagem = estatisticaService.contagemNoPeriodo(dimensao, dataInicial, dataFinal);
+        if (contagem.isEmpty()) {
+            throw new NotFoundException(mensagemNaoEncontrado);
+        }
+        return contagem;
+    }
+
+    private Map<String, Long> paraMapa(List<ContagemPorChave> contagens) {
+        return contagens.stream()
+                .collect(Collectors.toMap(ContagemPorChave::getChave, ContagemPorChave::getTotal));
+    }
+
 }
@@ -0,0 +1,360 @@
+package br.com.duxusdesafio.service;
+
+import br.com.duxusdesafio.analytics.ConsolidacaoMensal;
+import br.com.duxusdesafio.analytics.ContagensAcumuladas;
+import br.com.duxusdesafio.component.AposConfirmacao;
+import br.com.duxusdesafio.dto.ContagemPorChave;
+import br.com.duxusdesafio.model.ComposicaoTime;
+import br.com.duxusdesafio.model.DimensaoEstatistica;
+import br.com.duxusdesafio.model.EstatisticaDiaria;
+import br.com.duxusdesafio.model.EstatisticaMensal;
+import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.repository.EstatisticaDiariaRepository;
+import br.com.duxusdesafio.repository.EstatisticaMensalRepository;
+import br.com.duxusdesafio.repository.TimeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém as estatísticas diárias (aparições por integrante, função e franquia e times por
+ * composição) atualizadas a cada escrita de times, para que as consultas por período somem
+ * contagens já calculadas em vez de percorrer os times e suas composições.
+ *
+ * As estatísticas mensais são gravadas apenas pela compactação, que roda periodicamente e
+ * refaz os meses alterados desde a execução anterior.
+ */
+@Service
+public class EstatisticaService {
+
+    @Autowired
+    private EstatisticaDiariaRepository estatisticaDiariaRepository;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Autowired
+    private EstatisticaMensalRepository estatisticaMensalRepository;
+
+    @Autowired
+    private ContagensAcumuladas contagensAcumuladas;
+
+    @Autowired
+    private ConsolidacaoMensal consolidacaoMensal;
+
+    /**
+     * Soma as aparições dos integrantes do time às estatísticas do dia do time.
+     */
+    @Transactional
+    public void registrarTime(Time time) {
+        Map<ChaveEstatistica, Long> variacoes = new LinkedHashMap<>();
+        contar(variacoes, time.getData(), integrantesDo(time), 1);
+        aplicar(variacoes);
+    }
+
+    /**
+     * Soma as aparições de vários times de uma vez: cada combinação de dia, dimensão e chave
+     * é lida e gravada uma única vez, qualquer que seja a quantidade de times.
+     */
+    @Transactional
+    public void registrarTimes(Collection<Time> times) {
+        Map<ChaveEstatistica, Long> variacoes = new LinkedHashMap<>();
+        for (Time time : times) {
+            contar(variacoes, time.getData(), integrantesDo(time), 1);
+        }
+        aplicar(variacoes);
+    }
+
+    /**
+     * Desconta as aparições dos integrantes do time das estatísticas do dia do time.
+     */
+    @Transactional
+    public void removerTime(Time time) {
+        Map<ChaveEstatistica, Long> variacoes = new LinkedHashMap<>();
+        contar(variacoes, time.getData(), integrantesDo(time), -1);
+        aplicar(variacoes);
+    }
+
+    /**
+     * Aplica apenas a diferença entre a composição anterior e a composição atual do time.
+     * Integrantes que permaneceram no time na mesma data não geram escrita.
+     */
+    @Transactional
+    public void registrarAlteracaoDeTime(LocalDate dataAnterior, List<Integrante> integrantesAnteriores, Time timeAtualizado) {
+        Map<ChaveEstatistica, Long> variacoes = new LinkedHashMap<>();
+        contar(variacoes, dataAnterior, integrantesAnteriores, -1);
+        contar(variacoes, timeAtualizado.getData(), integrantesDo(timeAtualizado), 1);
+        aplicar(variacoes);
+    }
+
+    /**
+     * Move as aparições do integrante entre funções e franquias quando esses dados mudam.
+     * As aparições por dia do integrante vêm da própria dimensão INTEGRANTE.
+     */
+    @Transactional
+    public void registrarAlteracaoDeIntegrante(String funcaoAnterior, String franquiaAnterior, Integrante integranteAtualizado) {
+        boolean funcaoAlterada = !Objects.equals(funcaoAnterior, integranteAtualizado.getFuncao());
+        boolean franquiaAlterada = !Objects.equals(franquiaAnterior, integranteAtualizado.getFranquia());
+        if (!funcaoAlterada && !franquiaAlterada) {
+            return;
+        }
+
+        Map<ChaveEstatistica, Long> variacoes = new LinkedHashMap<>();
+        List<EstatisticaDiaria> aparicoes = estatisticaDiariaRepository
+                .findByDimensaoAndChave(DimensaoEstatistica.INTEGRANTE, String.valueOf(integranteAtualizado.getId()));
+        for (EstatisticaDiaria aparicao : aparicoes) {
+            if (funcaoAlterada) {
+                somar(variacoes, aparicao.getData(), DimensaoEstatistica.FUNCAO, funcaoAnterior, -aparicao.getTotal());
+                somar(variacoes, aparicao.getData(), DimensaoEstatistica.FUNCAO, integranteAtualizado.getFuncao(), aparicao.getTotal());
+            }
+            if (franquiaAlterada) {
+                somar(variacoes, aparicao.getData(), DimensaoEstatistica.FRANQUIA, franquiaAnterior, -aparicao.getTotal());
+                somar(variacoes, aparicao.getData(), DimensaoEstatistica.FRANQUIA, integranteAtualizado.getFranquia(), aparicao.getTotal());
+            }
+        }
+        aplicar(variacoes);
+    }
+
+    /**
+     * Retorna o total por chave da dimensão dentro do período.
+     * Função e franquia, de baixa cardinalidade, são respondidas pelas somas acumuladas em memória;
+     * integrantes e composições são somados pelo banco, com os meses inteiros já compactados lidos
+     * das estatísticas mensais e os dias das pontas e dos meses pendentes das estatísticas diárias.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> contagemNoPeriodo(DimensaoEstatistica dimensao, LocalDate dataInicial, LocalDate dataFinal) {
+        if (dimensao == DimensaoEstatistica.FUNCAO || dimensao == DimensaoEstatistica.FRANQUIA) {
+            return contagensAcumuladas.contagemNoPeriodo(dimensao, dataInicial, dataFinal,
+                    () -> estatisticaDiariaRepository.findByDimensao(dimensao));
+        }
+
+        Map<String, Long> contagem = new HashMap<>();
+        for (Trecho trecho : dividirEmTrechos(dataInicial, dataFinal)) {
+            List<ContagemPorChave> parciais = trecho.mensal
+                    ? estatisticaMensalRepository.somarPorChaveNoPeriodo(dimensao, trecho.inicio, trecho.fim.withDayOfMonth(1))
+                    : estatisticaDiariaRepository.somarPorChaveNoPeriodo(dimensao, trecho.inicio, trecho.fim);
+            parciais.forEach(parcial -> contagem.merge(parcial.getChave(), parcial.getTotal(), Long::sum));
+        }
+        return contagem;
+    }
+
+    /**
+     * Aparições de cada integrante por dia dentro do período, como gravadas nas estatísticas diárias.
+     */
+    @Transactional(readOnly = true)
+    public List<EstatisticaDiaria> aparicoesPorDia(LocalDate dataInicial, LocalDate dataFinal) {
+        return estatisticaDiariaRepository.findByDimensaoAndDataBetween(DimensaoEstatistica.INTEGRANTE, dataInicial, dataFinal);
+    }
+
+    /**
+     * Regrava as estatísticas mensais a partir das diárias. A primeira execução desde a subida da
+     * aplicação refaz todos os meses; as seguintes apenas os meses alterados desde então.
+     */
+    @Scheduled(initialDelayString = "${duxus.estatisticas.compactacao.atraso-inicial-ms:60000}",
+            fixedDelayString = "${duxus.estatisticas.compactacao.intervalo-ms:600000}")
+    @Transactional
+    public void compactar() {
+        Map<YearMonth, Long> pendentes = consolidacaoMensal.getPendentes();
+        if (!consolidacaoMensal.isConsolidado()) {
+            compactarTudo(pendentes, estatisticaDiariaRepository.findAll());
+            return;
+        }
+        for (YearMonth mes : pendentes.keySet()) {
+            estatisticaMensalRepository.excluirDoMes(mes.atDay(1));
+            estatisticaMensalRepository.saveAll(somarPorMes(
+                    estatisticaDiariaRepository.findByDataBetween(mes.atDay(1), mes.atEndOfMonth())));
+        }
+        AposConfirmacao.executar(() -> consolidacaoMensal.concluir(pendentes, false));
+    }
+
+    /**
+     * Descarta as estatísticas diárias e mensais e as recalcula a partir de todos os times cadastrados.
+     */
+    @Transactional
+    public void reconstruir() {
+        Map<YearMonth, Long> pendentes = consolidacaoMensal.getPendentes();
+        estatisticaDiariaRepository.deleteAllInBatch();
+
+        Map<ChaveEstatistica, Long> contagens = new LinkedHashMap<>();
+        for (Time time : timeRepository.findAllComComposicao()) {
+            contar(contagens, time.getData(), integrantesDo(time), 1);
+        }
+
+        List<EstatisticaDiaria> estatisticas = new ArrayList<>(contagens.size());
+        contagens.forEach((chave, total) ->
+                estatisticas.add(new EstatisticaDiaria(chave.data, chave.dimensao, chave.chave, total)));
+        estatisticaDiariaRepository.saveAll(estatisticas);
+        AposConfirmacao.executar(contagensAcumuladas::invalidar);
+        compactarTudo(pendentes, estatisticas);
+    }
+
+    /**
+     * Na primeira execução com times já cadastrados as estatísticas ainda não existem e são calculadas.
+     * Bases anteriores à dimensão COMPOSICAO também são recalculadas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void inicializar() {
+        if (timeRepository.count() > 0 && !estatisticaDiariaRepository.existsByDimensao(DimensaoEstatistica.COMPOSICAO)) {
+            reconstruir();
+        }
+    }
+
+    private List<Integrante> integrantesDo(Time time) {
+        if (time.getComposicaoTime() == null) {
+            return Collections.emptyList();
+        }
+        return time.getComposicaoTime().stream()
+                .map(ComposicaoTime::getIntegrante)
+                .collect(Collectors.toList());
+    }
+
+    private void contar(Map<ChaveEstatistica, Long> variacoes, LocalDate data, List<Integrante> integrantes, long sinal) {
+        for (Integrante integrante : integrantes) {
+            somar(variacoes, data, DimensaoEstatistica.INTEGRANTE, String.valueOf(integrante.getId()), sinal);
+            somar(variacoes, data, DimensaoEstatistica.FUNCAO, integrante.getFuncao(), sinal);
+            somar(variacoes, data, DimensaoEstatistica.FRANQUIA, integrante.getFranquia(), sinal);
+        }
+        List<Long> idsIntegrantes = integrantes.stream().map(Integrante::getId).collect(Collectors.toList());
+        somar(variacoes, data, DimensaoEstatistica.COMPOSICAO, Time.calcularAssinatura(idsIntegrantes), sinal);
+    }
+
+    private void somar(Map<ChaveEstatistica, Long> variacoes, LocalDate data, DimensaoEstatistica dimensao, String chave, long valor) {
+        variacoes.merge(new ChaveEstatistica(data, dimensao, chave), valor, Long::sum);
+    }
+
+    /**
+     * Aplica as variações com comandos atômicos no banco, para que escritas concorrentes na mesma data
+     * não percam atualizações nem falhem ao inserir a mesma linha.
+     */
+    private void aplicar(Map<ChaveEstatistica, Long> variacoes) {
+        Map<ChaveEstatistica, Long> variacoesAplicadas = new LinkedHashMap<>();
+        variacoes.forEach((chave, variacao) -> {
+            if (variacao == 0 || !aplicarVariacao(chave, variacao)) {
+                return;
+            }
+            consolidacaoMensal.marcarPendente(chave.data);
+            if (chave.dimensao == DimensaoEstatistica.FUNCAO || chave.dimensao == DimensaoEstatistica.FRANQUIA) {
+                variacoesAplicadas.put(chave, variacao);
+            }
+        });
+
+        if (!variacoesAplicadas.isEmpty()) {
+            long versaoDaEscrita = contagensAcumuladas.iniciarEscrita();
+            AposConfirmacao.executar(() -> variacoesAplicadas.forEach((chave, variacao) ->
+                    contagensAcumuladas.somar(versaoDaEscrita, chave.dimensao, chave.chave, chave.data, variacao)));
+        }
+    }
+
+    private boolean aplicarVariacao(ChaveEstatistica chave, long variacao) {
+        if (estatisticaDiariaRepository.somarAoTotal(chave.data, chave.dimensao, chave.chave, variacao) == 0) {
+            if (variacao < 0) {
+                return false;
+            }
+            if (estatisticaDiariaRepository.inserirSeAusente(chave.data, chave.dimensao.name(), chave.chave, variacao) == 0) {
+                // inserida por uma transação concorrente depois do update
+                estatisticaDiariaRepository.somarAoTotal(chave.data, chave.dimensao, chave.chave, variacao);
+            }
+        }
+        if (variacao < 0) {
+            estatisticaDiariaRepository.removerSemAparicoes(chave.data, chave.dimensao, chave.chave);
+        }
+        return true;
+    }
+
+    private void compactarTudo(Map<YearMonth, Long> pendentes, Collection<EstatisticaDiaria> estatisticas) {
+        estatisticaMensalRepository.deleteAllInBatch();
+        estatisticaMensalRepository.saveAll(somarPorMes(estatisticas));
+        AposConfirmacao.executar(() -> consolidacaoMensal.concluir(pendentes, true));
+    }
+
+    private List<EstatisticaMensal> somarPorMes(Collection<EstatisticaDiaria> estatisticas) {
+        Map<ChaveEstatistica, Long> totais = new LinkedHashMap<>();
+        for (EstatisticaDiaria estatistica : estatisticas) {
+            somar(totais, estatistica.getData().withDayOfMonth(1), estatistica.getDimensao(), estatistica.getChave(),
+                    estatistica.getTotal());
+        }
+        List<EstatisticaMensal> mensais = new ArrayList<>(totais.size());
+        totais.forEach((chave, total) -> mensais.add(new EstatisticaMensal(chave.data, chave.dimensao, chave.chave, total)));
+        return mensais;
+    }
+
+    /**
+     * Divide o período em trechos consecutivos: meses inteiros já compactados são lidos das
+     * estatísticas mensais e o restante (dias das pontas e meses pendentes) das diárias.
+     */
+    List<Trecho> dividirEmTrechos(LocalDate dataInicial, LocalDate dataFinal) {
+        List<Trecho> trechos = new ArrayList<>();
+        LocalDate inicio = dataInicial;
+        while (!inicio.isAfter(dataFinal)) {
+            YearMonth mes = YearMonth.from(inicio);
+            LocalDate fimDoMes = mes.atEndOfMonth();
+            boolean mensal = inicio.getDayOfMonth() == 1 && !fimDoMes.isAfter(dataFinal) && consolidacaoMensal.podeUsar(mes);
+            LocalDate fim = fimDoMes.isAfter(dataFinal) ? dataFinal : fimDoMes;
+
+            Trecho anterior = trechos.isEmpty() ? null : trechos.get(trechos.size() - 1);
+            if (anterior != null && anterior.mensal == mensal) {
+                anterior.fim = fim;
+            } else {
+                trechos.add(new Trecho(inicio, fim, mensal));
+            }
+            inicio = fim.plusDays(1);
+        }
+        return trechos;
+    }
+
+    static final class Trecho {
+
+        final LocalDate inicio;
+        LocalDate fim;
+        final boolean mensal;
+
+        Trecho(LocalDate inicio, LocalDate fim, boolean mensal) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.mensal = mensal;
+        }
+    }
+
+    private static final class ChaveEstatistica {
+
+        private final LocalDate data;
+        private final DimensaoEstatistica dimensao;
+        private final String chave;
+
+        private ChaveEstatistica(LocalDate data, DimensaoEstatistica dimensao, String chave) {
+            this.data = data;
+            this.dimensao = dimensao;
+            this.chave = chave;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ChaveEstatistica)) return false;
+            ChaveEstatistica that = (ChaveEstatistica) o;
+            return Objects.equals(data, that.data) && dimensao == that.dimensao && Objects.equals(chave, that.chave);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(data, dimensao, chave);
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package br.com.duxusdesafio.service;
 
+import br.com.duxusdesafio.analytics.AnaliseColunar;
+import br.com.duxusdesafio.analytics.CacheDeResultados;
+import br.com.duxusdesafio.analytics.DicionarioIntegrantes;
+import br.com.duxusdesafio.analytics.IndiceTimesPorData;
+import br.com.duxusdesafio.component.LimiteDePaginacao;
+import br.com.duxusdesafio.component.VersaoDosDados;
 import br.com.duxusdesafio.dto.IntegranteDto;
 import br.com.duxusdesafio.exceptions.IntegranteException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
@@ -7,11 +13,33 @@ import br.com.duxusdesafio.exceptions.NullIntegranteException;
 import br.com.duxusdesafio.model.Integrante;
 import br.com.duxusdesafio.repository.IntegranteRepository;
 import br.com.duxusdesafio.repository.TimeRepository;
+import br.com.duxusdesafio.response.ImportacaoResponse;
+import br.com.duxusdesafio.response.IntegranteResponse;
+import br.com.duxusdesafio.response.PaginaResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class IntegranteService {
@@ -22,6 +50,40 @@ public class IntegranteService {
     @Autowired
     private TimeRepository timeRepository;
 
+    @Autowired
+    private IndiceTimesPorData indiceTimesPorData;
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Autowired
+    private DicionarioIntegrantes dicionarioIntegrantes;
+
+    @Autowired
+    private AnaliseColunar analiseColunar;
+
+    @Autowired
+    private CacheDeResultados cacheDeResultados;
+
+    @Autowired
+    private VersaoDosDados versaoDosDados;
+
+    @Autowired
+    private LimiteDePaginacao limiteDePaginacao;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${duxus.integrantes.importacao.linhas-por-transacao:1000}")
+    private int linhasPorTransacao = 1000;
+
+    private static final String CABECALHO_CSV = "franquia,nome,funcao";
+
+    private static final int TAMANHO_MAXIMO_DO_CAMPO = 255;
+
     public void validaIntegrantes(List<Integrante> integrantes) {
         if (integrantes == null || integrantes.isEmpty()) {
             throw new NullIntegranteException("A lista de integrantes é nula");
@@ -34,38 +96,252 @@ public class IntegranteService {
         integrante.setNome(integranteDto.getNome());
         integrante.setFuncao(integranteDto.getFuncao());
 
-        return integranteRepository.save(integrante);
+        dicionarioIntegrantes.registrar(integrante);
+        Integrante integranteSalvo = integranteRepository.save(integrante);
+        versaoDosDados.registrarEscrita();
+        return integranteSalvo;
+    }
+
+    /**
+     * Importa integrantes de um CSV com as colunas franquia, nome e funcao, lido linha a linha
+     * sem carregar o arquivo inteiro. As linhas válidas são gravadas em transações de até
+     * linhasPorTransacao linhas; linhas inválidas ou de um lote que falhe são informadas na resposta.
+     * Com atualizarExistentes, a linha cujo nome já está cadastrado atualiza esse integrante.
+     */
+    public ImportacaoResponse importarIntegrantes(InputStream csv, boolean atualizarExistentes) throws IOException {
+        long inicio = System.currentTimeMillis();
+        ImportacaoResponse resposta = new ImportacaoResponse();
+        Map<Integer, Integrante> lote = new LinkedHashMap<>();
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+
+        String linha;
+        int numeroDaLinha = 0;
+        while ((linha = leitor.readLine()) != null) {
+            numeroDaLinha++;
+            if (numeroDaLinha == 1) {
+                linha = linha.replace("\uFEFF", "");
+                if (linha.replace(" ", "").equalsIgnoreCase(CABECALHO_CSV)) {
+                    continue;
+                }
+            }
+            if (linha.trim().isEmpty()) {
+                continue;
+            }
+            resposta.contarLinha();
+            try {
+                lote.put(numeroDaLinha, lerIntegrante(linha));
+            } catch (IllegalArgumentException e) {
+                resposta.adicionarErro(numeroDaLinha, e.getMessage());
+                continue;
+            }
+            if (lote.size() == linhasPorTransacao) {
+                gravarImportacao(lote, atualizarExistentes, resposta);
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarImportacao(lote, atualizarExistentes, resposta);
+        }
+        resposta.concluir(System.currentTimeMillis() - inicio);
+        return resposta;
+    }
+
+    private Integrante lerIntegrante(String linha) {
+        List<String> campos = separarCampos(linha);
+        if (campos.size() != 3) {
+            throw new IllegalArgumentException("A linha deve ter as colunas franquia, nome e funcao.");
+        }
+        for (String campo : campos) {
+            if (campo.isEmpty()) {
+                throw new IllegalArgumentException("Franquia, nome e função não podem ser vazios.");
+            }
+            if (campo.length() > TAMANHO_MAXIMO_DO_CAMPO) {
+                throw new IllegalArgumentException("Os campos devem ter no máximo " + TAMANHO_MAXIMO_DO_CAMPO + " caracteres.");
+            }
+        }
+        return new Integrante(campos.get(0), campos.get(1), campos.get(2), null);
+    }
+
+    /**
+     * Separa os campos de uma linha CSV. Campos entre aspas podem conter vírgulas e aspas duplicadas;
+     * campos que ocupam mais de uma linha não são aceitos.
+     */
+    static List<String> separarCampos(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char caractere = linha.charAt(i);
+            if (entreAspas) {
+                if (caractere == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (caractere == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(caractere);
+                }
+            } else if (caractere == '"') {
+                entreAspas = true;
+            } else if (caractere == ',') {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else {
+                campo.append(caractere);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha.");
+        }
+        campos.add(campo.toString().trim());
+        return campos;
     }
 
+    /**
+     * Grava um lote da importação em uma transação. Os novos integrantes vão em batches JDBC no flush; os já
+     * cadastrados, buscados por nome em uma única consulta, são atualizados com os mesmos efeitos
+     * de atualizarIntegrante sobre as estatísticas e o cache. Só contam como atualizados os já cadastrados
+     * que mudaram; um nome repetido no próprio lote conta como repetido e prevalece a última linha.
+     */
+    private void gravarImportacao(Map<Integer, Integrante> lote, boolean atualizarExistentes, ImportacaoResponse resposta) {
+        boolean[] houveAtualizacao = {false};
+        try {
+            long[] gravados = transactionTemplate.execute(status -> {
+                Map<String, Integrante> porNome = new HashMap<>();
+                if (atualizarExistentes) {
+                    Set<String> nomes = lote.values().stream().map(Integrante::getNome).collect(Collectors.toSet());
+                    integranteRepository.findByNomeIn(nomes).forEach(existente ->
+                            porNome.merge(existente.getNome(), existente, (a, b) -> a.getId() <= b.getId() ? a : b));
+                }
+
+                List<Integrante> novos = new ArrayList<>();
+                Set<String> nomesDoLote = new HashSet<>();
+                Set<Long> idsAlterados = new HashSet<>();
+                long encontrados = 0;
+                long repetidos = 0;
+                for (Integrante lido : lote.values()) {
+                    boolean repetido = atualizarExistentes && !nomesDoLote.add(lido.getNome());
+                    if (repetido) {
+                        repetidos++;
+                    }
+                    Integrante existente = porNome.get(lido.getNome());
+                    if (existente == null) {
+                        novos.add(lido);
+                        if (atualizarExistentes) {
+                            porNome.put(lido.getNome(), lido);
+                        }
+                    } else {
+                        if (!repetido) {
+                            encontrados++;
+                        }
+                        if (atualizarComImportacao(existente, lido)) {
+                            houveAtualizacao[0] = true;
+                            idsAlterados.add(existente.getId());
+                        }
+                    }
+                }
+
+                novos.forEach(dicionarioIntegrantes::registrar);
+                integranteRepository.saveAll(novos);
+                entityManager.flush();
+                entityManager.clear();
+                versaoDosDados.registrarEscrita();
+                return new long[]{novos.size(), idsAlterados.size(), encontrados - idsAlterados.size(), repetidos};
+            });
+            resposta.somarGravados(gravados[0], gravados[1], gravados[2], gravados[3]);
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            lote.keySet().forEach(linha -> resposta.adicionarErro(linha, "Falha ao gravar o lote: " + e.getMessage()));
+        } finally {
+            if (houveAtualizacao[0]) {
+                analiseColunar.invalidar();
+            }
+            lote.clear();
+        }
+    }
+
+    /**
+     * Copia a função e a franquia da linha importada para o integrante com o mesmo nome. Retorna se
+     * um integrante já gravado mudou; um integrante repetido no próprio lote ainda não foi gravado.
+     */
+    private boolean atualizarComImportacao(Integrante existente, Integrante lido) {
+        String funcaoAnterior = existente.getFuncao();
+        String franquiaAnterior = existente.getFranquia();
+        existente.setFuncao(lido.getFuncao());
+        existente.setFranquia(lido.getFranquia());
+
+        boolean funcaoAlterada = !Objects.equals(funcaoAnterior, lido.getFuncao());
+        boolean franquiaAlterada = !Objects.equals(franquiaAnterior, lido.getFranquia());
+        if (existente.getId() == 0 || (!funcaoAlterada && !franquiaAlterada)) {
+            return false;
+        }
+        dicionarioIntegrantes.registrar(existente);
+        estatisticaService.registrarAlteracaoDeIntegrante(funcaoAnterior, franquiaAnterior, existente);
+        indiceTimesPorData.atualizarIntegrante(existente);
+        cacheDeResultados.invalidarIntegrante(existente.getId(), false, funcaoAlterada, franquiaAlterada);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
     public List<Integrante> listarIntegrantes() {
         List<Integrante> integrantes = integranteRepository.findAll();
         validaIntegrantes(integrantes);
-        return integranteRepository.findAll();
+        return integrantes;
+    }
+
+    /**
+     * Lista os integrantes em páginas ordenadas por id, a partir do cursor devolvido pela página anterior.
+     */
+    @Transactional(readOnly = true)
+    public PaginaResponse<Integrante> listarIntegrantesPaginados(Long cursor, Integer tamanho) {
+        int tamanhoDaPagina = limiteDePaginacao.tamanhoDaPagina(tamanho);
+        List<Integrante> integrantes = integranteRepository.findByIdGreaterThanOrderByIdAsc(
+                limiteDePaginacao.cursorInicial(cursor), PageRequest.of(0, tamanhoDaPagina + 1));
+        return PaginaResponse.de(integrantes, tamanhoDaPagina, Integrante::getId);
     }
 
-    public Optional<Integrante> buscarIntegrantePorId(Long id) {
+    /**
+     * Consulta o integrante por projeção direta na resposta, sem carregar a entidade.
+     */
+    @Transactional(readOnly = true)
+    public Optional<IntegranteResponse> buscarIntegrantePorId(Long id) {
         if (id == null) {
             throw new NullIntegranteException("O id do integrante é nulo");
         }
-        return integranteRepository.findById(id);
+        return integranteRepository.buscarResumoPorId(id);
     }
 
+    @Transactional
     public Integrante atualizarIntegrante(Long id, IntegranteDto integranteDto) {
         Integrante integrante = integranteRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Integrante não encontrado"));
+        String nomeAnterior = integrante.getNome();
+        String funcaoAnterior = integrante.getFuncao();
+        String franquiaAnterior = integrante.getFranquia();
 
         integrante.setFranquia(integranteDto.getFranquia());
         integrante.setNome(integranteDto.getNome());
         integrante.setFuncao(integranteDto.getFuncao());
 
-        return integranteRepository.save(integrante);
+        dicionarioIntegrantes.registrar(integrante);
+        Integrante integranteAtualizado = integranteRepository.save(integrante);
+        estatisticaService.registrarAlteracaoDeIntegrante(funcaoAnterior, franquiaAnterior, integranteAtualizado);
+        // os times do índice e o instantâneo colunar guardam os dados antigos do integrante
+        indiceTimesPorData.atualizarIntegrante(integranteAtualizado);
+        analiseColunar.invalidar();
+        cacheDeResultados.invalidarIntegrante(id, !Objects.equals(nomeAnterior, integranteDto.getNome()),
+                !Objects.equals(funcaoAnterior, integranteDto.getFuncao()),
+                !Objects.equals(franquiaAnterior, integranteDto.getFranquia()));
+        versaoDosDados.registrarEscrita();
+        return integranteAtualizado;
     }
 
+    @Transactional
     public String deletarIntegrante(Long id) {
         if (!integranteRepository.existsById(id)) {
             throw new NotFoundException("Integrante não encontrado");
         }
         integranteRepository.deleteById(id);
+        versaoDosDados.registrarEscrita();
         return "Integrante deletado com sucesso!";
     }
 
@@ -1,5 +1,12 @@
 package br.com.duxusdesafio.service;
 
+import br.com.duxusdesafio.analytics.AnaliseColunar;
+import br.com.duxusdesafio.analytics.CacheDeResultados;
+import br.com.duxusdesafio.analytics.IndiceTimesPorData;
+import br.com.duxusdesafio.analytics.ResumosDeAparicoes;
+import br.com.duxusdesafio.component.LimiteDePaginacao;
+import br.com.duxusdesafio.component.VersaoDosDados;
+import br.com.duxusdesafio.dto.TimeDto;
 import br.com.duxusdesafio.exceptions.DateNotFoundException;
 import br.com.duxusdesafio.exceptions.IntegranteException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
@@ -9,12 +16,35 @@ import br.com.duxusdesafio.model.Integrante;
 import br.com.duxusdesafio.model.Time;
 import br.com.duxusdesafio.repository.IntegranteRepository;
 import br.com.duxusdesafio.repository.TimeRepository;
+import br.com.duxusdesafio.response.CadastroEmLoteResponse;
+import br.com.duxusdesafio.response.PaginaResponse;
+import br.com.duxusdesafio.response.TimeResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TimeService {
@@ -25,14 +55,57 @@ public class TimeService {
     @Autowired
     private TimeRepository timeRepository;
 
+    @Autowired
+    private IndiceTimesPorData indiceTimesPorData;
+
+    @Autowired
+    private EstatisticaService estatisticaService;
+
+    @Autowired
+    private AnaliseColunar analiseColunar;
+
+    @Autowired
+    private ResumosDeAparicoes resumosDeAparicoes;
+
+    @Autowired
+    private CacheDeResultados cacheDeResultados;
+
+    @Autowired
+    private VersaoDosDados versaoDosDados;
+
+    @Autowired
+    private LimiteDePaginacao limiteDePaginacao;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${duxus.times.lote.times-por-transacao:500}")
+    private int timesPorTransacao = 500;
+
+    @Value("${duxus.times.lote.maximo-por-requisicao:50000}")
+    private int maximoPorRequisicao = 50000;
+
     private static final LocalDate DATA_DE_HOJE = LocalDate.now();
 
+    /**
+     * Times escritos entre cada limpeza do contexto de persistência na exportação. Igual ao
+     * hibernate.default_batch_fetch_size para que as composições de um lote venham em uma consulta.
+     */
+    private static final int TIMES_POR_LOTE_DE_EXPORTACAO = 100;
+
     public void validaData(LocalDate data) {
         if (data == null || data.isBefore(DATA_DE_HOJE)) {
             throw new DateNotFoundException("A data do time não pode ser nula ou anterior a data de hoje.");
         }
     }
 
+    @Transactional
     public Time cadastrarTime(LocalDate data, List<Long> idsIntegrantes) {
         validaData(data);
 
@@ -54,23 +127,221 @@ public class TimeService {
                 .collect(Collectors.toList());
 
         time.setComposicaoTime(composicoes);
+        time.setAssinatura(Time.calcularAssinatura(idsDos(integrantes)));
+
+        Time timeSalvo = timeRepository.save(time);
+        estatisticaService.registrarTime(timeSalvo);
+        indiceTimesPorData.adicionar(timeSalvo);
+        analiseColunar.invalidar();
+        resumosDeAparicoes.registrar(time.getData(), idsDos(integrantes));
+        cacheDeResultados.invalidarData(time.getData());
+        versaoDosDados.registrarEscrita();
+        return timeSalvo;
+    }
+
+    /**
+     * Cadastra vários times validando todos os ids de integrantes em uma única consulta. Os times válidos
+     * são gravados em transações de até timesPorTransacao times; um item inválido ou um lote que falhe
+     * ao gravar é informado na resposta sem interromper os demais.
+     */
+    public CadastroEmLoteResponse cadastrarTimesEmLote(List<TimeDto> times) {
+        if (times == null || times.isEmpty()) {
+            throw new IllegalArgumentException("A lista de times não pode ser nula ou vazia.");
+        }
+        if (times.size() > maximoPorRequisicao) {
+            throw new IllegalArgumentException("Envie no máximo " + maximoPorRequisicao + " times por requisição.");
+        }
+
+        Set<Long> idsInformados = times.stream()
+                .filter(Objects::nonNull)
+                .filter(time -> time.getIdsIntegrantes() != null)
+                .flatMap(time -> time.getIdsIntegrantes().stream())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        // em uma transação de escrita, para que a consulta vá à primária e não a uma réplica atrasada
+        Map<Long, Integrante> integrantesPorId = transactionTemplate.execute(status ->
+                integranteRepository.findAllById(idsInformados).stream()
+                        .collect(Collectors.toMap(Integrante::getId, Function.identity())));
 
-        return timeRepository.save(time);
+        CadastroEmLoteResponse resposta = new CadastroEmLoteResponse(times.size());
+        List<Integer> indices = new ArrayList<>(timesPorTransacao);
+        List<List<Integrante>> integrantesDosTimes = new ArrayList<>(timesPorTransacao);
+        for (int indice = 0; indice < times.size(); indice++) {
+            TimeDto time = times.get(indice);
+            String erro = validarItemDoLote(time, integrantesPorId);
+            if (erro != null) {
+                resposta.adicionarErro(indice, erro);
+                continue;
+            }
+            indices.add(indice);
+            integrantesDosTimes.add(time.getIdsIntegrantes().stream()
+                    .map(integrantesPorId::get)
+                    .collect(Collectors.toList()));
+            if (indices.size() == timesPorTransacao) {
+                gravarLote(times, indices, integrantesDosTimes, resposta);
+            }
+        }
+        if (!indices.isEmpty()) {
+            gravarLote(times, indices, integrantesDosTimes, resposta);
+        }
+        return resposta;
+    }
+
+    private String validarItemDoLote(TimeDto time, Map<Long, Integrante> integrantesPorId) {
+        if (time == null || time.getData() == null || time.getData().isBefore(DATA_DE_HOJE)) {
+            return "A data do time não pode ser nula ou anterior a data de hoje.";
+        }
+        List<Long> ids = time.getIdsIntegrantes();
+        if (ids == null || ids.isEmpty()) {
+            return "A lista de IDs de integrantes não pode ser nula ou vazia.";
+        }
+        if (!integrantesPorId.keySet().containsAll(ids) || new HashSet<>(ids).size() != ids.size()) {
+            return "Um ou mais IDs de integrantes são inválidos.";
+        }
+        return null;
+    }
+
+    /**
+     * Grava um lote em uma transação. Com ids de sequência pooled, as inserções dos times e das
+     * composições vão ao banco em batches JDBC no flush.
+     */
+    private void gravarLote(List<TimeDto> times, List<Integer> indices, List<List<Integrante>> integrantesDosTimes,
+                            CadastroEmLoteResponse resposta) {
+        List<Time> lote = new ArrayList<>(indices.size());
+        for (int i = 0; i < indices.size(); i++) {
+            Time time = new Time();
+            time.setData(times.get(indices.get(i)).getData());
+            time.setComposicaoTime(integrantesDosTimes.get(i).stream()
+                    .map(integrante -> new ComposicaoTime(time, integrante))
+                    .collect(Collectors.toList()));
+            time.setAssinatura(Time.calcularAssinatura(idsDos(integrantesDosTimes.get(i))));
+            lote.add(time);
+        }
+        try {
+            transactionTemplate.execute(status -> {
+                timeRepository.saveAll(lote);
+                estatisticaService.registrarTimes(lote);
+                for (int i = 0; i < lote.size(); i++) {
+                    resumosDeAparicoes.registrar(lote.get(i).getData(), idsDos(integrantesDosTimes.get(i)));
+                }
+                lote.stream().map(Time::getData).distinct().forEach(cacheDeResultados::invalidarData);
+                versaoDosDados.registrarEscrita();
+                entityManager.flush();
+                entityManager.clear();
+                return null;
+            });
+            lote.forEach(time -> resposta.adicionarCadastrado(time.getId()));
+            lote.forEach(indiceTimesPorData::adicionar);
+            analiseColunar.invalidar();
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            indices.forEach(indice -> resposta.adicionarErro(indice, "Falha ao gravar o lote: " + e.getMessage()));
+        } finally {
+            indices.clear();
+            integrantesDosTimes.clear();
+        }
     }
 
-    public List<Time> listarTodosOsTimes() {
-        List<Time> times = timeRepository.findAll();
+    /**
+     * Lê os times com as composições e os integrantes em uma única consulta por projeção,
+     * montando as respostas sem carregar entidades nem registrá-las no contexto de persistência.
+     */
+    @Transactional(readOnly = true)
+    public List<TimeResponse> listarTodosOsTimes() {
+        List<TimeResponse> times = TimeResponse.agrupar(timeRepository.listarLinhasDosTimes());
         if (times.isEmpty()) {
             throw new NotFoundException("Nenhum time encontrado.");
         }
         return times;
     }
 
+    /**
+     * Lista os times em páginas ordenadas por id, a partir do cursor devolvido pela página anterior.
+     * Busca primeiro os ids da página e depois os times com as composições, em duas consultas por página.
+     */
+    @Transactional(readOnly = true)
+    public PaginaResponse<Time> listarTimesPaginados(Long cursor, Integer tamanho) {
+        int tamanhoDaPagina = limiteDePaginacao.tamanhoDaPagina(tamanho);
+        List<Long> ids = timeRepository.listarIdsAposCursor(limiteDePaginacao.cursorInicial(cursor),
+                PageRequest.of(0, tamanhoDaPagina + 1));
+        if (ids.isEmpty()) {
+            return new PaginaResponse<>(Collections.emptyList(), null);
+        }
+        PaginaResponse<Long> paginaDeIds = PaginaResponse.de(ids, tamanhoDaPagina, id -> id);
+        List<Time> times = timeRepository.findAllComComposicaoPorIds(paginaDeIds.getItens());
+        return new PaginaResponse<>(times, paginaDeIds.getProximoCursor());
+    }
+
+    /**
+     * Escreve todos os times com os integrantes em JSON, um por linha, à medida que são lidos do banco.
+     * Os times de cada lote são desanexados depois de escritos, então a memória usada não cresce
+     * com a quantidade de times.
+     */
+    @Transactional(readOnly = true)
+    public long exportarTimes(OutputStream saida) throws IOException {
+        long exportados = 0;
+        List<Time> lote = new ArrayList<>(TIMES_POR_LOTE_DE_EXPORTACAO);
+        try (Stream<Time> times = timeRepository.streamTodosOrdenadosPorId()) {
+            Iterator<Time> iterador = times.iterator();
+            while (iterador.hasNext()) {
+                lote.add(iterador.next());
+                if (lote.size() == TIMES_POR_LOTE_DE_EXPORTACAO) {
+                    exportados += escreverLote(lote, saida);
+                }
+            }
+        }
+        exportados += escreverLote(lote, saida);
+        saida.flush();
+        return exportados;
+    }
+
+    private int escreverLote(List<Time> lote, OutputStream saida) throws IOException {
+        for (Time time : lote) {
+            saida.write(objectMapper.writeValueAsBytes(time));
+            saida.write('\n');
+        }
+        int escritos = lote.size();
+        lote.clear();
+        entityManager.clear();
+        return escritos;
+    }
+
+    /**
+     * Retorna apenas os times do período, consultando o índice ordenado por data
+     * em vez de carregar e filtrar todos os times.
+     */
+    @Transactional(readOnly = true)
+    public List<Time> listarTimesPorPeriodo(LocalDate dataInicial, LocalDate dataFinal) {
+        if (dataInicial == null || dataFinal == null) {
+            throw new DateNotFoundException("As datas de início e fim não podem ser nulas.");
+        }
+        indiceTimesPorData.carregarSeNecessario(() -> timeRepository.findAllComComposicao());
+
+        List<Time> times = indiceTimesPorData.buscarPorPeriodo(dataInicial, dataFinal);
+        if (times.isEmpty()) {
+            throw new NotFoundException("Nenhum time encontrado no período especificado.");
+        }
+        return times;
+    }
+
+    /**
+     * Consulta o time por projeção para as leituras; atualização e exclusão usam buscarTimePorId.
+     */
+    @Transactional(readOnly = true)
+    public TimeResponse consultarTime(Long id) {
+        List<TimeResponse> times = TimeResponse.agrupar(timeRepository.listarLinhasDoTime(id));
+        if (times.isEmpty()) {
+            throw new NotFoundException("Time não encontrado com o ID: " + id);
+        }
+        return times.get(0);
+    }
+
     public Time buscarTimePorId(Long id) {
         return timeRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Time não encontrado com o ID: " + id));
     }
 
+    @Transactional
     public Time atualizarTime(Long id, LocalDate data, List<Long> idsIntegrantes) {
         if (data == null) {
             throw new NullTimeException("A data do time não pode ser nula.");
@@ -80,24 +351,89 @@ public class TimeService {
         }
 
         Time timeExistente = buscarTimePorId(id);
-        timeExistente.setData(data);
-
+        LocalDate dataAnterior = timeExistente.getData();
+        List<Integrante> integrantesAnteriores = timeExistente.getComposicaoTime() == null
+                ? Collections.emptyList()
+                : timeExistente.getComposicaoTime().stream()
+                        .map(ComposicaoTime::getIntegrante)
+                        .collect(Collectors.toList());
         List<Integrante> integrantes = integranteRepository.findAllById(idsIntegrantes);
         if (integrantes.size() != idsIntegrantes.size()) {
             throw new IntegranteException("Um ou mais IDs de integrantes são inválidos.");
         }
 
-        List<ComposicaoTime> composicoes = integrantes.stream()
-                .map(integrante -> new ComposicaoTime(timeExistente, integrante))
-                .collect(Collectors.toList());
-
-        timeExistente.setComposicaoTime(composicoes);
+        boolean composicaoAlterada = aplicarDiferencaDaComposicao(timeExistente, idsIntegrantes, integrantes);
+        if (!composicaoAlterada && data.equals(dataAnterior)) {
+            return timeExistente;
+        }
+        timeExistente.setData(data);
+        timeExistente.setAssinatura(Time.calcularAssinatura(idsDos(integrantes)));
 
-        return timeRepository.save(timeExistente);
+        Time timeAtualizado = timeRepository.save(timeExistente);
+        estatisticaService.registrarAlteracaoDeTime(dataAnterior, integrantesAnteriores, timeAtualizado);
+        indiceTimesPorData.remover(timeAtualizado.getId(), dataAnterior);
+        indiceTimesPorData.adicionar(timeAtualizado);
+        analiseColunar.invalidar();
+        resumosDeAparicoes.invalidar(dataAnterior);
+        resumosDeAparicoes.invalidar(data);
+        cacheDeResultados.invalidarData(dataAnterior);
+        cacheDeResultados.invalidarData(data);
+        versaoDosDados.registrarEscrita();
+        return timeAtualizado;
     }
 
+    @Transactional
     public void deletarTime(Long id) throws NotFoundException{
         Time time = buscarTimePorId(id);
+        estatisticaService.removerTime(time);
         timeRepository.delete(time);
+        indiceTimesPorData.remover(time.getId(), time.getData());
+        analiseColunar.invalidar();
+        resumosDeAparicoes.invalidar(time.getData());
+        cacheDeResultados.invalidarData(time.getData());
+        versaoDosDados.registrarEscrita();
+    }
+
+    /**
+     * Altera a composição do time no lugar: remove apenas os integrantes que saíram e inclui apenas os
+     * que entraram, para que o flush gere um delete e um insert por integrante trocado, e nenhum
+     * comando para os que permaneceram. Retorna se houve alguma mudança.
+     */
+    private boolean aplicarDiferencaDaComposicao(Time time, List<Long> idsIntegrantes, List<Integrante> integrantes) {
+        if (time.getComposicaoTime() == null) {
+            time.setComposicaoTime(new ArrayList<>());
+        }
+        List<ComposicaoTime> composicao = time.getComposicaoTime();
+        Set<Long> idsDesejados = new HashSet<>(idsIntegrantes);
+        Set<Long> idsAtuais = composicao.stream()
+                .map(composicaoTime -> composicaoTime.getIntegrante().getId())
+                .collect(Collectors.toSet());
+
+        boolean removeu = composicao.removeIf(composicaoTime -> !idsDesejados.contains(composicaoTime.getIntegrante().getId()));
+        boolean incluiu = false;
+        for (Integrante integrante : integrantes) {
+            if (!idsAtuais.contains(integrante.getId())) {
+                composicao.add(new ComposicaoTime(time, integrante));
+                incluiu = true;
+            }
+        }
+        return removeu || incluiu;
+    }
+
+    /**
+     * Times cadastrados antes da existência da assinatura da composição a recebem na inicialização.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void preencherAssinaturasPendentes() {
+        for (Time time : timeRepository.findByAssinaturaIsNull()) {
+            time.setAssinatura(time.assinaturaDaComposicao());
+        }
+    }
+
+    private List<Long> idsDos(List<Integrante> integrantes) {
+        return integrantes.stream()
+                .map(Integrante::getId)
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,27 @@
+-- Troca dos ids IDENTITY/serial de time, integrante e composicao_time pelas sequências usadas
+-- pelo Hibernate com alocação em blocos de 50 (otimizador pooled), o que permite inserções em batch.
+--
+-- Execute uma vez no banco existente (PostgreSQL) antes de gravar pela nova versão. Bancos novos não
+-- precisam: o ddl-auto cria as sequências. Pode ser executado de novo sem efeito colateral.
+
+CREATE SEQUENCE IF NOT EXISTS time_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS integrante_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS composicao_time_seq INCREMENT BY 50;
+
+ALTER SEQUENCE time_seq INCREMENT BY 50;
+ALTER SEQUENCE integrante_seq INCREMENT BY 50;
+ALTER SEQUENCE composicao_time_seq INCREMENT BY 50;
+
+-- o próximo bloco entregue pelas sequências começa depois do maior id já gravado
+SELECT setval('time_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM time));
+SELECT setval('integrante_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM integrante));
+SELECT setval('composicao_time_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM composicao_time));
+
+-- os ids passam a ser informados pelo Hibernate; remove a geração pela coluna
+ALTER TABLE time ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE integrante ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE composicao_time ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE time ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE integrante ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE composicao_time ALTER COLUMN id DROP DEFAULT;
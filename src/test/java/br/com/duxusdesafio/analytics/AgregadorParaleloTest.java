@@ -0,0 +1,96 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.dto.LinhaDeComposicao;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class AgregadorParaleloTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2020, 1, 1);
+
+    private static final String[] FUNCOES = {"Mago", "Suporte", "Atirador", "Tanque"};
+
+    private static final String[] FRANQUIAS = {"Franquia A", "Franquia B", "Franquia C"};
+
+    private final DicionarioIntegrantes dicionario = new DicionarioIntegrantes();
+
+    private final AgregadorParalelo agregador = new AgregadorParalelo();
+
+    @AfterEach
+    void encerrar() {
+        agregador.encerrar();
+    }
+
+    private ComposicoesColunares aleatorias(int quantidadeDeTimes) {
+        Random random = new Random(7);
+        List<LinhaDeComposicao> linhas = new ArrayList<>();
+        for (int time = 0; time < quantidadeDeTimes; time++) {
+            LocalDate data = INICIO.plusDays(time / 3);
+            long idTime = time + 1;
+            for (int i = 0; i < 3; i++) {
+                long idIntegrante = 1 + random.nextInt(40);
+                String funcao = FUNCOES[(int) (idIntegrante % FUNCOES.length)];
+                String franquia = FRANQUIAS[(int) (idIntegrante % FRANQUIAS.length)];
+                linhas.add(new LinhaDeComposicao() {
+                    public LocalDate getData() { return data; }
+                    public Long getIdTime() { return idTime; }
+                    public Long getIdIntegrante() { return idIntegrante; }
+                    public String getNome() { return "Integrante " + idIntegrante; }
+                    public String getFuncao() { return funcao; }
+                    public String getFranquia() { return franquia; }
+                });
+            }
+        }
+        return ComposicoesColunares.construir(linhas, dicionario);
+    }
+
+    private void assertMesmaAgregacao(AgregacaoColunar esperada, AgregacaoColunar obtida) {
+        Assertions.assertEquals(esperada.getQuantidadeDeTimes(), obtida.getQuantidadeDeTimes());
+        Assertions.assertEquals(esperada.getAparicoes().toString(), obtida.getAparicoes().toString());
+        Assertions.assertEquals(esperada.getAparicoes().chaveDeMaiorContagem(), obtida.getAparicoes().chaveDeMaiorContagem());
+        Assertions.assertEquals(esperada.getAssinaturas().chaveDeMaiorContagem(), obtida.getAssinaturas().chaveDeMaiorContagem());
+        Assertions.assertEquals(esperada.getFuncoes().decodificar(dicionario.getFuncoes()),
+                obtida.getFuncoes().decodificar(dicionario.getFuncoes()));
+        Assertions.assertEquals(esperada.getFranquias().decodificar(dicionario.getFranquias()),
+                obtida.getFranquias().decodificar(dicionario.getFranquias()));
+        Assertions.assertEquals(esperada.getTimesPorFranquia().decodificar(dicionario.getFranquias()),
+                obtida.getTimesPorFranquia().decodificar(dicionario.getFranquias()));
+    }
+
+    @Test
+    void deveProduzirOMesmoResultadoQueAAgregacaoSequencial() {
+        ReflectionTestUtils.setField(agregador, "diasMinimos", 30);
+        ReflectionTestUtils.setField(agregador, "timesPorParte", 50);
+        ReflectionTestUtils.setField(agregador, "threads", 4);
+        ComposicoesColunares colunas = aleatorias(3000);
+        LocalDate dataInicial = INICIO.plusDays(10);
+        LocalDate dataFinal = INICIO.plusDays(900);
+
+        Assertions.assertTrue(agregador.deveParalelizar(dataInicial, dataFinal, 2000));
+        assertMesmaAgregacao(colunas.agregar(dataInicial, dataFinal), agregador.agregar(colunas, dataInicial, dataFinal));
+    }
+
+    @Test
+    void deveManterPeriodosCurtosNaAgregacaoSequencial() {
+        ReflectionTestUtils.setField(agregador, "diasMinimos", 30);
+        ReflectionTestUtils.setField(agregador, "timesPorParte", 10);
+
+        Assertions.assertFalse(agregador.deveParalelizar(INICIO, INICIO.plusDays(28), 1000));
+        Assertions.assertTrue(agregador.deveParalelizar(INICIO, INICIO.plusDays(29), 1000));
+        Assertions.assertFalse(agregador.deveParalelizar(INICIO, INICIO.plusDays(29), 10));
+    }
+
+    @Test
+    void naoDeveParalelizarQuandoDesativado() {
+        ReflectionTestUtils.setField(agregador, "diasMinimos", 0);
+
+        Assertions.assertFalse(agregador.deveParalelizar(INICIO, INICIO.plusYears(10), 100000));
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.duxusdesafio.analytics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+public class AnaliseColunarTest {
+
+    private final AnaliseColunar analiseColunar = new AnaliseColunar();
+
+    private ComposicoesColunares vazio() {
+        return ComposicoesColunares.construir(Collections.emptyList(), new DicionarioIntegrantes());
+    }
+
+    @Test
+    void deveReaproveitarOInstantaneoAteSerInvalidado() {
+        ComposicoesColunares primeiro = analiseColunar.obter(this::vazio);
+
+        Assertions.assertSame(primeiro, analiseColunar.obter(this::vazio));
+
+        analiseColunar.invalidar();
+
+        Assertions.assertFalse(analiseColunar.isCarregado());
+        Assertions.assertNotSame(primeiro, analiseColunar.obter(this::vazio));
+    }
+
+    @Test
+    void naoDeveGuardarInstantaneoInvalidadoDuranteAConstrucao() {
+        ComposicoesColunares obsoleto = analiseColunar.obter(() -> {
+            analiseColunar.invalidar();
+            return vazio();
+        });
+
+        Assertions.assertNotNull(obsoleto);
+        Assertions.assertFalse(analiseColunar.isCarregado());
+    }
+}
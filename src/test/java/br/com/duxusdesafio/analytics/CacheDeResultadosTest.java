@@ -0,0 +1,100 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.response.EstatisticasDoCacheResponse;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CacheDeResultadosTest {
+
+    private final LocalDate outubro = LocalDate.of(2024, 10, 1);
+    private final LocalDate novembro = LocalDate.of(2024, 11, 1);
+    private final LocalDate dezembro = LocalDate.of(2024, 12, 1);
+
+    @Test
+    void deveCalcularApenasNaPrimeiraConsulta() {
+        CacheDeResultados cache = new CacheDeResultados();
+        AtomicInteger calculos = new AtomicInteger();
+
+        cache.obter(MetricaAnalitica.FUNCAO_MAIS_COMUM, outubro, novembro, () -> "Atacante" + calculos.incrementAndGet());
+        String resultado = cache.obter(MetricaAnalitica.FUNCAO_MAIS_COMUM, outubro, novembro,
+                () -> "Atacante" + calculos.incrementAndGet());
+
+        Assertions.assertEquals("Atacante1", resultado);
+        EstatisticasDoCacheResponse estatisticas = cache.estatisticas();
+        Assertions.assertEquals(1, estatisticas.getAcertos());
+        Assertions.assertEquals(1, estatisticas.getFalhas());
+        Assertions.assertEquals(1, estatisticas.getEntradas().get(0).getAcertos());
+    }
+
+    @Test
+    void deveDescartarApenasAsEntradasCujoPeriodoContemAData() {
+        CacheDeResultados cache = new CacheDeResultados();
+        cache.obter(MetricaAnalitica.FUNCAO_MAIS_COMUM, outubro, novembro, () -> "Atacante");
+        cache.obter(MetricaAnalitica.FUNCAO_MAIS_COMUM, novembro.plusDays(1), dezembro, () -> "Defensor");
+
+        cache.invalidarData(novembro);
+
+        Assertions.assertFalse(cache.contem(MetricaAnalitica.FUNCAO_MAIS_COMUM, outubro, novembro));
+        Assertions.assertTrue(cache.contem(MetricaAnalitica.FUNCAO_MAIS_COMUM, novembro.plusDays(1), dezembro));
+    }
+
+    @Test
+    void deveDescartarAsEntradasQueReferenciamOIntegranteOuDependemDoDadoAlterado() {
+        CacheDeResultados cache = new CacheDeResultados();
+        cache.obter(MetricaAnalitica.INTEGRANTE_MAIS_USADO, outubro, novembro, () -> 7L, Collections::singleton);
+        cache.obter(MetricaAnalitica.INTEGRANTE_MAIS_USADO, novembro, dezembro, () -> 8L, Collections::singleton);
+        cache.obter(MetricaAnalitica.CONTAGEM_POR_FUNCAO, outubro, novembro, () -> Collections.singletonMap("Atacante", 1L));
+        cache.obter(MetricaAnalitica.CONTAGEM_POR_FRANQUIA, outubro, novembro, () -> Collections.singletonMap("Franquia A", 1L));
+
+        cache.invalidarIntegrante(7L, false, true, false);
+
+        Assertions.assertFalse(cache.contem(MetricaAnalitica.INTEGRANTE_MAIS_USADO, outubro, novembro));
+        Assertions.assertTrue(cache.contem(MetricaAnalitica.INTEGRANTE_MAIS_USADO, novembro, dezembro));
+        Assertions.assertFalse(cache.contem(MetricaAnalitica.CONTAGEM_POR_FUNCAO, outubro, novembro));
+        Assertions.assertTrue(cache.contem(MetricaAnalitica.CONTAGEM_POR_FRANQUIA, outubro, novembro));
+    }
+
+    @Test
+    void deveDespejarAEntradaMenosUsadaRecentementeAoExcederOPeso() {
+        CacheDeResultados cache = new CacheDeResultados();
+        ReflectionTestUtils.setField(cache, "pesoMaximo", 6L);
+        cache.obter(MetricaAnalitica.TIME_MAIS_COMUM, outubro, outubro, () -> Arrays.asList("João", "Maria"));
+        cache.obter(MetricaAnalitica.TIME_MAIS_COMUM, novembro, novembro, () -> Arrays.asList("Ana", "Pedro"));
+        cache.obter(MetricaAnalitica.TIME_MAIS_COMUM, outubro, outubro, () -> Collections.<String>emptyList());
+
+        cache.obter(MetricaAnalitica.TIME_MAIS_COMUM, dezembro, dezembro, () -> Arrays.asList("Lia", "Caio"));
+
+        Assertions.assertTrue(cache.contem(MetricaAnalitica.TIME_MAIS_COMUM, outubro, outubro));
+        Assertions.assertFalse(cache.contem(MetricaAnalitica.TIME_MAIS_COMUM, novembro, novembro));
+        Assertions.assertEquals(6, cache.estatisticas().getPeso());
+        Assertions.assertEquals(1, cache.estatisticas().getDespejos());
+    }
+
+    @Test
+    void naoDeveGuardarResultadoCalculadoDuranteUmaEscrita() {
+        CacheDeResultados cache = new CacheDeResultados();
+
+        cache.obter(MetricaAnalitica.FUNCAO_MAIS_COMUM, outubro, novembro, () -> {
+            cache.invalidarData(dezembro);
+            return "Atacante";
+        });
+
+        Assertions.assertFalse(cache.contem(MetricaAnalitica.FUNCAO_MAIS_COMUM, outubro, novembro));
+    }
+
+    @Test
+    void naoDeveGuardarQuandoDesativado() {
+        CacheDeResultados cache = new CacheDeResultados();
+        ReflectionTestUtils.setField(cache, "pesoMaximo", 0L);
+
+        cache.obter(MetricaAnalitica.FUNCAO_MAIS_COMUM, outubro, novembro, () -> "Atacante");
+
+        Assertions.assertFalse(cache.contem(MetricaAnalitica.FUNCAO_MAIS_COMUM, outubro, novembro));
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.dto.LinhaDeComposicao;
+import br.com.duxusdesafio.model.Time;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ComposicoesColunaresTest {
+
+    private static final LocalDate DIA_1 = LocalDate.of(2024, 1, 1);
+
+    private final DicionarioIntegrantes dicionario = new DicionarioIntegrantes();
+
+    private final List<LinhaDeComposicao> linhas = new ArrayList<>();
+
+    private void adicionar(LocalDate data, long idTime, long idIntegrante, String funcao, String franquia) {
+        linhas.add(new LinhaDeComposicao() {
+            public LocalDate getData() { return data; }
+            public Long getIdTime() { return idTime; }
+            public Long getIdIntegrante() { return idIntegrante; }
+            public String getNome() { return "Integrante " + idIntegrante; }
+            public String getFuncao() { return funcao; }
+            public String getFranquia() { return franquia; }
+        });
+    }
+
+    private ComposicoesColunares exemplo() {
+        adicionar(DIA_1, 1L, 10L, "Mago", "Franquia A");
+        adicionar(DIA_1, 1L, 20L, "Suporte", "Franquia B");
+        adicionar(DIA_1, 2L, 20L, "Suporte", "Franquia B");
+        adicionar(DIA_1.plusDays(5), 3L, 20L, "Suporte", "Franquia B");
+        adicionar(DIA_1.plusDays(5), 3L, 10L, "Mago", "Franquia A");
+        adicionar(DIA_1.plusDays(9), 4L, 30L, "Mago", "Franquia A");
+        return ComposicoesColunares.construir(linhas, dicionario);
+    }
+
+    @Test
+    void deveAgruparAsLinhasPorTime() {
+        ComposicoesColunares colunas = exemplo();
+
+        Assertions.assertEquals(4, colunas.quantidadeDeTimes());
+        Assertions.assertEquals(6, colunas.quantidadeDeLinhas());
+        Assertions.assertEquals(3L, colunas.idDoTime(2));
+        Assertions.assertEquals(DIA_1.plusDays(5), colunas.dataDoTime(2));
+        Assertions.assertEquals(Arrays.asList("Integrante 20", "Integrante 10"), colunas.nomesDoTime(2));
+    }
+
+    @Test
+    void deveLocalizarOsTimesDoPeriodoPorBuscaBinaria() {
+        ComposicoesColunares colunas = exemplo();
+
+        Assertions.assertEquals(0, colunas.primeiroTime(DIA_1.minusDays(3)));
+        Assertions.assertEquals(2, colunas.primeiroTime(DIA_1.plusDays(1)));
+        Assertions.assertEquals(3, colunas.fimDosTimes(DIA_1.plusDays(5)));
+        Assertions.assertEquals(4, colunas.fimDosTimes(DIA_1.plusDays(30)));
+        Assertions.assertEquals(0, colunas.fimDosTimes(DIA_1.minusDays(1)));
+    }
+
+    @Test
+    void deveContarAsComposicoesDoPeriodo() {
+        ComposicoesColunares colunas = exemplo();
+        Dicionario funcoes = dicionario.getFuncoes();
+        Dicionario franquias = dicionario.getFranquias();
+
+        AgregacaoColunar agregacao = colunas.agregar(DIA_1, DIA_1.plusDays(5));
+
+        Assertions.assertEquals(3, agregacao.getQuantidadeDeTimes());
+        Assertions.assertEquals(20L, agregacao.getAparicoes().chaveDeMaiorContagem());
+        Assertions.assertEquals(3L, agregacao.getAparicoes().obter(20L));
+        Assertions.assertFalse(agregacao.getAparicoes().contem(30L));
+        Assertions.assertEquals(3L, agregacao.getFuncoes().obter(funcoes.codificar("Suporte")));
+        Assertions.assertEquals(2L, agregacao.getFranquias().obter(franquias.codificar("Franquia A")));
+        // franquia do primeiro integrante de cada time: A, B e B
+        Assertions.assertEquals(2L, agregacao.getTimesPorFranquia().obter(franquias.codificar("Franquia B")));
+    }
+
+    @Test
+    void deveIdentificarTimesComOsMesmosIntegrantesPelaAssinatura() {
+        ComposicoesColunares colunas = exemplo();
+
+        AgregacaoColunar agregacao = colunas.agregar(DIA_1, DIA_1.plusDays(9));
+        long assinatura = agregacao.getAssinaturas().chaveDeMaiorContagem();
+
+        Assertions.assertEquals(2L, agregacao.getAssinaturas().obter(assinatura));
+        Assertions.assertEquals(Long.parseUnsignedLong(Time.calcularAssinatura(Arrays.asList(10L, 20L)), 16), assinatura);
+        Assertions.assertEquals(0, colunas.primeiroTimeComAssinatura(assinatura, DIA_1, DIA_1.plusDays(9)));
+        Assertions.assertEquals(2, colunas.primeiroTimeComAssinatura(assinatura, DIA_1.plusDays(1), DIA_1.plusDays(9)));
+        Assertions.assertEquals(-1, colunas.primeiroTimeComAssinatura(assinatura, DIA_1.plusDays(6), DIA_1.plusDays(9)));
+    }
+
+    @Test
+    void deveSomarAgregacoesDePartesDoPeriodo() {
+        ComposicoesColunares colunas = exemplo();
+
+        AgregacaoColunar completa = colunas.agregar(0, 4);
+        AgregacaoColunar partes = colunas.agregar(0, 1);
+        partes.somarTodos(colunas.agregar(1, 3));
+        partes.somarTodos(colunas.agregar(3, 4));
+
+        Assertions.assertEquals(completa.getQuantidadeDeTimes(), partes.getQuantidadeDeTimes());
+        Assertions.assertEquals(completa.getAparicoes().toString(), partes.getAparicoes().toString());
+        Assertions.assertEquals(completa.getFuncoes().decodificar(dicionario.getFuncoes()),
+                partes.getFuncoes().decodificar(dicionario.getFuncoes()));
+        Assertions.assertEquals(completa.getTimesPorFranquia().decodificar(dicionario.getFranquias()),
+                partes.getTimesPorFranquia().decodificar(dicionario.getFranquias()));
+    }
+
+    @Test
+    void deveRejeitarLinhasForaDeOrdem() {
+        adicionar(DIA_1.plusDays(1), 1L, 10L, "Mago", "Franquia A");
+        adicionar(DIA_1, 2L, 10L, "Mago", "Franquia A");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ComposicoesColunares.construir(linhas, dicionario));
+    }
+
+    @Test
+    void deveMontarInstantaneoVazio() {
+        ComposicoesColunares colunas = ComposicoesColunares.construir(linhas, dicionario);
+
+        Assertions.assertEquals(0, colunas.quantidadeDeTimes());
+        Assertions.assertEquals(0, colunas.agregar(DIA_1, DIA_1.plusDays(1)).getQuantidadeDeTimes());
+    }
+}
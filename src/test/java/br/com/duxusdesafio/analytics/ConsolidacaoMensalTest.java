@@ -0,0 +1,46 @@
+package br.com.duxusdesafio.analytics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+public class ConsolidacaoMensalTest {
+
+    private final YearMonth outubro = YearMonth.of(2024, 10);
+
+    @Test
+    void naoDeveUsarMesesAntesDaPrimeiraCompactacaoCompleta() {
+        ConsolidacaoMensal consolidacao = new ConsolidacaoMensal();
+
+        consolidacao.concluir(consolidacao.getPendentes(), false);
+
+        Assertions.assertFalse(consolidacao.podeUsar(outubro));
+    }
+
+    @Test
+    void deveLiberarOMesCompactado() {
+        ConsolidacaoMensal consolidacao = new ConsolidacaoMensal();
+        consolidacao.marcarPendente(LocalDate.of(2024, 10, 5));
+
+        consolidacao.concluir(consolidacao.getPendentes(), true);
+
+        Assertions.assertTrue(consolidacao.podeUsar(outubro));
+    }
+
+    @Test
+    void deveManterPendenteOMesAlteradoDuranteACompactacao() {
+        ConsolidacaoMensal consolidacao = new ConsolidacaoMensal();
+        consolidacao.marcarPendente(LocalDate.of(2024, 10, 5));
+        consolidacao.marcarPendente(LocalDate.of(2024, 11, 5));
+        Map<YearMonth, Long> compactados = consolidacao.getPendentes();
+
+        consolidacao.marcarPendente(LocalDate.of(2024, 10, 20));
+        consolidacao.concluir(compactados, true);
+
+        Assertions.assertFalse(consolidacao.podeUsar(outubro));
+        Assertions.assertTrue(consolidacao.podeUsar(YearMonth.of(2024, 11)));
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.duxusdesafio.analytics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class ContadorPorIdTest {
+
+    @Test
+    void deveContarAsAparicoesDeCadaChave() {
+        ContadorPorId contador = new ContadorPorId();
+
+        contador.incrementar(7L);
+        contador.incrementar(7L);
+        contador.incrementar(3L);
+        contador.somar(9L, 5L);
+
+        Assertions.assertEquals(2L, contador.obter(7L));
+        Assertions.assertEquals(1L, contador.obter(3L));
+        Assertions.assertEquals(5L, contador.obter(9L));
+        Assertions.assertEquals(0L, contador.obter(42L));
+        Assertions.assertEquals(3, contador.tamanho());
+        Assertions.assertFalse(contador.contem(42L));
+    }
+
+    @Test
+    void deveAceitarAChaveZero() {
+        ContadorPorId contador = new ContadorPorId();
+
+        contador.incrementar(0L);
+        contador.incrementar(0L);
+
+        Assertions.assertTrue(contador.contem(0L));
+        Assertions.assertEquals(2L, contador.obter(0L));
+        Assertions.assertEquals(1, contador.tamanho());
+        Assertions.assertEquals(0L, contador.chaveDeMaiorContagem());
+    }
+
+    @Test
+    void deveCoincidirComUmHashMapAposRedimensionar() {
+        ContadorPorId contador = new ContadorPorId(2);
+        Map<Long, Long> esperado = new HashMap<>();
+        Random aleatorio = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            long chave = aleatorio.nextInt(2_000) - 1_000;
+            contador.incrementar(chave);
+            esperado.merge(chave, 1L, Long::sum);
+        }
+
+        Assertions.assertEquals(esperado.size(), contador.tamanho());
+        esperado.forEach((chave, valor) -> Assertions.assertEquals(valor.longValue(), contador.obter(chave)));
+
+        Map<Long, Long> percorrido = new HashMap<>();
+        contador.paraCada(percorrido::put);
+        Assertions.assertEquals(esperado, percorrido);
+    }
+
+    @Test
+    void deveEscolherAMenorChaveEmCasoDeEmpate() {
+        ContadorPorId contador = new ContadorPorId();
+        contador.somar(30L, 4L);
+        contador.somar(10L, 4L);
+        contador.somar(20L, 2L);
+
+        Assertions.assertEquals(10L, contador.chaveDeMaiorContagem());
+    }
+
+    @Test
+    void deveSomarOutroContador() {
+        ContadorPorId contador = new ContadorPorId();
+        contador.somar(1L, 2L);
+        ContadorPorId outro = new ContadorPorId();
+        outro.somar(1L, 3L);
+        outro.somar(2L, 1L);
+
+        contador.somarTodos(outro);
+
+        Assertions.assertEquals(5L, contador.obter(1L));
+        Assertions.assertEquals(1L, contador.obter(2L));
+    }
+
+    @Test
+    void deveLancarExcecaoAoBuscarMaiorContagemEmContadorVazio() {
+        Assertions.assertThrows(IllegalStateException.class, () -> new ContadorPorId().chaveDeMaiorContagem());
+    }
+}
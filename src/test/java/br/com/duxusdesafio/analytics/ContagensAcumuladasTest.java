@@ -0,0 +1,87 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.model.DimensaoEstatistica;
+import br.com.duxusdesafio.model.EstatisticaDiaria;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class ContagensAcumuladasTest {
+
+    private final LocalDate data = LocalDate.of(2024, 10, 1);
+
+    private ContagensAcumuladas contagens;
+
+    private List<EstatisticaDiaria> banco;
+
+    @BeforeEach
+    void setUp() {
+        contagens = new ContagensAcumuladas();
+        banco = new ArrayList<>(Collections.singletonList(
+                new EstatisticaDiaria(data, DimensaoEstatistica.FUNCAO, "Atacante", 2)));
+    }
+
+    private Map<String, Long> consultar() {
+        return contagens.contagemNoPeriodo(DimensaoEstatistica.FUNCAO, data, data, () -> new ArrayList<>(banco));
+    }
+
+    private void confirmar(long total) {
+        banco.set(0, new EstatisticaDiaria(data, DimensaoEstatistica.FUNCAO, "Atacante", total));
+    }
+
+    @Test
+    void deveCorrigirAsSomasConstruidasAntesDaEscrita() {
+        consultar();
+
+        long versaoDaEscrita = contagens.iniciarEscrita();
+        confirmar(3);
+        contagens.somar(versaoDaEscrita, DimensaoEstatistica.FUNCAO, "Atacante", data, 1);
+
+        Assertions.assertTrue(contagens.isConstruida(DimensaoEstatistica.FUNCAO));
+        Assertions.assertEquals(Collections.singletonMap("Atacante", 3L), consultar());
+    }
+
+    @Test
+    void deveDescartarAsSomasConstruidasEntreAConfirmacaoEOsEfeitosDaEscrita() {
+        long versaoDaEscrita = contagens.iniciarEscrita();
+        confirmar(3);
+        Assertions.assertEquals(Collections.singletonMap("Atacante", 3L), consultar());
+
+        contagens.somar(versaoDaEscrita, DimensaoEstatistica.FUNCAO, "Atacante", data, 1);
+
+        Assertions.assertFalse(contagens.isConstruida(DimensaoEstatistica.FUNCAO));
+        Assertions.assertEquals(Collections.singletonMap("Atacante", 3L), consultar());
+    }
+
+    @Test
+    void naoDeveGuardarAReconstrucaoDuranteAQualUmaEscritaComecou() {
+        Map<String, Long> contagem = contagens.contagemNoPeriodo(DimensaoEstatistica.FUNCAO, data, data, () -> {
+            contagens.iniciarEscrita();
+            return new ArrayList<>(banco);
+        });
+
+        Assertions.assertEquals(Collections.singletonMap("Atacante", 2L), contagem);
+        Assertions.assertFalse(contagens.isConstruida(DimensaoEstatistica.FUNCAO));
+    }
+
+    @Test
+    void naoDeveGuardarAReconstrucaoDuranteAQualUmaEscritaFoiConfirmada() {
+        long versaoDaEscrita = contagens.iniciarEscrita();
+
+        contagens.contagemNoPeriodo(DimensaoEstatistica.FUNCAO, data, data, () -> {
+            List<EstatisticaDiaria> lidas = new ArrayList<>(banco);
+            confirmar(3);
+            contagens.somar(versaoDaEscrita, DimensaoEstatistica.FUNCAO, "Atacante", data, 1);
+            return lidas;
+        });
+
+        Assertions.assertFalse(contagens.isConstruida(DimensaoEstatistica.FUNCAO));
+        Assertions.assertEquals(Collections.singletonMap("Atacante", 3L), consultar());
+    }
+}
@@ -0,0 +1,69 @@
+package br.com.duxusdesafio.analytics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+public class DicionarioTest {
+
+    @Test
+    void deveAtribuirCodigosSequenciaisAosValoresDistintos() {
+        Dicionario dicionario = new Dicionario();
+
+        Assertions.assertEquals(0, dicionario.codificar("Mago"));
+        Assertions.assertEquals(1, dicionario.codificar("Suporte"));
+        Assertions.assertEquals(0, dicionario.codificar("Mago"));
+        Assertions.assertEquals(2, dicionario.tamanho());
+        Assertions.assertEquals("Suporte", dicionario.decodificar(1));
+    }
+
+    @Test
+    void deveCrescerAlemDaCapacidadeInicial() {
+        Dicionario dicionario = new Dicionario();
+
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(i, dicionario.codificar("valor " + i));
+        }
+
+        Assertions.assertEquals(100, dicionario.tamanho());
+        Assertions.assertEquals("valor 57", dicionario.decodificar(57));
+    }
+
+    @Test
+    void deveContarPorCodigoEConverterParaTexto() {
+        Dicionario dicionario = new Dicionario();
+        ContadorPorCodigo contador = new ContadorPorCodigo(dicionario.tamanho());
+
+        contador.incrementar(dicionario.codificar("Mago"));
+        contador.incrementar(dicionario.codificar("Suporte"));
+        contador.incrementar(dicionario.codificar("Suporte"));
+        contador.somar(dicionario.codificar("Atirador"), 0);
+
+        Map<String, Long> contagem = contador.decodificar(dicionario);
+
+        Assertions.assertEquals(2, contagem.size());
+        Assertions.assertEquals(1L, contagem.get("Mago"));
+        Assertions.assertEquals(2L, contagem.get("Suporte"));
+    }
+
+    @Test
+    void deveCrescerParaCodigosAlemDaCapacidadeInicial() {
+        ContadorPorCodigo contador = new ContadorPorCodigo(0);
+
+        contador.incrementar(3);
+        contador.incrementar(1);
+
+        Assertions.assertEquals(1L, contador.obter(3));
+        Assertions.assertEquals(1L, contador.obter(1));
+        Assertions.assertEquals(0L, contador.obter(10));
+    }
+
+    @Test
+    void deveConverterParaMapaVazioQuandoNaoHouverContagens() {
+        ContadorPorCodigo contador = new ContadorPorCodigo(4);
+
+        Assertions.assertTrue(contador.isVazio());
+        Assertions.assertTrue(contador.decodificar(new Dicionario()).isEmpty());
+    }
+}
@@ -0,0 +1,196 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.model.ComposicaoTime;
+import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.model.Time;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class IndiceTimesPorDataTest {
+
+    private IndiceTimesPorData indice;
+
+    private Time timeJaneiro;
+    private Time timeFevereiro;
+    private Time timeMarco;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceTimesPorData();
+
+        timeJaneiro = criarTime(1L, LocalDate.of(2024, 1, 15));
+        timeFevereiro = criarTime(2L, LocalDate.of(2024, 2, 15));
+        timeMarco = criarTime(3L, LocalDate.of(2024, 3, 15));
+
+        indice.carregar(Arrays.asList(timeMarco, timeJaneiro, timeFevereiro));
+    }
+
+    private Time criarTime(long id, LocalDate data) {
+        Time time = new Time(data, Collections.emptyList());
+        time.setId(id);
+        return time;
+    }
+
+    private Time criarTime(long id, LocalDate data, Integrante... integrantes) {
+        Time time = criarTime(id, data);
+        List<ComposicaoTime> composicoes = new ArrayList<>();
+        for (Integrante integrante : integrantes) {
+            composicoes.add(new ComposicaoTime(time, integrante));
+        }
+        time.setComposicaoTime(composicoes);
+        return time;
+    }
+
+    private Integrante criarIntegrante(long id, String nome) {
+        Integrante integrante = new Integrante("Franquia", nome, "Atacante", null);
+        integrante.setId(id);
+        return integrante;
+    }
+
+    @Test
+    void deveRetornarOsTimesDoPeriodoOrdenadosPorData() {
+        List<Time> times = indice.buscarPorPeriodo(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 28));
+
+        Assertions.assertEquals(Arrays.asList(timeJaneiro, timeFevereiro), times);
+    }
+
+    @Test
+    void deveIncluirAsDatasDosLimitesDoPeriodo() {
+        List<Time> times = indice.buscarPorPeriodo(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 3, 15));
+
+        Assertions.assertEquals(3, times.size());
+    }
+
+    @Test
+    void deveRetornarListaVaziaQuandoDataInicialForPosteriorAFinal() {
+        List<Time> times = indice.buscarPorPeriodo(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 1, 1));
+
+        Assertions.assertTrue(times.isEmpty());
+    }
+
+    @Test
+    void deveAdicionarERemoverTimes() {
+        Time novoTime = criarTime(4L, LocalDate.of(2024, 2, 15));
+
+        indice.adicionar(novoTime);
+        Assertions.assertEquals(Arrays.asList(timeFevereiro, novoTime),
+                indice.buscarPorPeriodo(LocalDate.of(2024, 2, 15), LocalDate.of(2024, 2, 15)));
+
+        indice.remover(2L, LocalDate.of(2024, 2, 15));
+        Assertions.assertEquals(Collections.singletonList(novoTime),
+                indice.buscarPorPeriodo(LocalDate.of(2024, 2, 15), LocalDate.of(2024, 2, 15)));
+    }
+
+    @Test
+    void naoDeveAdicionarTimesAntesDeSerCarregado() {
+        IndiceTimesPorData indiceVazio = new IndiceTimesPorData();
+
+        indiceVazio.adicionar(timeJaneiro);
+
+        Assertions.assertFalse(indiceVazio.isCarregado());
+        Assertions.assertTrue(indiceVazio.buscarPorPeriodo(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)).isEmpty());
+    }
+
+    @Test
+    void deveCarregarSobDemandaUmaUnicaVez() {
+        IndiceTimesPorData indiceVazio = new IndiceTimesPorData();
+
+        indiceVazio.carregarSeNecessario(() -> Collections.singletonList(timeMarco));
+        indiceVazio.carregarSeNecessario(() -> Collections.singletonList(timeJaneiro));
+
+        Assertions.assertTrue(indiceVazio.isCarregado());
+        Assertions.assertEquals(Collections.singletonList(timeMarco),
+                indiceVazio.buscarPorPeriodo(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)));
+    }
+
+    @Test
+    void deveAtualizarOIntegranteSomenteNosTimesQueOContem() {
+        Integrante joao = criarIntegrante(1L, "João");
+        Integrante maria = criarIntegrante(2L, "Maria");
+        Time comJoao = criarTime(4L, LocalDate.of(2024, 1, 20), joao, maria);
+        Time semJoao = criarTime(5L, LocalDate.of(2024, 1, 21), maria);
+        indice.carregar(Arrays.asList(timeJaneiro, comJoao, semJoao));
+
+        indice.atualizarIntegrante(criarIntegrante(1L, "João Atualizado"));
+        List<Time> times = indice.buscarPorPeriodo(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31));
+
+        Assertions.assertEquals(Arrays.asList(timeJaneiro, comJoao, semJoao), times);
+        Assertions.assertEquals("João Atualizado", times.get(1).getComposicaoTime().get(0).getIntegrante().getNome());
+        Assertions.assertSame(maria, times.get(1).getComposicaoTime().get(1).getIntegrante());
+        Assertions.assertSame(semJoao, times.get(2));
+        // quem já recebeu o time continua com a cópia anterior
+        Assertions.assertEquals("João", comJoao.getComposicaoTime().get(0).getIntegrante().getNome());
+    }
+
+    @Test
+    void naoDeveAtualizarOIntegranteDeTimesRemovidos() {
+        Time comJoao = criarTime(4L, LocalDate.of(2024, 1, 20), criarIntegrante(1L, "João"));
+        indice.carregar(Collections.singletonList(comJoao));
+        indice.remover(4L, LocalDate.of(2024, 1, 20));
+
+        indice.atualizarIntegrante(criarIntegrante(1L, "João Atualizado"));
+
+        Assertions.assertTrue(indice.buscarPorPeriodo(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)).isEmpty());
+    }
+
+    @Test
+    void naoDeveAtualizarOIntegranteQuandoATransacaoForDesfeita() {
+        Time comJoao = criarTime(4L, LocalDate.of(2024, 1, 20), criarIntegrante(1L, "João"));
+        indice.carregar(Collections.singletonList(comJoao));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            indice.atualizarIntegrante(criarIntegrante(1L, "João Atualizado"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertSame(comJoao, indice.buscarPorPeriodo(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 1, 20)).get(0));
+    }
+
+    @Test
+    void deveAplicarAsEscritasDeUmaTransacaoSomenteAposAConfirmacao() {
+        Time novoTime = criarTime(4L, LocalDate.of(2024, 1, 20));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            indice.adicionar(novoTime);
+            indice.remover(1L, LocalDate.of(2024, 1, 15));
+            Assertions.assertEquals(Collections.singletonList(timeJaneiro),
+                    indice.buscarPorPeriodo(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(Collections.singletonList(novoTime),
+                indice.buscarPorPeriodo(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+    }
+
+    @Test
+    void naoDeveAplicarAsEscritasDeUmaTransacaoDesfeita() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            indice.adicionar(criarTime(4L, LocalDate.of(2024, 1, 20)));
+            indice.remover(1L, LocalDate.of(2024, 1, 15));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Assertions.assertEquals(Collections.singletonList(timeJaneiro),
+                indice.buscarPorPeriodo(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+    }
+}
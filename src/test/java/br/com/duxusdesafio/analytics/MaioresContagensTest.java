@@ -0,0 +1,69 @@
+package br.com.duxusdesafio.analytics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class MaioresContagensTest {
+
+    private static <T extends Comparable<? super T>> List<T> chaves(MaioresContagens<T> maiores) {
+        return maiores.emOrdem().stream().map(MaioresContagens.Posicao::getChave).collect(Collectors.toList());
+    }
+
+    @Test
+    void deveManterAsMaioresContagensEmOrdemDecrescente() {
+        MaioresContagens<String> maiores = new MaioresContagens<>(2);
+
+        maiores.oferecer("Mago", 3);
+        maiores.oferecer("Suporte", 7);
+        maiores.oferecer("Tanque", 1);
+        maiores.oferecer("Atirador", 5);
+
+        Assertions.assertEquals(Arrays.asList("Suporte", "Atirador"), chaves(maiores));
+        Assertions.assertEquals(7L, maiores.emOrdem().get(0).getTotal());
+    }
+
+    @Test
+    void deveDesempatarPelaMenorChaveIndependenteDaOrdem() {
+        MaioresContagens<Long> emOrdem = new MaioresContagens<>(2);
+        MaioresContagens<Long> invertido = new MaioresContagens<>(2);
+
+        for (long id = 1; id <= 5; id++) {
+            emOrdem.oferecer(id, 4);
+            invertido.oferecer(6 - id, 4);
+        }
+
+        Assertions.assertEquals(Arrays.asList(1L, 2L), chaves(emOrdem));
+        Assertions.assertEquals(chaves(emOrdem), chaves(invertido));
+    }
+
+    @Test
+    void deveCoincidirComAOrdenacaoCompleta() {
+        Random random = new Random(11);
+        MaioresContagens<Long> maiores = new MaioresContagens<>(10);
+        List<MaioresContagens.Posicao<Long>> todas = new ArrayList<>();
+
+        for (long id = 0; id < 1000; id++) {
+            long total = random.nextInt(50);
+            maiores.oferecer(id, total);
+            todas.add(new MaioresContagens.Posicao<>(id, total));
+        }
+        todas.sort(Comparator.<MaioresContagens.Posicao<Long>>comparingLong(MaioresContagens.Posicao::getTotal).reversed()
+                .thenComparing(MaioresContagens.Posicao::getChave));
+
+        Assertions.assertEquals(
+                todas.subList(0, 10).stream().map(MaioresContagens.Posicao::getChave).collect(Collectors.toList()),
+                chaves(maiores));
+    }
+
+    @Test
+    void deveRejeitarLimiteMenorOuIgualAZero() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MaioresContagens<String>(0));
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.duxusdesafio.analytics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class ResumoSpaceSavingTest {
+
+    /**
+     * Fluxo com poucas chaves muito frequentes e muitas chaves raras.
+     */
+    private static long[] fluxoConcentrado(int tamanho, long semente) {
+        Random random = new Random(semente);
+        long[] fluxo = new long[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            fluxo[i] = random.nextInt(10) < 6 ? random.nextInt(5) : 100 + random.nextInt(5000);
+        }
+        return fluxo;
+    }
+
+    private static void assertDentroDoErro(ResumoSpaceSaving resumo, Map<Long, Long> reais) {
+        resumo.paraCada((chave, estimativa) -> {
+            long real = reais.getOrDefault(chave, 0L);
+            Assertions.assertTrue(estimativa >= real, "estimativa menor que a contagem real de " + chave);
+            Assertions.assertTrue(estimativa - resumo.erro(chave) <= real, "erro subestimado para " + chave);
+            Assertions.assertTrue(resumo.erro(chave) <= resumo.erroMaximo());
+        });
+        for (Map.Entry<Long, Long> real : reais.entrySet()) {
+            Assertions.assertTrue(resumo.estimativa(real.getKey()) >= real.getValue());
+        }
+    }
+
+    @Test
+    void deveContarExatamenteEnquantoHouverContadoresLivres() {
+        ResumoSpaceSaving resumo = new ResumoSpaceSaving(10);
+
+        resumo.incrementar(1L);
+        resumo.incrementar(1L);
+        resumo.incrementar(2L);
+
+        Assertions.assertEquals(2L, resumo.estimativa(1L));
+        Assertions.assertEquals(0L, resumo.erro(1L));
+        Assertions.assertEquals(0L, resumo.estimativa(3L));
+        Assertions.assertEquals(0L, resumo.erroMaximo());
+        Assertions.assertEquals(3L, resumo.getTotal());
+    }
+
+    @Test
+    void deveSubstituirAChaveDeMenorContagemQuandoCheio() {
+        ResumoSpaceSaving resumo = new ResumoSpaceSaving(2);
+
+        resumo.incrementar(1L);
+        resumo.incrementar(1L);
+        resumo.incrementar(2L);
+        resumo.incrementar(3L);
+
+        Assertions.assertEquals(2, resumo.tamanho());
+        Assertions.assertEquals(2L, resumo.estimativa(3L));
+        Assertions.assertEquals(1L, resumo.erro(3L));
+        Assertions.assertEquals(2L, resumo.estimativa(1L));
+    }
+
+    @Test
+    void deveSomarVariasOcorrenciasDeUmaVezComoIncrementosSeguidos() {
+        ResumoSpaceSaving deUmaVez = new ResumoSpaceSaving(2);
+        ResumoSpaceSaving seguidos = new ResumoSpaceSaving(2);
+
+        deUmaVez.incrementar(1L, 3);
+        deUmaVez.incrementar(2L, 1);
+        deUmaVez.incrementar(3L, 2);
+        for (long chave : new long[]{1L, 1L, 1L, 2L, 3L, 3L}) {
+            seguidos.incrementar(chave);
+        }
+
+        for (long chave = 1; chave <= 3; chave++) {
+            Assertions.assertEquals(seguidos.estimativa(chave), deUmaVez.estimativa(chave));
+            Assertions.assertEquals(seguidos.erro(chave), deUmaVez.erro(chave));
+        }
+        Assertions.assertEquals(6L, deUmaVez.getTotal());
+    }
+
+    @Test
+    void deveManterAsGarantiasDeErroEmUmFluxoConcentrado() {
+        ResumoSpaceSaving resumo = new ResumoSpaceSaving(50);
+        Map<Long, Long> reais = new HashMap<>();
+
+        for (long chave : fluxoConcentrado(20000, 3)) {
+            resumo.incrementar(chave);
+            reais.merge(chave, 1L, Long::sum);
+        }
+
+        assertDentroDoErro(resumo, reais);
+        Assertions.assertTrue(resumo.erroMaximo() <= resumo.getTotal() / resumo.getCapacidade());
+        for (long frequente = 0; frequente < 5; frequente++) {
+            Assertions.assertTrue(resumo.erro(frequente) < resumo.estimativa(frequente));
+        }
+    }
+
+    @Test
+    void deveManterAsGarantiasDeErroAoSomarResumos() {
+        Map<Long, Long> reais = new HashMap<>();
+        ResumoSpaceSaving soma = new ResumoSpaceSaving(50);
+
+        for (long semente = 1; semente <= 4; semente++) {
+            ResumoSpaceSaving parte = new ResumoSpaceSaving(50);
+            for (long chave : fluxoConcentrado(5000, semente)) {
+                parte.incrementar(chave);
+                reais.merge(chave, 1L, Long::sum);
+            }
+            soma = soma.somar(parte);
+        }
+
+        Assertions.assertEquals(20000L, soma.getTotal());
+        Assertions.assertEquals(50, soma.tamanho());
+        assertDentroDoErro(soma, reais);
+    }
+
+    @Test
+    void deveSomarResumosSemPerdaQuandoCouberemNaCapacidade() {
+        ResumoSpaceSaving primeiro = new ResumoSpaceSaving(10);
+        ResumoSpaceSaving segundo = new ResumoSpaceSaving(10);
+        primeiro.incrementar(1L);
+        primeiro.incrementar(2L);
+        segundo.incrementar(1L);
+
+        ResumoSpaceSaving soma = primeiro.somar(segundo);
+
+        Assertions.assertEquals(2L, soma.estimativa(1L));
+        Assertions.assertEquals(1L, soma.estimativa(2L));
+        Assertions.assertEquals(0L, soma.erroMaximo());
+    }
+}
@@ -0,0 +1,192 @@
+package br.com.duxusdesafio.analytics;
+
+import br.com.duxusdesafio.model.DimensaoEstatistica;
+import br.com.duxusdesafio.model.EstatisticaDiaria;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ResumosDeAparicoesTest {
+
+    private final ResumosDeAparicoes resumos = new ResumosDeAparicoes();
+
+    // id do integrante de cada composição, pela data do time
+    private final Map<LocalDate, List<Long>> composicoes = new TreeMap<>();
+
+    private final List<String> consultasDeMeses = new ArrayList<>();
+
+    private final List<String> consultasDeDias = new ArrayList<>();
+
+    private List<Long> idsNoPeriodo(LocalDate dataInicial, LocalDate dataFinal) {
+        consultasDeMeses.add(dataInicial + ".." + dataFinal);
+        List<Long> ids = new ArrayList<>();
+        composicoes.forEach((data, idsDoDia) -> {
+            if (!data.isBefore(dataInicial) && !data.isAfter(dataFinal)) {
+                ids.addAll(idsDoDia);
+            }
+        });
+        return ids;
+    }
+
+    private List<EstatisticaDiaria> aparicoesPorDia(LocalDate dataInicial, LocalDate dataFinal) {
+        consultasDeDias.add(dataInicial + ".." + dataFinal);
+        List<EstatisticaDiaria> aparicoes = new ArrayList<>();
+        composicoes.forEach((data, idsDoDia) -> {
+            if (!data.isBefore(dataInicial) && !data.isAfter(dataFinal)) {
+                idsDoDia.stream().distinct().forEach(id -> aparicoes.add(new EstatisticaDiaria(data,
+                        DimensaoEstatistica.INTEGRANTE, String.valueOf(id), Collections.frequency(idsDoDia, id))));
+            }
+        });
+        return aparicoes;
+    }
+
+    private ResumoSpaceSaving resumir(LocalDate dataInicial, LocalDate dataFinal) {
+        return resumos.resumir(dataInicial, dataFinal, this::idsNoPeriodo, this::aparicoesPorDia);
+    }
+
+    private void cadastrar(LocalDate data, Long... ids) {
+        composicoes.computeIfAbsent(data, d -> new ArrayList<>()).addAll(Arrays.asList(ids));
+    }
+
+    @Test
+    void deveSomarMesesInteirosComOsDiasDasPontas() {
+        cadastrar(LocalDate.of(2024, 1, 10), 1L, 2L);
+        cadastrar(LocalDate.of(2024, 2, 5), 1L);
+        cadastrar(LocalDate.of(2024, 3, 20), 3L, 1L);
+        cadastrar(LocalDate.of(2024, 3, 25), 3L);
+
+        ResumoSpaceSaving resumo = resumir(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 3, 22));
+
+        Assertions.assertEquals(3L, resumo.estimativa(1L));
+        Assertions.assertEquals(1L, resumo.estimativa(3L));
+        Assertions.assertEquals(0L, resumo.erroMaximo());
+        Assertions.assertEquals(Collections.singletonList("2024-02-01..2024-02-29"), consultasDeMeses);
+        Assertions.assertEquals(Arrays.asList("2024-01-05..2024-01-31", "2024-03-01..2024-03-22"), consultasDeDias);
+        Assertions.assertTrue(resumos.contemMes(YearMonth.of(2024, 2)));
+        Assertions.assertFalse(resumos.contemMes(YearMonth.of(2024, 1)));
+        Assertions.assertTrue(resumos.contemDia(LocalDate.of(2024, 1, 5)));
+        Assertions.assertTrue(resumos.contemDia(LocalDate.of(2024, 3, 22)));
+    }
+
+    @Test
+    void deveReaproveitarOResumoDoMesNasConsultasSeguintes() {
+        cadastrar(LocalDate.of(2024, 2, 5), 1L);
+
+        resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+        resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+
+        Assertions.assertEquals(1, consultasDeMeses.size());
+    }
+
+    @Test
+    void deveReaproveitarOsResumosDosDiasDasPontasNasConsultasSeguintes() {
+        cadastrar(LocalDate.of(2024, 1, 10), 1L, 1L, 2L);
+
+        resumir(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 20));
+        ResumoSpaceSaving resumo = resumir(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 20));
+
+        Assertions.assertEquals(2L, resumo.estimativa(1L));
+        Assertions.assertEquals(1L, resumo.estimativa(2L));
+        Assertions.assertEquals(Collections.singletonList("2024-01-05..2024-01-20"), consultasDeDias);
+        Assertions.assertTrue(consultasDeMeses.isEmpty());
+    }
+
+    @Test
+    void deveLerApenasOsDiasAindaSemResumo() {
+        cadastrar(LocalDate.of(2024, 1, 10), 1L);
+        cadastrar(LocalDate.of(2024, 1, 25), 2L);
+
+        resumir(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 20));
+        ResumoSpaceSaving resumo = resumir(LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 30));
+
+        Assertions.assertEquals(1L, resumo.estimativa(1L));
+        Assertions.assertEquals(1L, resumo.estimativa(2L));
+        Assertions.assertEquals(Arrays.asList("2024-01-05..2024-01-20", "2024-01-21..2024-01-30"), consultasDeDias);
+    }
+
+    @Test
+    void deveRegistrarTimesCadastradosNoResumoDoMes() {
+        cadastrar(LocalDate.of(2024, 2, 5), 1L);
+        resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+
+        resumos.registrar(LocalDate.of(2024, 2, 10), Arrays.asList(1L, 2L));
+        ResumoSpaceSaving resumo = resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+
+        Assertions.assertEquals(2L, resumo.estimativa(1L));
+        Assertions.assertEquals(1L, resumo.estimativa(2L));
+        Assertions.assertEquals(1, consultasDeMeses.size());
+    }
+
+    @Test
+    void deveRegistrarTimesCadastradosNoResumoDoDia() {
+        cadastrar(LocalDate.of(2024, 2, 5), 1L);
+        resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 10));
+
+        resumos.registrar(LocalDate.of(2024, 2, 5), Arrays.asList(1L, 2L));
+        ResumoSpaceSaving resumo = resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 10));
+
+        Assertions.assertEquals(2L, resumo.estimativa(1L));
+        Assertions.assertEquals(1L, resumo.estimativa(2L));
+        Assertions.assertEquals(1, consultasDeDias.size());
+    }
+
+    @Test
+    void deveRecalcularOMesInvalidado() {
+        cadastrar(LocalDate.of(2024, 2, 5), 1L);
+        resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+
+        composicoes.clear();
+        resumos.invalidar(LocalDate.of(2024, 2, 5));
+        ResumoSpaceSaving resumo = resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29));
+
+        Assertions.assertEquals(0L, resumo.getTotal());
+        Assertions.assertEquals(2, consultasDeMeses.size());
+    }
+
+    @Test
+    void deveRecalcularODiaInvalidado() {
+        cadastrar(LocalDate.of(2024, 2, 5), 1L);
+        resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 10));
+
+        composicoes.clear();
+        resumos.invalidar(LocalDate.of(2024, 2, 5));
+        ResumoSpaceSaving resumo = resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 10));
+
+        Assertions.assertEquals(0L, resumo.getTotal());
+        Assertions.assertEquals(Arrays.asList("2024-02-01..2024-02-10", "2024-02-05..2024-02-05"), consultasDeDias);
+    }
+
+    @Test
+    void naoDeveGuardarResumoDeMesAlteradoDuranteOCalculo() {
+        cadastrar(LocalDate.of(2024, 2, 5), 1L);
+
+        resumos.resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29), (inicio, fim) -> {
+            List<Long> ids = idsNoPeriodo(inicio, fim);
+            resumos.registrar(LocalDate.of(2024, 2, 6), Arrays.asList(2L));
+            return ids;
+        }, this::aparicoesPorDia);
+
+        Assertions.assertFalse(resumos.contemMes(YearMonth.of(2024, 2)));
+    }
+
+    @Test
+    void naoDeveGuardarResumosDeDiasAlteradosDuranteALeitura() {
+        cadastrar(LocalDate.of(2024, 2, 5), 1L);
+
+        resumos.resumir(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 10), this::idsNoPeriodo, (inicio, fim) -> {
+            List<EstatisticaDiaria> aparicoes = aparicoesPorDia(inicio, fim);
+            resumos.registrar(LocalDate.of(2024, 2, 6), Arrays.asList(2L));
+            return aparicoes;
+        });
+
+        Assertions.assertFalse(resumos.contemDia(LocalDate.of(2024, 2, 5)));
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.duxusdesafio.analytics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class SomasAcumuladasPorDiaTest {
+
+    private SomasAcumuladasPorDia somas;
+
+    @BeforeEach
+    void setUp() {
+        somas = new SomasAcumuladasPorDia(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+        somas.registrarDia("Atacante", LocalDate.of(2024, 1, 1), 2);
+        somas.registrarDia("Atacante", LocalDate.of(2024, 3, 10), 3);
+        somas.registrarDia("Defensor", LocalDate.of(2024, 3, 10), 1);
+        somas.registrarDia("Defensor", LocalDate.of(2024, 12, 31), 4);
+        somas.acumular();
+    }
+
+    @Test
+    void deveSomarApenasOsDiasDoPeriodo() {
+        Map<String, Long> contagem = somas.contagemNoPeriodo(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 3, 10));
+
+        Assertions.assertEquals(2, contagem.size());
+        Assertions.assertEquals(3L, contagem.get("Atacante"));
+        Assertions.assertEquals(1L, contagem.get("Defensor"));
+    }
+
+    @Test
+    void deveLimitarOPeriodoAoIntervaloCoberto() {
+        Map<String, Long> contagem = somas.contagemNoPeriodo(LocalDate.of(2023, 1, 1), LocalDate.of(2025, 1, 1));
+
+        Assertions.assertEquals(5L, contagem.get("Atacante"));
+        Assertions.assertEquals(5L, contagem.get("Defensor"));
+    }
+
+    @Test
+    void deveOmitirChavesSemAparicoesNoPeriodo() {
+        Map<String, Long> contagem = somas.contagemNoPeriodo(LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 31));
+
+        Assertions.assertFalse(contagem.containsKey("Atacante"));
+        Assertions.assertEquals(4L, contagem.get("Defensor"));
+    }
+
+    @Test
+    void deveRetornarVazioQuandoPeriodoForInvertidoOuForaDoIntervalo() {
+        Assertions.assertTrue(somas.contagemNoPeriodo(LocalDate.of(2024, 5, 1), LocalDate.of(2024, 4, 1)).isEmpty());
+        Assertions.assertTrue(somas.contagemNoPeriodo(LocalDate.of(2025, 5, 1), LocalDate.of(2025, 6, 1)).isEmpty());
+    }
+
+    @Test
+    void deveCorrigirAsSomasAoSomarUmValor() {
+        somas.somar("Atacante", LocalDate.of(2024, 3, 10), -3);
+        somas.somar("Goleiro", LocalDate.of(2024, 6, 1), 1);
+
+        Map<String, Long> contagem = somas.contagemNoPeriodo(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 6, 30));
+
+        Assertions.assertFalse(contagem.containsKey("Atacante"));
+        Assertions.assertEquals(1L, contagem.get("Goleiro"));
+        Assertions.assertEquals(1L, contagem.get("Defensor"));
+    }
+
+    @Test
+    void deveRecusarDatasForaDoIntervalo() {
+        Assertions.assertFalse(somas.cobre(LocalDate.of(2025, 1, 1)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> somas.somar("Atacante", LocalDate.of(2025, 1, 1), 1));
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.duxusdesafio.component;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AposConfirmacaoTest {
+
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void confirmar() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    }
+
+    @Test
+    void deveExecutarImediatamenteForaDeUmaTransacao() {
+        AposConfirmacao.executar(execucoes::incrementAndGet);
+        AposConfirmacao.executarAgoraEAposConfirmar(execucoes::incrementAndGet);
+
+        Assertions.assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    void deveExecutarSomenteAposAConfirmacao() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        AposConfirmacao.executar(execucoes::incrementAndGet);
+        Assertions.assertEquals(0, execucoes.get());
+
+        confirmar();
+        Assertions.assertEquals(1, execucoes.get());
+    }
+
+    @Test
+    void deveExecutarAgoraENovamenteAposAConfirmacao() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        AposConfirmacao.executarAgoraEAposConfirmar(execucoes::incrementAndGet);
+        Assertions.assertEquals(1, execucoes.get());
+
+        confirmar();
+        Assertions.assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    void naoDeveExecutarQuandoATransacaoForDesfeita() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        AposConfirmacao.executar(execucoes::incrementAndGet);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sincronizacao -> sincronizacao.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        Assertions.assertEquals(0, execucoes.get());
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.duxusdesafio.component;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class ConsultaCondicionalInterceptorTest {
+
+    @InjectMocks
+    private ConsultaCondicionalInterceptor interceptor;
+
+    @Spy
+    private VersaoDosDados versaoDosDados = new VersaoDosDados();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void deveEnviarAEtagDaVersaoAtual() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean continuar = interceptor.preHandle(new MockHttpServletRequest("GET", "/time/listar"), response, null);
+
+        Assertions.assertTrue(continuar);
+        Assertions.assertEquals(versaoDosDados.getEtag(), response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void deveResponderNaoModificadoQuandoAEtagCoincidir() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/contagem-por-funcao");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"outra\", " + versaoDosDados.getEtag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean continuar = interceptor.preHandle(request, response, null);
+
+        Assertions.assertFalse(continuar);
+        Assertions.assertEquals(HttpStatus.NOT_MODIFIED.value(), response.getStatus());
+    }
+
+    @Test
+    void deveResponderNormalmenteDepoisDeUmaEscrita() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/integrante/listar");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, versaoDosDados.getEtag());
+        versaoDosDados.registrarEscrita();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean continuar = interceptor.preHandle(request, response, null);
+
+        Assertions.assertTrue(continuar);
+        Assertions.assertNotEquals(request.getHeader(HttpHeaders.IF_NONE_MATCH), response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void naoDeveAvaliarRequisicoesQueNaoSejamGet() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/time/cadastrar");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        Assertions.assertTrue(interceptor.preHandle(request, response, null));
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+}
@@ -0,0 +1,76 @@
+package br.com.duxusdesafio.configuration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MonitorDeReplicaTest {
+
+    private static final String CONSULTA = "select atraso";
+
+    private final AtomicLong agora = new AtomicLong(100_000);
+
+    private JdbcTemplate replica;
+
+    private MonitorDeReplica monitor;
+
+    @BeforeEach
+    void setUp() {
+        replica = Mockito.mock(JdbcTemplate.class);
+        monitor = new MonitorDeReplica(replica, CONSULTA, 5_000, 1_000, agora::get);
+    }
+
+    private void medirAtraso(long atrasoMs) {
+        Mockito.when(replica.queryForObject(CONSULTA, Number.class)).thenReturn(atrasoMs);
+        monitor.verificar();
+    }
+
+    @Test
+    void deveConsiderarReplicaIndisponivelAntesDaPrimeiraVerificacao() {
+        Assertions.assertFalse(monitor.replicaDisponivel());
+    }
+
+    @Test
+    void deveUsarAReplicaQuandoOAtrasoEstiverDentroDoMaximo() {
+        medirAtraso(5_000);
+
+        Assertions.assertTrue(monitor.replicaDisponivel());
+        Assertions.assertEquals(5_000, monitor.getAtrasoMedidoMs());
+    }
+
+    @Test
+    void deveVoltarParaAPrimariaQuandoOAtrasoPassarDoMaximo() {
+        medirAtraso(200);
+        medirAtraso(5_001);
+
+        Assertions.assertFalse(monitor.replicaDisponivel());
+    }
+
+    @Test
+    void deveVoltarParaAPrimariaQuandoAConsultaDoAtrasoFalhar() {
+        medirAtraso(0);
+        Mockito.when(replica.queryForObject(CONSULTA, Number.class))
+                .thenThrow(new DataAccessResourceFailureException("réplica fora do ar"));
+
+        monitor.verificar();
+
+        Assertions.assertFalse(monitor.replicaDisponivel());
+    }
+
+    @Test
+    void deveManterAsLeiturasNaPrimariaLogoAposUmaEscrita() {
+        medirAtraso(0);
+
+        monitor.registrarEscrita();
+        agora.addAndGet(6_000);
+        Assertions.assertFalse(monitor.replicaDisponivel());
+
+        agora.addAndGet(1);
+        Assertions.assertTrue(monitor.replicaDisponivel());
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.duxusdesafio.configuration;
+
+import br.com.duxusdesafio.dto.TimeDto;
+import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.repository.IntegranteRepository;
+import br.com.duxusdesafio.response.CadastroEmLoteResponse;
+import br.com.duxusdesafio.service.IntegranteService;
+import br.com.duxusdesafio.service.TimeService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Collections;
+
+/**
+ * Usa dois bancos H2 em memória no lugar da primária e da réplica; o atraso da réplica
+ * é lido de uma tabela do próprio banco da réplica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primaria;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "duxus.replica.habilitada=true",
+        "duxus.replica.url=" + ReplicaDeLeituraConfigTest.URL_DA_REPLICA,
+        "duxus.replica.consulta-atraso=select atraso_ms from atraso_da_replica",
+        "duxus.replica.atraso-maximo-ms=5000",
+        "duxus.replica.intervalo-de-verificacao-ms=3600000"
+})
+public class ReplicaDeLeituraConfigTest {
+
+    static final String URL_DA_REPLICA = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private final JdbcTemplate bancoDaReplica = new JdbcTemplate(new DriverManagerDataSource(URL_DA_REPLICA, "sa", ""));
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MonitorDeReplica monitor;
+
+    @Autowired
+    private IntegranteRepository integranteRepository;
+
+    @Autowired
+    private IntegranteService integranteService;
+
+    @Autowired
+    private TimeService timeService;
+
+    @BeforeEach
+    void setUp() {
+        bancoDaReplica.execute("create table if not exists atraso_da_replica (atraso_ms bigint)");
+        ReflectionTestUtils.setField(monitor, "ultimaEscritaMs", Long.MIN_VALUE);
+        simularAtraso(0);
+    }
+
+    private void simularAtraso(long atrasoMs) {
+        bancoDaReplica.update("delete from atraso_da_replica");
+        bancoDaReplica.update("insert into atraso_da_replica (atraso_ms) values (?)", atrasoMs);
+        monitor.verificar();
+    }
+
+    /**
+     * Grava na primária como outra instância faria: a janela após a escrita desta instância não é aberta.
+     * A réplica não tem as tabelas da aplicação, então uma consulta enviada a ela falha.
+     */
+    private Integrante integranteGravadoPorOutraInstancia() {
+        Integrante integrante = integranteRepository.save(new Integrante("Franquia", "Nome", "Função", null));
+        ReflectionTestUtils.setField(monitor, "ultimaEscritaMs", Long.MIN_VALUE);
+        return integrante;
+    }
+
+    private String bancoUsado(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.setReadOnly(somenteLeitura);
+        return transacao.execute(status ->
+                String.valueOf(entityManager.createNativeQuery("select database()").getSingleResult()));
+    }
+
+    @Test
+    void deveEnviarAsLeiturasParaAReplicaEAsEscritasParaAPrimaria() {
+        Assertions.assertEquals("REPLICA", bancoUsado(true));
+        Assertions.assertEquals("PRIMARIA", bancoUsado(false));
+    }
+
+    @Test
+    void deveVoltarParaAPrimariaEnquantoAReplicaEstiverAtrasada() {
+        simularAtraso(60_000);
+        Assertions.assertEquals("PRIMARIA", bancoUsado(true));
+
+        simularAtraso(100);
+        Assertions.assertEquals("REPLICA", bancoUsado(true));
+    }
+
+    @Test
+    void deveLerDaPrimariaLogoAposUmaEscrita() {
+        integranteRepository.save(new Integrante("Franquia", "Nome", "Função", null));
+
+        Assertions.assertEquals("PRIMARIA", bancoUsado(true));
+    }
+
+    @Test
+    void deveContarAJanelaAposEscritaAPartirDaConfirmacao() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.execute(status -> {
+            integranteRepository.save(new Integrante("Franquia", "Nome", "Função", null));
+            entityManager.flush();
+            // simula uma escrita mais demorada que a janela: o registro do início já expirou
+            ReflectionTestUtils.setField(monitor, "ultimaEscritaMs", 0L);
+            return null;
+        });
+
+        Assertions.assertEquals("PRIMARIA", bancoUsado(true));
+    }
+
+    @Test
+    void deveVerificarOIntegranteNaPrimariaAntesDeExcluir() {
+        Integrante integrante = integranteGravadoPorOutraInstancia();
+
+        integranteService.deletarIntegrante(integrante.getId());
+
+        Assertions.assertFalse(integranteRepository.existsById(integrante.getId()));
+    }
+
+    @Test
+    void deveBuscarOsIntegrantesDoCadastroEmLoteNaPrimaria() {
+        Integrante integrante = integranteGravadoPorOutraInstancia();
+        TimeDto time = new TimeDto();
+        time.setData(LocalDate.now().plusDays(1));
+        time.setIdsIntegrantes(Collections.singletonList(integrante.getId()));
+
+        CadastroEmLoteResponse resposta = timeService.cadastrarTimesEmLote(Collections.singletonList(time));
+
+        Assertions.assertEquals(1, resposta.getCadastrados());
+    }
+}
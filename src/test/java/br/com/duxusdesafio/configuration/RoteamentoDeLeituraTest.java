@@ -0,0 +1,82 @@
+package br.com.duxusdesafio.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class RoteamentoDeLeituraTest {
+
+    private MonitorDeReplica monitor;
+
+    private RoteamentoDeLeitura roteamento;
+
+    @BeforeEach
+    void setUp() {
+        monitor = Mockito.mock(MonitorDeReplica.class);
+        roteamento = new RoteamentoDeLeitura(monitor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    private void iniciarTransacao(boolean somenteLeitura) {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(somenteLeitura);
+    }
+
+    @Test
+    void deveEnviarTransacaoSomenteLeituraParaAReplicaDisponivel() {
+        Mockito.when(monitor.replicaDisponivel()).thenReturn(true);
+        iniciarTransacao(true);
+
+        Assertions.assertEquals(RoteamentoDeLeitura.Destino.REPLICA, roteamento.determineCurrentLookupKey());
+        Mockito.verify(monitor, Mockito.never()).registrarEscrita();
+    }
+
+    @Test
+    void deveEnviarTransacaoSomenteLeituraParaAPrimariaQuandoAReplicaAtrasar() {
+        Mockito.when(monitor.replicaDisponivel()).thenReturn(false);
+        iniciarTransacao(true);
+
+        Assertions.assertEquals(RoteamentoDeLeitura.Destino.PRIMARIA, roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    void deveEnviarTransacaoDeEscritaParaAPrimariaERegistrarAEscrita() {
+        Mockito.when(monitor.replicaDisponivel()).thenReturn(true);
+        iniciarTransacao(false);
+
+        Assertions.assertEquals(RoteamentoDeLeitura.Destino.PRIMARIA, roteamento.determineCurrentLookupKey());
+        Mockito.verify(monitor).registrarEscrita();
+    }
+
+    @Test
+    void deveRegistrarAEscritaNovamenteNaConfirmacaoDaTransacao() {
+        iniciarTransacao(false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        roteamento.determineCurrentLookupKey();
+        Mockito.verify(monitor, Mockito.times(1)).registrarEscrita();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        Mockito.verify(monitor, Mockito.times(2)).registrarEscrita();
+    }
+
+    @Test
+    void deveEnviarConexoesSemTransacaoParaAPrimariaSemRegistrarEscrita() {
+        Mockito.when(monitor.replicaDisponivel()).thenReturn(true);
+
+        Assertions.assertEquals(RoteamentoDeLeitura.Destino.PRIMARIA, roteamento.determineCurrentLookupKey());
+        Mockito.verify(monitor, Mockito.never()).registrarEscrita();
+    }
+}
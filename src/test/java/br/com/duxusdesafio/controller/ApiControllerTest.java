@@ -4,11 +4,15 @@ import br.com.duxusdesafio.exceptions.DateNotFoundException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
 import br.com.duxusdesafio.exceptions.NullTimeException;
 import br.com.duxusdesafio.model.Integrante;
-import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.response.ContagemRankingResponse;
+import br.com.duxusdesafio.response.EstatisticasDoCacheResponse;
 import br.com.duxusdesafio.response.FuncaoMaisComumResponse;
+import br.com.duxusdesafio.response.IntegranteAproximadoResponse;
+import br.com.duxusdesafio.response.IntegranteRankingResponse;
+import br.com.duxusdesafio.response.IntegrantesDoTimeResponse;
+import br.com.duxusdesafio.response.PainelResponse;
 import br.com.duxusdesafio.response.TimeDaDataResponse;
 import br.com.duxusdesafio.service.ApiService;
-import br.com.duxusdesafio.service.TimeService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +25,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,9 +38,6 @@ public class ApiControllerTest {
     @Mock
     private ApiService apiService;
 
-    @Mock
-    private TimeService timeService;
-
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -44,11 +46,11 @@ public class ApiControllerTest {
     @Test
     void deveRetornarTimesDaDataComSucesso() throws DateNotFoundException, NullTimeException, NotFoundException {
         LocalDate data = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
-        List<String> nomesIntegrantes = Arrays.asList("Integrante1", "Integrante2");
+        List<IntegrantesDoTimeResponse> times = Arrays.asList(
+                new IntegrantesDoTimeResponse(1L, Arrays.asList("Integrante1", "Integrante2")),
+                new IntegrantesDoTimeResponse(2L, Arrays.asList("Integrante3")));
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.timeDaData(data, todosOsTimes)).thenReturn(nomesIntegrantes);
+        Mockito.when(apiService.timesDaData(data)).thenReturn(new TimeDaDataResponse(data, times));
 
         ResponseEntity<Object> response = apiController.getTimesDaData(data);
 
@@ -58,13 +60,15 @@ public class ApiControllerTest {
 
         Assertions.assertNotNull(responseBody);
         Assertions.assertEquals(data, responseBody.getData());
+        Assertions.assertEquals(2, responseBody.getTimes().size());
+        Assertions.assertEquals(Arrays.asList("Integrante1", "Integrante2"), responseBody.getIntegrantes());
     }
 
     @Test
     void deveRetornarNotFoundQuandoDateNotFoundException() throws DateNotFoundException, NullTimeException, NotFoundException {
         LocalDate data = LocalDate.now();
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenThrow(new DateNotFoundException("Data não encontrada"));
+        Mockito.when(apiService.timesDaData(data)).thenThrow(new DateNotFoundException("Data não encontrada"));
 
         ResponseEntity<Object> response = apiController.getTimesDaData(data);
 
@@ -76,7 +80,7 @@ public class ApiControllerTest {
     void deveRetornarNotFoundQuandoNullTimeException() throws DateNotFoundException, NullTimeException, NotFoundException {
         LocalDate data = LocalDate.now();
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenThrow(new NullTimeException("Data é nula"));
+        Mockito.when(apiService.timesDaData(data)).thenThrow(new NullTimeException("Data é nula"));
 
         ResponseEntity<Object> response = apiController.getTimesDaData(data);
 
@@ -88,7 +92,7 @@ public class ApiControllerTest {
     void deveRetornarNotFoundQuandoNotFoundException() throws DateNotFoundException, NullTimeException, NotFoundException {
         LocalDate data = LocalDate.now();
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenThrow(new NotFoundException("Nenhum time encontrado"));
+        Mockito.when(apiService.timesDaData(data)).thenThrow(new NotFoundException("Nenhum time encontrado"));
 
         ResponseEntity<Object> response = apiController.getTimesDaData(data);
 
@@ -100,7 +104,7 @@ public class ApiControllerTest {
     void deveRetornarInternalServerErrorQuandoOcorrerExcecaoGenerica() throws DateNotFoundException, NullTimeException, NotFoundException {
         LocalDate data = LocalDate.now();
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenThrow(new RuntimeException("Erro interno"));
+        Mockito.when(apiService.timesDaData(data)).thenThrow(new RuntimeException("Erro interno"));
 
         ResponseEntity<Object> response = apiController.getTimesDaData(data);
 
@@ -114,12 +118,9 @@ public class ApiControllerTest {
         LocalDate dataFinal = LocalDate.now();
         Integrante integranteMaisUsado = new Integrante();
 
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
-
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.integranteMaisUsado(dataInicial, dataFinal, todosOsTimes)).thenReturn(integranteMaisUsado);
+        Mockito.when(apiService.integranteMaisUsado(dataInicial, dataFinal)).thenReturn(integranteMaisUsado);
 
-        ResponseEntity<Object> response = apiController.getIntegranteMaisUsado(dataInicial, dataFinal);
+        ResponseEntity<Object> response = apiController.getIntegranteMaisUsado(dataInicial, dataFinal, false);
 
         Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
         Assertions.assertEquals(integranteMaisUsado, response.getBody());
@@ -129,13 +130,11 @@ public class ApiControllerTest {
     void deveRetornarNotFoundException() throws DateNotFoundException, NullTimeException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.integranteMaisUsado(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.integranteMaisUsado(dataInicial, dataFinal))
                 .thenThrow(new NotFoundException("Integrante não encontrado"));
 
-        ResponseEntity<Object> response = apiController.getIntegranteMaisUsado(dataInicial, dataFinal);
+        ResponseEntity<Object> response = apiController.getIntegranteMaisUsado(dataInicial, dataFinal, false);
 
         Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         Assertions.assertEquals("Integrante não encontrado", response.getBody());
@@ -145,13 +144,11 @@ public class ApiControllerTest {
     void deveRetornarDateNotFoundException() throws DateNotFoundException, NullTimeException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.integranteMaisUsado(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.integranteMaisUsado(dataInicial, dataFinal))
                 .thenThrow(new DateNotFoundException("Data não encontrada"));
 
-        ResponseEntity<Object> response = apiController.getIntegranteMaisUsado(dataInicial, dataFinal);
+        ResponseEntity<Object> response = apiController.getIntegranteMaisUsado(dataInicial, dataFinal, false);
 
         Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         Assertions.assertEquals("Data não encontrada", response.getBody());
@@ -161,13 +158,11 @@ public class ApiControllerTest {
     void deveRetornarInternalServerErrorParaExcecaoGenerica() throws DateNotFoundException, NullTimeException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.integranteMaisUsado(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.integranteMaisUsado(dataInicial, dataFinal))
                 .thenThrow(new RuntimeException("Erro inesperado"));
 
-        ResponseEntity<Object> response = apiController.getIntegranteMaisUsado(dataInicial, dataFinal);
+        ResponseEntity<Object> response = apiController.getIntegranteMaisUsado(dataInicial, dataFinal, false);
 
         Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
         Assertions.assertEquals("Erro inesperado", response.getBody());
@@ -177,11 +172,9 @@ public class ApiControllerTest {
     void deveRetornarTimeMaisComumComSucesso() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
         List<String> nomesIntegrantes = Arrays.asList("Integrante 1", "Integrante 2");
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.timeMaisComum(dataInicial, dataFinal, todosOsTimes)).thenReturn(nomesIntegrantes);
+        Mockito.when(apiService.timeMaisComum(dataInicial, dataFinal)).thenReturn(nomesIntegrantes);
 
         ResponseEntity<Object> response = apiController.getTimeMaisComum(dataInicial, dataFinal);
 
@@ -193,10 +186,8 @@ public class ApiControllerTest {
     void deveRetornarNotFoundExceptionTimeMaisComum() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.timeMaisComum(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.timeMaisComum(dataInicial, dataFinal))
                 .thenThrow(new NotFoundException("Time não encontrado"));
 
         ResponseEntity<Object> response = apiController.getTimeMaisComum(dataInicial, dataFinal);
@@ -209,10 +200,8 @@ public class ApiControllerTest {
     void deveRetornarDateNotFoundExceptionTimemaisComum() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.timeMaisComum(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.timeMaisComum(dataInicial, dataFinal))
                 .thenThrow(new DateNotFoundException("Data não encontrada"));
 
         ResponseEntity<Object> response = apiController.getTimeMaisComum(dataInicial, dataFinal);
@@ -225,10 +214,8 @@ public class ApiControllerTest {
     void deveRetornarInternalServerErrorParaExcecaoGenericaTimemaisComum() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.timeMaisComum(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.timeMaisComum(dataInicial, dataFinal))
                 .thenThrow(new RuntimeException("Erro inesperado"));
 
         ResponseEntity<Object> response = apiController.getTimeMaisComum(dataInicial, dataFinal);
@@ -241,11 +228,9 @@ public class ApiControllerTest {
     void deveRetornarFuncaoMaisComumComSucesso() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
         String funcaoMaisComum = "Atacante";
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.funcaoMaisComum(dataInicial, dataFinal, todosOsTimes)).thenReturn(funcaoMaisComum);
+        Mockito.when(apiService.funcaoMaisComum(dataInicial, dataFinal)).thenReturn(funcaoMaisComum);
 
         ResponseEntity<Object> response = apiController.getFuncaoMaisComum(dataInicial, dataFinal);
 
@@ -258,10 +243,8 @@ public class ApiControllerTest {
     void deveRetornarNotFoundExceptionFuncaoMaisComum() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.funcaoMaisComum(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.funcaoMaisComum(dataInicial, dataFinal))
                 .thenThrow(new NotFoundException("Função não encontrada"));
 
         ResponseEntity<Object> response = apiController.getFuncaoMaisComum(dataInicial, dataFinal);
@@ -274,10 +257,8 @@ public class ApiControllerTest {
     void deveRetornarDateNotFoundExceptionFuncaoMaisComum() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.funcaoMaisComum(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.funcaoMaisComum(dataInicial, dataFinal))
                 .thenThrow(new DateNotFoundException("Data não encontrada"));
 
         ResponseEntity<Object> response = apiController.getFuncaoMaisComum(dataInicial, dataFinal);
@@ -290,10 +271,8 @@ public class ApiControllerTest {
     void deveRetornarInternalServerErrorParaExcecaoGenericaFuncaoMaisComum() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.funcaoMaisComum(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.funcaoMaisComum(dataInicial, dataFinal))
                 .thenThrow(new RuntimeException("Erro inesperado"));
 
         ResponseEntity<Object> response = apiController.getFuncaoMaisComum(dataInicial, dataFinal);
@@ -306,11 +285,9 @@ public class ApiControllerTest {
     void deveRetornarFranquiaMaisFamosaComSucesso() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
         String franquiaMaisFamosa = "Franquia A";
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.franquiaMaisFamosa(dataInicial, dataFinal, todosOsTimes)).thenReturn(franquiaMaisFamosa);
+        Mockito.when(apiService.franquiaMaisFamosa(dataInicial, dataFinal)).thenReturn(franquiaMaisFamosa);
 
         ResponseEntity<Object> response = apiController.getFranquiaMaisFamosa(dataInicial, dataFinal);
 
@@ -322,10 +299,8 @@ public class ApiControllerTest {
     void deveRetornarNotFoundExceptionFranquiaMaisFamosa() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.franquiaMaisFamosa(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.franquiaMaisFamosa(dataInicial, dataFinal))
                 .thenThrow(new NotFoundException("Franquia não encontrada"));
 
         ResponseEntity<Object> response = apiController.getFranquiaMaisFamosa(dataInicial, dataFinal);
@@ -338,10 +313,8 @@ public class ApiControllerTest {
     void deveRetornarDateNotFoundExceptionFranquiaMaisFamosa() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.franquiaMaisFamosa(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.franquiaMaisFamosa(dataInicial, dataFinal))
                 .thenThrow(new DateNotFoundException("Data não encontrada"));
 
         ResponseEntity<Object> response = apiController.getFranquiaMaisFamosa(dataInicial, dataFinal);
@@ -354,10 +327,8 @@ public class ApiControllerTest {
     void deveRetornarInternalServerErrorParaExcecaoGenericaFranquiaMaisFamosa() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.franquiaMaisFamosa(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.franquiaMaisFamosa(dataInicial, dataFinal))
                 .thenThrow(new RuntimeException("Erro inesperado"));
 
         ResponseEntity<Object> response = apiController.getFranquiaMaisFamosa(dataInicial, dataFinal);
@@ -370,13 +341,11 @@ public class ApiControllerTest {
     void deveRetornarContagemPorFranquiaComSucesso() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
         Map<String, Long> contagemPorFranquia = new HashMap<>();
         contagemPorFranquia.put("Franquia A", 5L);
         contagemPorFranquia.put("Franquia B", 3L);
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.contagemPorFranquia(dataInicial, dataFinal, todosOsTimes)).thenReturn(contagemPorFranquia);
+        Mockito.when(apiService.contagemPorFranquia(dataInicial, dataFinal)).thenReturn(contagemPorFranquia);
 
         ResponseEntity<Object> response = apiController.getContagemPorFranquia(dataInicial, dataFinal);
 
@@ -388,10 +357,8 @@ public class ApiControllerTest {
     void deveRetornarNotFoundExceptionContagemPorFranquia() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.contagemPorFranquia(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.contagemPorFranquia(dataInicial, dataFinal))
                 .thenThrow(new NotFoundException("Franquia não encontrada"));
 
         ResponseEntity<Object> response = apiController.getContagemPorFranquia(dataInicial, dataFinal);
@@ -404,10 +371,8 @@ public class ApiControllerTest {
     void deveRetornarDateNotFoundExceptionContagemPorFranquia() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.contagemPorFranquia(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.contagemPorFranquia(dataInicial, dataFinal))
                 .thenThrow(new DateNotFoundException("Data não encontrada"));
 
         ResponseEntity<Object> response = apiController.getContagemPorFranquia(dataInicial, dataFinal);
@@ -420,10 +385,8 @@ public class ApiControllerTest {
     void deveRetornarInternalServerErrorParaExcecaoGenericaContagemPorFranquia() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.contagemPorFranquia(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.contagemPorFranquia(dataInicial, dataFinal))
                 .thenThrow(new RuntimeException("Erro inesperado"));
 
         ResponseEntity<Object> response = apiController.getContagemPorFranquia(dataInicial, dataFinal);
@@ -436,13 +399,11 @@ public class ApiControllerTest {
     void deveRetornarContagemPorFuncaoComSucesso() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
         Map<String, Long> contagemPorFuncao = new HashMap<>();
         contagemPorFuncao.put("Função A", 5L);
         contagemPorFuncao.put("Função B", 3L);
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.contagemPorFuncao(dataInicial, dataFinal, todosOsTimes)).thenReturn(contagemPorFuncao);
+        Mockito.when(apiService.contagemPorFuncao(dataInicial, dataFinal)).thenReturn(contagemPorFuncao);
 
         ResponseEntity<Object> response = apiController.getContagemPorFuncao(dataInicial, dataFinal);
 
@@ -454,10 +415,8 @@ public class ApiControllerTest {
     void deveRetornarNotFoundExceptionContagemPorFuncao() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.contagemPorFuncao(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.contagemPorFuncao(dataInicial, dataFinal))
                 .thenThrow(new NotFoundException("Função não encontrada"));
 
         ResponseEntity<Object> response = apiController.getContagemPorFuncao(dataInicial, dataFinal);
@@ -470,10 +429,8 @@ public class ApiControllerTest {
     void deveRetornarDateNotFoundExceptionContagemPorFuncao() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.contagemPorFuncao(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.contagemPorFuncao(dataInicial, dataFinal))
                 .thenThrow(new DateNotFoundException("Data não encontrada"));
 
         ResponseEntity<Object> response = apiController.getContagemPorFuncao(dataInicial, dataFinal);
@@ -486,10 +443,8 @@ public class ApiControllerTest {
     void deveRetornarInternalServerErrorParaExcecaoGenericaContagemPorFuncao() throws DateNotFoundException, NotFoundException {
         LocalDate dataInicial = LocalDate.now().minusDays(10);
         LocalDate dataFinal = LocalDate.now();
-        List<Time> todosOsTimes = Arrays.asList(new Time(), new Time());
 
-        Mockito.when(timeService.listarTodosOsTimes()).thenReturn(todosOsTimes);
-        Mockito.when(apiService.contagemPorFuncao(dataInicial, dataFinal, todosOsTimes))
+        Mockito.when(apiService.contagemPorFuncao(dataInicial, dataFinal))
                 .thenThrow(new RuntimeException("Erro inesperado"));
 
         ResponseEntity<Object> response = apiController.getContagemPorFuncao(dataInicial, dataFinal);
@@ -498,4 +453,129 @@ public class ApiControllerTest {
         Assertions.assertEquals("Erro inesperado", response.getBody());
     }
 
+    @Test
+    void deveRetornarPainelComSucesso() {
+        LocalDate dataInicial = LocalDate.now().minusDays(10);
+        LocalDate dataFinal = LocalDate.now();
+        PainelResponse painel = new PainelResponse(dataInicial, dataFinal, new Integrante(),
+                Arrays.asList("Integrante 1"), "Atacante", "Franquia A",
+                Collections.singletonMap("Franquia A", 1L), Collections.singletonMap("Atacante", 1L));
+
+        Mockito.when(apiService.painel(dataInicial, dataFinal)).thenReturn(painel);
+
+        ResponseEntity<Object> response = apiController.getPainel(dataInicial, dataFinal);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(painel, response.getBody());
+    }
+
+    @Test
+    void deveRetornarNotFoundExceptionPainel() {
+        LocalDate dataInicial = LocalDate.now().minusDays(10);
+        LocalDate dataFinal = LocalDate.now();
+
+        Mockito.when(apiService.painel(dataInicial, dataFinal))
+                .thenThrow(new NotFoundException("Nenhum time encontrado no período especificado."));
+
+        ResponseEntity<Object> response = apiController.getPainel(dataInicial, dataFinal);
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        Assertions.assertEquals("Nenhum time encontrado no período especificado.", response.getBody());
+    }
+
+    @Test
+    void deveRetornarTopIntegrantesComSucesso() {
+        LocalDate dataInicial = LocalDate.now().minusDays(10);
+        LocalDate dataFinal = LocalDate.now();
+        List<IntegranteRankingResponse> ranking = Arrays.asList(new IntegranteRankingResponse(new Integrante(), 3L));
+
+        Mockito.when(apiService.topIntegrantes(dataInicial, dataFinal, 5)).thenReturn(ranking);
+
+        ResponseEntity<Object> response = apiController.getTopIntegrantes(dataInicial, dataFinal, 5, false);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(ranking, response.getBody());
+    }
+
+    @Test
+    void deveRetornarTopFuncoesComSucesso() {
+        LocalDate dataInicial = LocalDate.now().minusDays(10);
+        LocalDate dataFinal = LocalDate.now();
+        List<ContagemRankingResponse> ranking = Arrays.asList(new ContagemRankingResponse("Atacante", 2L));
+
+        Mockito.when(apiService.topFuncoes(dataInicial, dataFinal, 10)).thenReturn(ranking);
+
+        ResponseEntity<Object> response = apiController.getTopFuncoes(dataInicial, dataFinal, 10);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(ranking, response.getBody());
+    }
+
+    @Test
+    void deveRetornarBadRequestQuandoKForInvalidoNoTopFranquias() {
+        LocalDate dataInicial = LocalDate.now().minusDays(10);
+        LocalDate dataFinal = LocalDate.now();
+
+        Mockito.when(apiService.topFranquias(dataInicial, dataFinal, 0))
+                .thenThrow(new IllegalArgumentException("A quantidade de posições deve ser maior que zero."));
+
+        ResponseEntity<Object> response = apiController.getTopFranquias(dataInicial, dataFinal, 0);
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void deveRetornarNotFoundQuandoNaoHouverTimesNoTopFranquias() {
+        LocalDate dataInicial = LocalDate.now().minusDays(10);
+        LocalDate dataFinal = LocalDate.now();
+
+        Mockito.when(apiService.topFranquias(dataInicial, dataFinal, 3))
+                .thenThrow(new NotFoundException("Nenhum time encontrado no período especificado."));
+
+        ResponseEntity<Object> response = apiController.getTopFranquias(dataInicial, dataFinal, 3);
+
+        Assertions.assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void deveRetornarIntegranteMaisUsadoAproximado() {
+        LocalDate dataInicial = LocalDate.now().minusYears(10);
+        LocalDate dataFinal = LocalDate.now();
+        IntegranteAproximadoResponse aproximado = new IntegranteAproximadoResponse(new Integrante(), 120L, 4L);
+
+        Mockito.when(apiService.integranteMaisUsadoAproximado(dataInicial, dataFinal)).thenReturn(aproximado);
+
+        ResponseEntity<Object> response = apiController.getIntegranteMaisUsado(dataInicial, dataFinal, true);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(aproximado, response.getBody());
+        Mockito.verify(apiService, Mockito.never()).integranteMaisUsado(dataInicial, dataFinal);
+    }
+
+    @Test
+    void deveRetornarTopIntegrantesAproximado() {
+        LocalDate dataInicial = LocalDate.now().minusYears(10);
+        LocalDate dataFinal = LocalDate.now();
+        List<IntegranteAproximadoResponse> ranking = Arrays.asList(new IntegranteAproximadoResponse(new Integrante(), 120L, 4L));
+
+        Mockito.when(apiService.topIntegrantesAproximado(dataInicial, dataFinal, 3)).thenReturn(ranking);
+
+        ResponseEntity<Object> response = apiController.getTopIntegrantes(dataInicial, dataFinal, 3, true);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(ranking, response.getBody());
+    }
+
+    @Test
+    void deveRetornarEstatisticasDoCache() {
+        EstatisticasDoCacheResponse estatisticas = new EstatisticasDoCacheResponse(100L, 3L, 5L, 2L, 0L, Collections.emptyList());
+
+        Mockito.when(apiService.estatisticasDoCache()).thenReturn(estatisticas);
+
+        ResponseEntity<Object> response = apiController.getEstatisticasDoCache();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(estatisticas, response.getBody());
+    }
+
 }
@@ -0,0 +1,52 @@
+package br.com.duxusdesafio.controller;
+
+import br.com.duxusdesafio.service.EstatisticaService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+public class EstatisticaControllerTest {
+
+    @InjectMocks
+    private EstatisticaController estatisticaController;
+
+    @Mock
+    private EstatisticaService estatisticaService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void deveReconstruirAsEstatisticas() {
+        ResponseEntity<Object> response = estatisticaController.reconstruir();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Mockito.verify(estatisticaService).reconstruir();
+    }
+
+    @Test
+    void deveCompactarAsEstatisticasMensais() {
+        ResponseEntity<Object> response = estatisticaController.compactar();
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Mockito.verify(estatisticaService).compactar();
+    }
+
+    @Test
+    void deveRetornarInternalServerErrorQuandoAReconstrucaoFalhar() {
+        Mockito.doThrow(new RuntimeException("Erro")).when(estatisticaService).reconstruir();
+
+        ResponseEntity<Object> response = estatisticaController.reconstruir();
+
+        Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        Assertions.assertEquals("Erro", response.getBody());
+    }
+}
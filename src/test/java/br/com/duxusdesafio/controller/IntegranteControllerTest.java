@@ -5,6 +5,9 @@ import br.com.duxusdesafio.exceptions.IntegranteException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
 import br.com.duxusdesafio.exceptions.NullIntegranteException;
 import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.response.ImportacaoResponse;
+import br.com.duxusdesafio.response.IntegranteResponse;
+import br.com.duxusdesafio.response.PaginaResponse;
 import br.com.duxusdesafio.service.IntegranteService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +19,10 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -106,6 +113,51 @@ public class IntegranteControllerTest {
         Assertions.assertEquals("Erro ao listar integrantes", response.getBody());
     }
 
+    @Test
+    void deveImportarIntegrantesDoCsv() throws Exception {
+        InputStream csv = new ByteArrayInputStream("Franquia,Nome,Funcao".getBytes(StandardCharsets.UTF_8));
+        ImportacaoResponse resposta = new ImportacaoResponse();
+        Mockito.when(integranteService.importarIntegrantes(csv, true)).thenReturn(resposta);
+
+        ResponseEntity<Object> response = integranteController.importarIntegrantes(csv, true);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(resposta, response.getBody());
+    }
+
+    @Test
+    void deveRetornarInternalServerErrorQuandoALeituraDoCsvFalhar() throws Exception {
+        InputStream csv = new ByteArrayInputStream(new byte[0]);
+        Mockito.when(integranteService.importarIntegrantes(csv, false)).thenThrow(new IOException("Conexão encerrada"));
+
+        ResponseEntity<Object> response = integranteController.importarIntegrantes(csv, false);
+
+        Assertions.assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        Assertions.assertEquals("Conexão encerrada", response.getBody());
+    }
+
+    @Test
+    void deveListarIntegrantesPaginadosComSucesso() {
+        PaginaResponse<Integrante> pagina = new PaginaResponse<>(Arrays.asList(new Integrante()), null);
+        Mockito.when(integranteService.listarIntegrantesPaginados(10L, 20)).thenReturn(pagina);
+
+        ResponseEntity<Object> response = integranteController.listarIntegrantesPaginados(10L, 20);
+
+        Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+        Assertions.assertEquals(pagina, response.getBody());
+    }
+
+    @Test
+    void deveRetornarBadRequestParaTamanhoDePaginaInvalido() {
+        Mockito.when(integranteService.listarIntegrantesPaginados(null, -1))
+                .thenThrow(new IllegalArgumentException("O tamanho da página deve ser maior que zero."));
+
+        ResponseEntity<Object> response = integranteController.listarIntegrantesPaginados(null, -1);
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        Assertions.assertEquals("O tamanho da página deve ser maior que zero.", response.getBody());
+    }
+
     @Test
     void deveRetornarInternalServerErrorParaExcecaoGenericaListarIntegrantes() {
         Mockito.when(integranteService.listarIntegrantes())
@@ -120,7 +172,7 @@ public class IntegranteControllerTest {
     @Test
     void deveBuscarIntegrantePorIdComSucesso() throws NullIntegranteException {
         Long id = 1L;
-        Integrante integrante = new Integrante();
+        IntegranteResponse integrante = new IntegranteResponse(id, "Franquia", "Nome", "Função");
 
         Mockito.when(integranteService.buscarIntegrantePorId(id)).thenReturn(Optional.of(integrante));
 
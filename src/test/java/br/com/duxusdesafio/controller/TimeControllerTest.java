@@ -6,6 +6,9 @@ import br.com.duxusdesafio.exceptions.IntegranteException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
 import br.com.duxusdesafio.exceptions.NullTimeException;
 import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.response.CadastroEmLoteResponse;
+import br.com.duxusdesafio.response.PaginaResponse;
+import br.com.duxusdesafio.response.TimeResponse;
 import br.com.duxusdesafio.service.TimeService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,9 +19,12 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -112,7 +118,9 @@ public class TimeControllerTest {
 
     @Test
     public void testListarTodosOsTimes_Success() {
-        List<Time> times = Arrays.asList(new Time(), new Time());
+        List<TimeResponse> times = Arrays.asList(
+                new TimeResponse(1L, LocalDate.of(2024, 12, 13), Collections.emptyList()),
+                new TimeResponse(2L, LocalDate.of(2024, 12, 13), Collections.emptyList()));
         Mockito.when(timeService.listarTodosOsTimes()).thenReturn(times);
 
         ResponseEntity<Object> response = timeController.listarTodosOsTimes();
@@ -132,10 +140,66 @@ public class TimeControllerTest {
         assertEquals("Nenhum time encontrado", response.getBody());
     }
 
+    @Test
+    public void testCadastrarTimesEmLote_Success() {
+        List<TimeDto> times = Arrays.asList(new TimeDto(), new TimeDto());
+        CadastroEmLoteResponse resposta = new CadastroEmLoteResponse(2);
+        Mockito.when(timeService.cadastrarTimesEmLote(times)).thenReturn(resposta);
+
+        ResponseEntity<Object> response = timeController.cadastrarTimesEmLote(times);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(resposta, response.getBody());
+    }
+
+    @Test
+    public void testCadastrarTimesEmLote_ListaVazia() {
+        Mockito.when(timeService.cadastrarTimesEmLote(Mockito.anyList()))
+                .thenThrow(new IllegalArgumentException("A lista de times não pode ser nula ou vazia."));
+
+        ResponseEntity<Object> response = timeController.cadastrarTimesEmLote(Arrays.asList());
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("A lista de times não pode ser nula ou vazia.", response.getBody());
+    }
+
+    @Test
+    public void testExportarTimes_EscreveNdjsonPeloServico() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = timeController.exportarTimes();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        response.getBody().writeTo(saida);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getContentType().toString());
+        Mockito.verify(timeService).exportarTimes(saida);
+    }
+
+    @Test
+    public void testListarTimesPaginados_Success() {
+        PaginaResponse<Time> pagina = new PaginaResponse<>(Arrays.asList(new Time()), 1L);
+        Mockito.when(timeService.listarTimesPaginados(null, 1)).thenReturn(pagina);
+
+        ResponseEntity<Object> response = timeController.listarTimesPaginados(null, 1);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(pagina, response.getBody());
+    }
+
+    @Test
+    public void testListarTimesPaginados_TamanhoInvalido() {
+        Mockito.when(timeService.listarTimesPaginados(null, 0))
+                .thenThrow(new IllegalArgumentException("O tamanho da página deve ser maior que zero."));
+
+        ResponseEntity<Object> response = timeController.listarTimesPaginados(null, 0);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("O tamanho da página deve ser maior que zero.", response.getBody());
+    }
+
     @Test
     public void testBuscarTimePorId_Success() {
-        Time time = new Time();
-        Mockito.when(timeService.buscarTimePorId(Mockito.anyLong())).thenReturn(time);
+        TimeResponse time = new TimeResponse(1L, LocalDate.of(2024, 12, 13), Collections.emptyList());
+        Mockito.when(timeService.consultarTime(Mockito.anyLong())).thenReturn(time);
 
         ResponseEntity<Object> response = timeController.buscarTimePorId(1L);
 
@@ -145,7 +209,7 @@ public class TimeControllerTest {
 
     @Test
     public void testBuscarTimePorId_NotFoundException() {
-        Mockito.when(timeService.buscarTimePorId(Mockito.anyLong())).
+        Mockito.when(timeService.consultarTime(Mockito.anyLong())).
                 thenThrow(new NotFoundException("Time não encontrado"));
 
         ResponseEntity<Object> response = timeController.buscarTimePorId(1L);
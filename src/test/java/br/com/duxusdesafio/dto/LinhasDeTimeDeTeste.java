@@ -0,0 +1,52 @@
+package br.com.duxusdesafio.dto;
+
+import java.time.LocalDate;
+
+public final class LinhasDeTimeDeTeste {
+
+    private LinhasDeTimeDeTeste() {
+    }
+
+    public static LinhaDeTime linha(long idTime, LocalDate data, Long idComposicao, Long idIntegrante, String nome) {
+        return new LinhaDeTime() {
+            @Override
+            public Long getIdTime() {
+                return idTime;
+            }
+
+            @Override
+            public LocalDate getData() {
+                return data;
+            }
+
+            @Override
+            public Long getIdComposicao() {
+                return idComposicao;
+            }
+
+            @Override
+            public Long getIdIntegrante() {
+                return idIntegrante;
+            }
+
+            @Override
+            public String getFranquia() {
+                return idIntegrante == null ? null : "Franquia";
+            }
+
+            @Override
+            public String getNome() {
+                return nome;
+            }
+
+            @Override
+            public String getFuncao() {
+                return idIntegrante == null ? null : "Função";
+            }
+        };
+    }
+
+    public static LinhaDeTime timeSemIntegrantes(long idTime, LocalDate data) {
+        return linha(idTime, data, null, null, null);
+    }
+}
@@ -0,0 +1,63 @@
+package br.com.duxusdesafio.repository;
+
+import br.com.duxusdesafio.model.DimensaoEstatistica;
+import br.com.duxusdesafio.model.EstatisticaDiaria;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Comandos atômicos das contagens diárias, no H2 em modo PostgreSQL para aceitar o "on conflict do nothing".
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class EstatisticaDiariaRepositoryTest {
+
+    private final LocalDate data = LocalDate.of(2024, 10, 1);
+
+    @Autowired
+    private EstatisticaDiariaRepository estatisticaDiariaRepository;
+
+    private long totalDe(String chave) {
+        List<EstatisticaDiaria> linhas = estatisticaDiariaRepository.findByDimensaoAndChave(DimensaoEstatistica.FUNCAO, chave);
+        Assertions.assertTrue(linhas.size() <= 1);
+        return linhas.isEmpty() ? 0 : linhas.get(0).getTotal();
+    }
+
+    @Test
+    void deveInserirALinhaSomenteQuandoElaNaoExistir() {
+        Assertions.assertEquals(0, estatisticaDiariaRepository.somarAoTotal(data, DimensaoEstatistica.FUNCAO, "Atacante", 2));
+        Assertions.assertEquals(1, estatisticaDiariaRepository.inserirSeAusente(data, "FUNCAO", "Atacante", 2));
+        Assertions.assertEquals(0, estatisticaDiariaRepository.inserirSeAusente(data, "FUNCAO", "Atacante", 5));
+
+        Assertions.assertEquals(2, totalDe("Atacante"));
+    }
+
+    @Test
+    void deveSomarAoTotalNoBanco() {
+        estatisticaDiariaRepository.inserirSeAusente(data, "FUNCAO", "Atacante", 2);
+
+        Assertions.assertEquals(1, estatisticaDiariaRepository.somarAoTotal(data, DimensaoEstatistica.FUNCAO, "Atacante", 3));
+        Assertions.assertEquals(1, estatisticaDiariaRepository.somarAoTotal(data, DimensaoEstatistica.FUNCAO, "Atacante", -1));
+
+        Assertions.assertEquals(4, totalDe("Atacante"));
+    }
+
+    @Test
+    void deveRemoverApenasALinhaSemAparicoes() {
+        estatisticaDiariaRepository.inserirSeAusente(data, "FUNCAO", "Atacante", 1);
+        estatisticaDiariaRepository.inserirSeAusente(data, "FUNCAO", "Goleiro", 1);
+        estatisticaDiariaRepository.somarAoTotal(data, DimensaoEstatistica.FUNCAO, "Atacante", -1);
+
+        Assertions.assertEquals(1, estatisticaDiariaRepository.removerSemAparicoes(data, DimensaoEstatistica.FUNCAO, "Atacante"));
+        Assertions.assertEquals(0, estatisticaDiariaRepository.removerSemAparicoes(data, DimensaoEstatistica.FUNCAO, "Goleiro"));
+
+        Assertions.assertEquals(0, totalDe("Atacante"));
+        Assertions.assertEquals(1, totalDe("Goleiro"));
+    }
+}
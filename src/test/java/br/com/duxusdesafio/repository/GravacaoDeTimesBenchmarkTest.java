@@ -0,0 +1,89 @@
+package br.com.duxusdesafio.repository;
+
+import br.com.duxusdesafio.model.ComposicaoTime;
+import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.model.Time;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mede a gravação de times com as composições: quantidade de comandos enviados ao banco e tempo.
+ * Com ids IDENTITY cada linha era um comando, porque o Hibernate precisa ler o id gerado a cada inserção;
+ * o teste reproduz essa gravação linha a linha desligando os batches da sessão e a compara com a gravação
+ * em batches que as sequências pooled permitem.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class GravacaoDeTimesBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GravacaoDeTimesBenchmarkTest.class);
+
+    private static final int TIMES = 500;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    @Test
+    void deveGravarTimesEComposicoesEmBatchesComMenosComandosQueLinhaALinha() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Session sessao = entityManager.getEntityManager().unwrap(Session.class);
+        List<Integrante> integrantes = Arrays.asList(
+                entityManager.persist(new Integrante("Franquia A", "João", "Atacante", null)),
+                entityManager.persist(new Integrante("Franquia B", "Maria", "Defensor", null)),
+                entityManager.persist(new Integrante("Franquia C", "Ana", "Goleiro", null)));
+        entityManager.flush();
+        long linhas = TIMES * (1L + integrantes.size());
+
+        sessao.setJdbcBatchSize(1);
+        long comandosLinhaALinha = gravar(estatisticas, integrantes, LocalDate.of(2030, 1, 1), "linha a linha");
+        sessao.setJdbcBatchSize(null);
+        long comandosEmBatches = gravar(estatisticas, integrantes, LocalDate.of(2031, 1, 1), "em batches");
+
+        Assertions.assertEquals(2L * TIMES, timeRepository.count());
+        Assertions.assertTrue(comandosLinhaALinha >= linhas, "linha a linha: " + comandosLinhaALinha);
+        // 2000 linhas: além dos batches de inserção, uma chamada de sequência a cada 50 ids
+        Assertions.assertTrue(comandosEmBatches * 20 <= comandosLinhaALinha,
+                "em batches: " + comandosEmBatches + ", linha a linha: " + comandosLinhaALinha);
+    }
+
+    private long gravar(Statistics estatisticas, List<Integrante> integrantes, LocalDate primeiraData, String estrategia) {
+        estatisticas.clear();
+        long inicio = System.nanoTime();
+        List<Time> times = new ArrayList<>();
+        for (int i = 0; i < TIMES; i++) {
+            Time time = new Time(primeiraData.plusDays(i % 30), null);
+            time.setComposicaoTime(integrantes.stream()
+                    .map(integrante -> new ComposicaoTime(time, integrante))
+                    .collect(Collectors.toList()));
+            times.add(time);
+        }
+        timeRepository.saveAll(times);
+        entityManager.flush();
+        long duracaoEmMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        long comandos = estatisticas.getPrepareStatementCount();
+        LOGGER.info("{}: {} times e {} composições gravados em {} ms com {} comandos",
+                estrategia, TIMES, TIMES * integrantes.size(), duracaoEmMs, comandos);
+        return comandos;
+    }
+}
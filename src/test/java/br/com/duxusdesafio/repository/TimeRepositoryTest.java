@@ -0,0 +1,190 @@
+package br.com.duxusdesafio.repository;
+
+import br.com.duxusdesafio.model.ComposicaoTime;
+import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.response.TimeResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Garante que as leituras de times carregam composições e integrantes com um número
+ * constante de consultas, independente da quantidade de times.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class TimeRepositoryTest {
+
+    private final LocalDate data = LocalDate.of(2024, 10, 1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TimeRepository timeRepository;
+
+    private Statistics estatisticas;
+
+    private List<Integrante> integrantes;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        integrantes = Arrays.asList(
+                entityManager.persist(new Integrante("Franquia A", "João", "Atacante", null)),
+                entityManager.persist(new Integrante("Franquia B", "Maria", "Defensor", null)),
+                entityManager.persist(new Integrante("Franquia C", "Ana", "Goleiro", null)));
+    }
+
+    private void cadastrarTimes(int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            Time time = new Time(data.plusDays(i % 3), null);
+            List<ComposicaoTime> composicoes = new ArrayList<>();
+            for (Integrante integrante : integrantes) {
+                composicoes.add(new ComposicaoTime(time, integrante));
+            }
+            time.setComposicaoTime(composicoes);
+            entityManager.persist(time);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        estatisticas.clear();
+    }
+
+    private long consultasAoListarESerializar() throws Exception {
+        List<Time> times = timeRepository.findAllComComposicao();
+        objectMapper.writeValueAsString(times);
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    @Test
+    void deveListarESerializarOsTimesEmUmaUnicaConsulta() throws Exception {
+        cadastrarTimes(2);
+        long consultasComPoucosTimes = consultasAoListarESerializar();
+
+        cadastrarTimes(20);
+        long consultasComMuitosTimes = consultasAoListarESerializar();
+
+        Assertions.assertEquals(1, consultasComPoucosTimes);
+        Assertions.assertEquals(1, consultasComMuitosTimes);
+    }
+
+    @Test
+    void deveBuscarTimePorIdComAComposicaoEmUmaUnicaConsulta() throws Exception {
+        cadastrarTimes(1);
+        long id = timeRepository.findAll().get(0).getId();
+        entityManager.clear();
+        estatisticas.clear();
+
+        Time time = timeRepository.findById(id).orElseThrow(IllegalStateException::new);
+        objectMapper.writeValueAsString(time);
+
+        Assertions.assertEquals(3, time.getComposicaoTime().size());
+        Assertions.assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void deveBuscarOsTimesDaDataPelaProjecaoEmUmaUnicaConsultaSemCarregarEntidades() throws Exception {
+        cadastrarTimes(9);
+
+        List<TimeResponse> times = TimeResponse.agrupar(timeRepository.listarLinhasDosTimesDaData(data));
+        objectMapper.writeValueAsString(times);
+
+        Assertions.assertEquals(3, times.size());
+        times.forEach(time -> Assertions.assertEquals(3, time.getComposicaoTime().size()));
+        Assertions.assertEquals(1, estatisticas.getPrepareStatementCount());
+        Assertions.assertEquals(0, estatisticas.getEntityLoadCount());
+    }
+
+    @Test
+    void deveListarTodosOsTimesPelaProjecaoComOMesmoJsonDaEntidade() throws Exception {
+        cadastrarTimes(6);
+        Time semIntegrantes = entityManager.persist(new Time(data, null));
+        entityManager.flush();
+        entityManager.clear();
+        List<Time> entidades = timeRepository.findAllComComposicao();
+        String jsonDasEntidades = objectMapper.writeValueAsString(entidades.stream()
+                .sorted(Comparator.comparing(Time::getId)).collect(Collectors.toList()));
+        entityManager.clear();
+        estatisticas.clear();
+
+        List<TimeResponse> times = TimeResponse.agrupar(timeRepository.listarLinhasDosTimes());
+
+        Assertions.assertEquals(7, times.size());
+        Assertions.assertTrue(times.get(6).getComposicaoTime().isEmpty());
+        Assertions.assertEquals(semIntegrantes.getId(), times.get(6).getId());
+        Assertions.assertEquals(objectMapper.readTree(jsonDasEntidades), objectMapper.readTree(objectMapper.writeValueAsString(times)));
+        Assertions.assertEquals(1, estatisticas.getPrepareStatementCount());
+        Assertions.assertEquals(0, estatisticas.getEntityLoadCount());
+    }
+
+    @Test
+    void deveCarregarAsComposicoesEmLotesQuandoNaoHouverFetchExplicito() {
+        cadastrarTimes(20);
+
+        List<Time> times = timeRepository.findAll();
+        times.forEach(time -> time.getComposicaoTime().forEach(composicao -> composicao.getIntegrante().getNome()));
+
+        // uma consulta dos times e uma das composições em lote, em vez de uma por time
+        Assertions.assertTrue(estatisticas.getPrepareStatementCount() <= 3,
+                "consultas: " + estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void devePercorrerAsPaginasPorCursorComDuasConsultasPorPagina() throws Exception {
+        cadastrarTimes(5);
+
+        List<Long> idsDaPrimeiraPagina = timeRepository.listarIdsAposCursor(0L, PageRequest.of(0, 3));
+        List<Time> primeiraPagina = timeRepository.findAllComComposicaoPorIds(idsDaPrimeiraPagina);
+        objectMapper.writeValueAsString(primeiraPagina);
+        Assertions.assertEquals(2, estatisticas.getPrepareStatementCount());
+
+        List<Long> idsDaSegundaPagina = timeRepository.listarIdsAposCursor(idsDaPrimeiraPagina.get(2), PageRequest.of(0, 3));
+
+        Assertions.assertEquals(3, primeiraPagina.size());
+        Assertions.assertEquals(3, primeiraPagina.get(0).getComposicaoTime().size());
+        Assertions.assertEquals(2, idsDaSegundaPagina.size());
+        Assertions.assertTrue(idsDaSegundaPagina.get(0) > idsDaPrimeiraPagina.get(2));
+    }
+
+    @Test
+    void deveLerOsTimesEmOrdemPeloStreamCarregandoAsComposicoesEmLote() {
+        cadastrarTimes(5);
+
+        List<Long> ids = new ArrayList<>();
+        List<Time> lidos = new ArrayList<>();
+        try (Stream<Time> times = timeRepository.streamTodosOrdenadosPorId()) {
+            times.forEach(lidos::add);
+        }
+        lidos.forEach(time -> {
+            ids.add(time.getId());
+            time.getComposicaoTime().forEach(composicao -> composicao.getIntegrante().getNome());
+        });
+
+        Assertions.assertEquals(5, ids.size());
+        Assertions.assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+        Assertions.assertTrue(estatisticas.getPrepareStatementCount() <= 2,
+                "consultas: " + estatisticas.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.duxusdesafio.response;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static br.com.duxusdesafio.dto.LinhasDeTimeDeTeste.linha;
+import static br.com.duxusdesafio.dto.LinhasDeTimeDeTeste.timeSemIntegrantes;
+
+public class TimeResponseTest {
+
+    private final LocalDate data = LocalDate.of(2024, 12, 13);
+
+    @Test
+    void deveAgruparAsLinhasPorTimeMantendoAOrdemDaConsulta() {
+        List<TimeResponse> times = TimeResponse.agrupar(Arrays.asList(
+                linha(2L, data, 20L, 7L, "João"),
+                linha(2L, data, 21L, 8L, "Maria"),
+                linha(1L, data, 10L, 7L, "João")));
+
+        Assertions.assertEquals(2, times.size());
+        Assertions.assertEquals(2L, times.get(0).getId());
+        Assertions.assertEquals(2, times.get(0).getComposicaoTime().size());
+        Assertions.assertEquals(21L, times.get(0).getComposicaoTime().get(1).getId());
+        Assertions.assertEquals("Maria", times.get(0).getComposicaoTime().get(1).getIntegrante().getNome());
+        Assertions.assertEquals(1L, times.get(1).getId());
+        Assertions.assertEquals(data, times.get(1).getData());
+    }
+
+    @Test
+    void deveManterTimeSemIntegrantesComComposicaoVazia() {
+        List<TimeResponse> times = TimeResponse.agrupar(Collections.singletonList(timeSemIntegrantes(3L, data)));
+
+        Assertions.assertEquals(1, times.size());
+        Assertions.assertTrue(times.get(0).getComposicaoTime().isEmpty());
+    }
+
+    @Test
+    void deveRetornarListaVaziaSemLinhas() {
+        Assertions.assertTrue(TimeResponse.agrupar(Collections.emptyList()).isEmpty());
+    }
+}
@@ -1,22 +1,46 @@
 package br.com.duxusdesafio.service;
 
+import br.com.duxusdesafio.analytics.AgregadorParalelo;
+import br.com.duxusdesafio.analytics.AnaliseColunar;
+import br.com.duxusdesafio.analytics.CacheDeResultados;
+import br.com.duxusdesafio.analytics.DicionarioIntegrantes;
+import br.com.duxusdesafio.analytics.FonteAnalitica;
+import br.com.duxusdesafio.analytics.ResumosDeAparicoes;
+import br.com.duxusdesafio.dto.ContagemPorChave;
+import br.com.duxusdesafio.dto.ContagemPorIntegrante;
+import br.com.duxusdesafio.dto.LinhaDeComposicao;
 import br.com.duxusdesafio.exceptions.DateNotFoundException;
+import br.com.duxusdesafio.model.DimensaoEstatistica;
+import br.com.duxusdesafio.model.EstatisticaDiaria;
 import br.com.duxusdesafio.exceptions.NotFoundException;
 import br.com.duxusdesafio.exceptions.NullTimeException;
 import br.com.duxusdesafio.model.ComposicaoTime;
 import br.com.duxusdesafio.model.Integrante;
 import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.repository.IntegranteRepository;
 import br.com.duxusdesafio.repository.TimeRepository;
+import br.com.duxusdesafio.response.ContagemRankingResponse;
+import br.com.duxusdesafio.response.IntegranteAproximadoResponse;
+import br.com.duxusdesafio.response.IntegranteRankingResponse;
+import br.com.duxusdesafio.response.PainelResponse;
+import br.com.duxusdesafio.response.TimeDaDataResponse;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Collectors;
 
+import static br.com.duxusdesafio.dto.LinhasDeTimeDeTeste.linha;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -43,6 +67,33 @@ public class ApiServiceTest {
     @Mock
     private Integrante integranteMock2;
 
+    @Mock
+    private TimeService timeService;
+
+    @Mock
+    private TimeRepository timeRepositoryMock;
+
+    @Mock
+    private IntegranteRepository integranteRepositoryMock;
+
+    @Mock
+    private EstatisticaService estatisticaService;
+
+    @Spy
+    private AnaliseColunar analiseColunar = new AnaliseColunar();
+
+    @Spy
+    private AgregadorParalelo agregadorParalelo = new AgregadorParalelo();
+
+    @Spy
+    private ResumosDeAparicoes resumosDeAparicoes = new ResumosDeAparicoes();
+
+    @Spy
+    private DicionarioIntegrantes dicionarioIntegrantes = new DicionarioIntegrantes();
+
+    @Spy
+    private CacheDeResultados cacheDeResultados = new CacheDeResultados();
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -148,6 +199,32 @@ public class ApiServiceTest {
     }
 
 
+    @Test
+    public void deveRetornarTodosOsTimesDaDataPelaConsultaPorData() {
+        LocalDate data = LocalDate.of(2024, 12, 13);
+        when(timeRepositoryMock.listarLinhasDosTimesDaData(data)).thenReturn(Arrays.asList(
+                linha(1L, data, 10L, 1L, "João"),
+                linha(1L, data, 11L, 2L, "Maria"),
+                linha(2L, data, 20L, 2L, "Maria")));
+
+        TimeDaDataResponse resposta = apiService.timesDaData(data);
+
+        Assertions.assertEquals(2, resposta.getTimes().size());
+        Assertions.assertEquals(Arrays.asList("João", "Maria"), resposta.getTimes().get(0).getIntegrantes());
+        Assertions.assertEquals(2L, resposta.getTimes().get(1).getIdTime());
+        Mockito.verify(timeRepositoryMock, Mockito.never()).findAll();
+        Mockito.verifyNoInteractions(timeService);
+    }
+
+    @Test
+    public void deveLancarDateNotFoundExceptionQuandoNaoHouverTimesNaData() {
+        LocalDate data = LocalDate.of(2024, 12, 13);
+
+        when(timeRepositoryMock.listarLinhasDosTimesDaData(data)).thenReturn(Collections.emptyList());
+
+        Assertions.assertThrows(DateNotFoundException.class, () -> apiService.timesDaData(data));
+    }
+
     @Test
     public void deveLancarExcecaoQuandoDataNaoForEncontrada() {
         LocalDate data = LocalDate.of(2024, 12, 1);
@@ -383,6 +460,463 @@ public class ApiServiceTest {
         Assertions.assertEquals(1L, contagem.get("Defensor"));
     }
 
-}
+    private ContagemPorChave contagem(String chave, long total) {
+        ContagemPorChave contagem = mock(ContagemPorChave.class);
+        when(contagem.getChave()).thenReturn(chave);
+        when(contagem.getTotal()).thenReturn(total);
+        return contagem;
+    }
+
+    @Test
+    public void deveConsultarOsTimesDoPeriodoQuandoFonteForIndice() {
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante integrante1 = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        Time time1 = new Time(dataInicial, Arrays.asList(new ComposicaoTime(null, integrante1)));
+
+        when(timeService.listarTimesPorPeriodo(dataInicial, dataFinal)).thenReturn(Arrays.asList(time1));
+
+        Map<String, Long> contagem = apiService.contagemPorFuncao(dataInicial, dataFinal);
+
+        Assertions.assertEquals(1L, contagem.get("Atacante"));
+        Mockito.verifyNoInteractions(timeRepositoryMock);
+    }
+
+    @Test
+    public void deveContarPorFuncaoNoBancoQuandoFonteForSql() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.SQL);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        List<ContagemPorChave> contagens = Arrays.asList(contagem("Atacante", 2L), contagem("Defensor", 5L));
+        when(timeRepositoryMock.contarPorFuncaoNoPeriodo(dataInicial, dataFinal)).thenReturn(contagens);
+
+        Map<String, Long> contagem = apiService.contagemPorFuncao(dataInicial, dataFinal);
+
+        Assertions.assertEquals(2L, contagem.get("Atacante"));
+        Assertions.assertEquals(5L, contagem.get("Defensor"));
+        Assertions.assertEquals("Defensor", apiService.funcaoMaisComum(dataInicial, dataFinal));
+        Mockito.verifyNoInteractions(timeService);
+    }
+
+    @Test
+    public void deveLancarNotFoundExceptionQuandoBancoNaoRetornarFranquias() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.SQL);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        when(timeRepositoryMock.contarPorFranquiaNoPeriodo(dataInicial, dataFinal)).thenReturn(Collections.emptyList());
+
+        Assertions.assertThrows(NotFoundException.class, () -> apiService.contagemPorFranquia(dataInicial, dataFinal));
+    }
+
+    @Test
+    public void deveBuscarIntegranteMaisUsadoNoBancoQuandoFonteForSql() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.SQL);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante integrante = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        integrante.setId(7L);
+        ContagemPorIntegrante contagem = mock(ContagemPorIntegrante.class);
+        when(contagem.getIdIntegrante()).thenReturn(7L);
+        when(contagem.getTotal()).thenReturn(3L);
+
+        when(integranteRepositoryMock.contarAparicoesNoPeriodo(Mockito.eq(dataInicial), Mockito.eq(dataFinal), Mockito.any(Pageable.class)))
+                .thenReturn(Arrays.asList(contagem));
+        when(integranteRepositoryMock.findById(7L)).thenReturn(Optional.of(integrante));
+
+        Assertions.assertEquals(integrante, apiService.integranteMaisUsado(dataInicial, dataFinal));
+    }
+
+    @Test
+    public void devePainelCoincidirComAsConsultasIndividuais() {
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante integrante1 = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        Integrante integrante2 = new Integrante("Franquia B", "Antonio", "Defensor", Collections.emptyList());
+        Integrante integrante3 = new Integrante("Franquia A", "Jonas", "Defensor", Collections.emptyList());
+        integrante1.setId(1L);
+        integrante2.setId(2L);
+        integrante3.setId(3L);
+
+        Time time1 = new Time(dataInicial, Arrays.asList(
+                new ComposicaoTime(null, integrante1), new ComposicaoTime(null, integrante2)));
+        Time time2 = new Time(dataFinal, Arrays.asList(
+                new ComposicaoTime(null, integrante3), new ComposicaoTime(null, integrante2)));
+        time1.setId(1L);
+        time2.setId(2L);
+
+        List<Time> todosOsTimes = Arrays.asList(time1, time2);
+
+        PainelResponse painel = apiService.painel(dataInicial, dataFinal, todosOsTimes);
+
+        Assertions.assertEquals(apiService.integranteMaisUsado(dataInicial, dataFinal, todosOsTimes), painel.getIntegranteMaisUsado());
+        Assertions.assertEquals(apiService.timeMaisComum(dataInicial, dataFinal, todosOsTimes), painel.getTimeMaisComum());
+        Assertions.assertEquals(apiService.funcaoMaisComum(dataInicial, dataFinal, todosOsTimes), painel.getFuncaoMaisComum());
+        Assertions.assertEquals(apiService.franquiaMaisFamosa(dataInicial, dataFinal, todosOsTimes), painel.getFranquiaMaisFamosa());
+        Assertions.assertEquals(apiService.contagemPorFranquia(dataInicial, dataFinal, todosOsTimes), painel.getContagemPorFranquia());
+        Assertions.assertEquals(apiService.contagemPorFuncao(dataInicial, dataFinal, todosOsTimes), painel.getContagemPorFuncao());
+        Assertions.assertEquals(integrante2, painel.getIntegranteMaisUsado());
+    }
+
+    @Test
+    public void deveCarregarOsTimesDoPeriodoUmaUnicaVezNoPainel() {
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante integrante1 = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        Time time1 = new Time(dataInicial, Arrays.asList(new ComposicaoTime(null, integrante1)));
+        when(timeService.listarTimesPorPeriodo(dataInicial, dataFinal)).thenReturn(Arrays.asList(time1));
+
+        PainelResponse painel = apiService.painel(dataInicial, dataFinal);
 
+        Assertions.assertEquals("Franquia A", painel.getFranquiaMaisFamosa());
+        Mockito.verify(timeService, Mockito.times(1)).listarTimesPorPeriodo(dataInicial, dataFinal);
+    }
 
+    @Test
+    public void deveSomarEstatisticasDiariasQuandoFonteForEstatisticas() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.ESTATISTICAS);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Map<String, Long> porIntegrante = new HashMap<>();
+        porIntegrante.put("1", 2L);
+        porIntegrante.put("2", 4L);
+        Integrante integrante2 = new Integrante("Franquia B", "Antonio", "Defensor", Collections.emptyList());
+        integrante2.setId(2L);
+
+        when(estatisticaService.contagemNoPeriodo(DimensaoEstatistica.INTEGRANTE, dataInicial, dataFinal)).thenReturn(porIntegrante);
+        when(estatisticaService.contagemNoPeriodo(DimensaoEstatistica.FUNCAO, dataInicial, dataFinal))
+                .thenReturn(Collections.singletonMap("Defensor", 6L));
+        when(integranteRepositoryMock.findById(2L)).thenReturn(Optional.of(integrante2));
+
+        Assertions.assertEquals(integrante2, apiService.integranteMaisUsado(dataInicial, dataFinal));
+        Assertions.assertEquals("Defensor", apiService.funcaoMaisComum(dataInicial, dataFinal));
+        Assertions.assertThrows(NotFoundException.class, () -> apiService.contagemPorFranquia(dataInicial, dataFinal));
+        Mockito.verifyNoInteractions(timeService);
+    }
+
+    @Test
+    public void deveAgruparTimesComOsMesmosIntegrantesNoTimeMaisComum() {
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante joao = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        Integrante maria = new Integrante("Franquia B", "Maria", "Defensor", Collections.emptyList());
+        Integrante jonas = new Integrante("Franquia A", "Jonas", "Defensor", Collections.emptyList());
+        joao.setId(1L);
+        maria.setId(2L);
+        jonas.setId(3L);
+
+        Time time1 = new Time(dataInicial, Arrays.asList(new ComposicaoTime(null, joao), new ComposicaoTime(null, jonas)));
+        Time time2 = new Time(dataInicial.plusDays(1), Arrays.asList(new ComposicaoTime(null, maria), new ComposicaoTime(null, joao)));
+        Time time3 = new Time(dataInicial.plusDays(2), Arrays.asList(new ComposicaoTime(null, joao), new ComposicaoTime(null, maria)));
+        time1.setId(1L);
+        time2.setId(2L);
+        time3.setId(3L);
+
+        List<String> resultado = apiService.timeMaisComum(dataInicial, dataFinal, Arrays.asList(time1, time2, time3));
+
+        Assertions.assertEquals(Arrays.asList("Maria", "João"), resultado);
+    }
+
+    @Test
+    public void deveContarAssinaturasNoBancoQuandoFonteForSql() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.SQL);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante joao = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        Time time = new Time(dataInicial, Arrays.asList(new ComposicaoTime(null, joao)));
+        List<ContagemPorChave> contagens = Arrays.asList(contagem("abc", 3L));
+
+        when(timeRepositoryMock.contarAssinaturasNoPeriodo(Mockito.eq(dataInicial), Mockito.eq(dataFinal), Mockito.any(Pageable.class)))
+                .thenReturn(contagens);
+        when(timeRepositoryMock.findFirstByAssinaturaAndDataBetweenOrderByDataAsc("abc", dataInicial, dataFinal))
+                .thenReturn(Optional.of(time));
+
+        Assertions.assertEquals(Arrays.asList("João"), apiService.timeMaisComum(dataInicial, dataFinal));
+        Mockito.verifyNoInteractions(timeService);
+    }
+
+    @Test
+    public void deveBuscarOTimeMaisComumPelasEstatisticasDeComposicao() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.ESTATISTICAS);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante joao = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        Time time = new Time(dataInicial, Arrays.asList(new ComposicaoTime(null, joao)));
+        Map<String, Long> porComposicao = new HashMap<>();
+        porComposicao.put("bbb", 3L);
+        porComposicao.put("aaa", 3L);
+        porComposicao.put("ccc", 1L);
+
+        when(estatisticaService.contagemNoPeriodo(DimensaoEstatistica.COMPOSICAO, dataInicial, dataFinal)).thenReturn(porComposicao);
+        when(timeRepositoryMock.findFirstByAssinaturaAndDataBetweenOrderByDataAsc("aaa", dataInicial, dataFinal))
+                .thenReturn(Optional.of(time));
+
+        Assertions.assertEquals(Arrays.asList("João"), apiService.timeMaisComum(dataInicial, dataFinal));
+        Mockito.verify(timeRepositoryMock, Mockito.never())
+                .contarAssinaturasNoPeriodo(Mockito.any(), Mockito.any(), Mockito.any(Pageable.class));
+        Mockito.verifyNoInteractions(timeService);
+    }
+
+    @Test
+    public void deveResponderConsultaRepetidaPeloCache() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.ESTATISTICAS);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+        when(estatisticaService.contagemNoPeriodo(DimensaoEstatistica.FUNCAO, dataInicial, dataFinal))
+                .thenReturn(Collections.singletonMap("Defensor", 6L));
+
+        Map<String, Long> primeira = apiService.contagemPorFuncao(dataInicial, dataFinal);
+        Map<String, Long> segunda = apiService.contagemPorFuncao(dataInicial, dataFinal);
+        cacheDeResultados.invalidarData(dataFinal);
+        apiService.contagemPorFuncao(dataInicial, dataFinal);
+
+        Assertions.assertSame(primeira, segunda);
+        Mockito.verify(estatisticaService, Mockito.times(2)).contagemNoPeriodo(DimensaoEstatistica.FUNCAO, dataInicial, dataFinal);
+    }
+
+    private List<LinhaDeComposicao> linhasDe(List<Time> times) {
+        List<LinhaDeComposicao> linhas = new ArrayList<>();
+        for (Time time : times) {
+            for (ComposicaoTime composicao : time.getComposicaoTime()) {
+                Integrante integrante = composicao.getIntegrante();
+                LinhaDeComposicao linha = mock(LinhaDeComposicao.class);
+                when(linha.getData()).thenReturn(time.getData());
+                when(linha.getIdTime()).thenReturn(time.getId());
+                when(linha.getIdIntegrante()).thenReturn(integrante.getId());
+                when(linha.getNome()).thenReturn(integrante.getNome());
+                when(linha.getFuncao()).thenReturn(integrante.getFuncao());
+                when(linha.getFranquia()).thenReturn(integrante.getFranquia());
+                linhas.add(linha);
+            }
+        }
+        return linhas;
+    }
+
+    @Test
+    public void deveCoincidirComOsTimesDoPeriodoQuandoFonteForColunar() {
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante joao = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        Integrante maria = new Integrante("Franquia B", "Maria", "Defensor", Collections.emptyList());
+        Integrante jonas = new Integrante("Franquia A", "Jonas", "Defensor", Collections.emptyList());
+        joao.setId(1L);
+        maria.setId(2L);
+        jonas.setId(3L);
+
+        Time antesDoPeriodo = new Time(dataInicial.minusDays(1), Arrays.asList(new ComposicaoTime(null, jonas)));
+        Time time1 = new Time(dataInicial, Arrays.asList(new ComposicaoTime(null, maria), new ComposicaoTime(null, joao)));
+        Time time2 = new Time(dataInicial.plusDays(1), Arrays.asList(new ComposicaoTime(null, jonas), new ComposicaoTime(null, maria)));
+        Time time3 = new Time(dataFinal, Arrays.asList(new ComposicaoTime(null, joao), new ComposicaoTime(null, maria)));
+        Time depoisDoPeriodo = new Time(dataFinal.plusDays(1), Arrays.asList(new ComposicaoTime(null, jonas)));
+        antesDoPeriodo.setId(4L);
+        time1.setId(1L);
+        time2.setId(2L);
+        time3.setId(3L);
+        depoisDoPeriodo.setId(5L);
+        List<Time> todosOsTimes = Arrays.asList(antesDoPeriodo, time1, time2, time3, depoisDoPeriodo);
+
+        PainelResponse esperado = apiService.painel(dataInicial, dataFinal, todosOsTimes);
+
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.COLUNAR);
+        List<LinhaDeComposicao> linhas = linhasDe(todosOsTimes);
+        when(timeRepositoryMock.listarLinhasDeComposicao()).thenReturn(linhas);
+        when(integranteRepositoryMock.findById(2L)).thenReturn(Optional.of(maria));
+
+        Assertions.assertEquals(esperado.getIntegranteMaisUsado(), apiService.integranteMaisUsado(dataInicial, dataFinal));
+        Assertions.assertEquals(esperado.getTimeMaisComum(), apiService.timeMaisComum(dataInicial, dataFinal));
+        Assertions.assertEquals(esperado.getFuncaoMaisComum(), apiService.funcaoMaisComum(dataInicial, dataFinal));
+        Assertions.assertEquals(esperado.getFranquiaMaisFamosa(), apiService.franquiaMaisFamosa(dataInicial, dataFinal));
+        Assertions.assertEquals(esperado.getContagemPorFranquia(), apiService.contagemPorFranquia(dataInicial, dataFinal));
+        Assertions.assertEquals(esperado.getContagemPorFuncao(), apiService.contagemPorFuncao(dataInicial, dataFinal));
+
+        PainelResponse painel = apiService.painel(dataInicial, dataFinal);
+        Assertions.assertEquals(esperado.getTimeMaisComum(), painel.getTimeMaisComum());
+        Assertions.assertEquals(esperado.getContagemPorFuncao(), painel.getContagemPorFuncao());
+
+        // o instantâneo é montado uma única vez e reaproveitado pelas consultas seguintes
+        Mockito.verify(timeRepositoryMock, Mockito.times(1)).listarLinhasDeComposicao();
+        Mockito.verifyNoInteractions(timeService);
+    }
+
+    @Test
+    public void deveLancarNotFoundExceptionQuandoNaoHouverTimesNoPeriodoDoInstantaneoColunar() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.COLUNAR);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        when(timeRepositoryMock.listarLinhasDeComposicao()).thenReturn(Collections.emptyList());
+
+        Assertions.assertThrows(NotFoundException.class, () -> apiService.contagemPorFuncao(dataInicial, dataFinal));
+        Assertions.assertThrows(NotFoundException.class, () -> apiService.painel(dataInicial, dataFinal));
+    }
+
+    @Test
+    public void deveListarOsIntegrantesMaisUsadosDesempatandoPeloId() {
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante joao = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        Integrante maria = new Integrante("Franquia B", "Maria", "Defensor", Collections.emptyList());
+        Integrante jonas = new Integrante("Franquia A", "Jonas", "Defensor", Collections.emptyList());
+        joao.setId(3L);
+        maria.setId(1L);
+        jonas.setId(2L);
+
+        Time time1 = new Time(dataInicial, Arrays.asList(new ComposicaoTime(null, joao), new ComposicaoTime(null, jonas)));
+        Time time2 = new Time(dataFinal, Arrays.asList(new ComposicaoTime(null, joao), new ComposicaoTime(null, maria)));
+        when(timeService.listarTimesPorPeriodo(dataInicial, dataFinal)).thenReturn(Arrays.asList(time1, time2));
+        when(integranteRepositoryMock.findAllById(Arrays.asList(3L, 1L))).thenReturn(Arrays.asList(maria, joao));
+
+        List<IntegranteRankingResponse> ranking = apiService.topIntegrantes(dataInicial, dataFinal, 2);
+
+        Assertions.assertEquals(2, ranking.size());
+        Assertions.assertEquals(joao, ranking.get(0).getIntegrante());
+        Assertions.assertEquals(2L, ranking.get(0).getAparicoes());
+        Assertions.assertEquals(maria, ranking.get(1).getIntegrante());
+        Assertions.assertEquals(1L, ranking.get(1).getAparicoes());
+    }
+
+    @Test
+    public void deveLimitarAConsultaNoBancoAoTamanhoDoRanking() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.SQL);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante integrante = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        integrante.setId(7L);
+        ContagemPorIntegrante contagem = mock(ContagemPorIntegrante.class);
+        when(contagem.getIdIntegrante()).thenReturn(7L);
+        when(contagem.getTotal()).thenReturn(3L);
+        when(integranteRepositoryMock.contarAparicoesNoPeriodo(dataInicial, dataFinal, PageRequest.of(0, 5)))
+                .thenReturn(Arrays.asList(contagem));
+        when(integranteRepositoryMock.findAllById(Arrays.asList(7L))).thenReturn(Arrays.asList(integrante));
+
+        List<IntegranteRankingResponse> ranking = apiService.topIntegrantes(dataInicial, dataFinal, 5);
+
+        Assertions.assertEquals(1, ranking.size());
+        Assertions.assertEquals(integrante, ranking.get(0).getIntegrante());
+        Mockito.verifyNoInteractions(timeService);
+    }
+
+    @Test
+    public void deveDesempatarFuncoesEFranquiasPeloNome() {
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Integrante joao = new Integrante("Franquia B", "João", "Defensor", Collections.emptyList());
+        Integrante maria = new Integrante("Franquia A", "Maria", "Atacante", Collections.emptyList());
+        Integrante jonas = new Integrante("Franquia C", "Jonas", "Suporte", Collections.emptyList());
+        joao.setId(1L);
+        maria.setId(2L);
+        jonas.setId(3L);
+
+        Time time1 = new Time(dataInicial, Arrays.asList(new ComposicaoTime(null, joao), new ComposicaoTime(null, maria)));
+        Time time2 = new Time(dataFinal, Arrays.asList(new ComposicaoTime(null, jonas), new ComposicaoTime(null, maria)));
+        when(timeService.listarTimesPorPeriodo(dataInicial, dataFinal)).thenReturn(Arrays.asList(time1, time2));
+
+        List<ContagemRankingResponse> funcoes = apiService.topFuncoes(dataInicial, dataFinal, 2);
+        List<ContagemRankingResponse> franquias = apiService.topFranquias(dataInicial, dataFinal, 3);
+
+        Assertions.assertEquals("Atacante", funcoes.get(0).getNome());
+        Assertions.assertEquals(2L, funcoes.get(0).getTotal());
+        Assertions.assertEquals("Defensor", funcoes.get(1).getNome());
+        Assertions.assertEquals(Arrays.asList("Franquia A", "Franquia B", "Franquia C"),
+                franquias.stream().map(ContagemRankingResponse::getNome).collect(Collectors.toList()));
+        // times empatados com um cada: vence a franquia de menor nome
+        Assertions.assertEquals("Franquia B", apiService.franquiaMaisFamosa(dataInicial, dataFinal));
+    }
+
+    @Test
+    public void deveDesempatarIntegranteMaisUsadoPeloMenorIdNasEstatisticas() {
+        ReflectionTestUtils.setField(apiService, "fonteAnalitica", FonteAnalitica.ESTATISTICAS);
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Map<String, Long> porIntegrante = new HashMap<>();
+        porIntegrante.put("10", 4L);
+        porIntegrante.put("9", 4L);
+        Integrante integrante = new Integrante("Franquia B", "Antonio", "Defensor", Collections.emptyList());
+        integrante.setId(9L);
+
+        when(estatisticaService.contagemNoPeriodo(DimensaoEstatistica.INTEGRANTE, dataInicial, dataFinal)).thenReturn(porIntegrante);
+        when(integranteRepositoryMock.findById(9L)).thenReturn(Optional.of(integrante));
+
+        Assertions.assertEquals(integrante, apiService.integranteMaisUsado(dataInicial, dataFinal));
+    }
+
+    @Test
+    public void deveLancarIllegalArgumentExceptionQuandoKNaoForPositivo() {
+        LocalDate dataInicial = LocalDate.of(2024, 11, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> apiService.topFuncoes(dataInicial, dataFinal, 0));
+        Mockito.verifyNoInteractions(timeService);
+    }
+
+    @Test
+    public void deveEstimarOIntegranteMaisUsadoPelosResumosDosMesesEDosDias() {
+        LocalDate dataInicial = LocalDate.of(2000, 1, 1);
+        LocalDate dataFinal = LocalDate.of(2099, 12, 31);
+
+        Integrante joao = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        Integrante maria = new Integrante("Franquia B", "Maria", "Defensor", Collections.emptyList());
+        joao.setId(1L);
+        maria.setId(2L);
+
+        when(timeRepositoryMock.buscarPrimeiraData()).thenReturn(LocalDate.of(2024, 1, 10));
+        when(timeRepositoryMock.buscarUltimaData()).thenReturn(LocalDate.of(2024, 2, 20));
+        when(estatisticaService.aparicoesPorDia(LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 31))).thenReturn(Arrays.asList(
+                new EstatisticaDiaria(LocalDate.of(2024, 1, 10), DimensaoEstatistica.INTEGRANTE, "1", 1),
+                new EstatisticaDiaria(LocalDate.of(2024, 1, 10), DimensaoEstatistica.INTEGRANTE, "2", 2)));
+        when(estatisticaService.aparicoesPorDia(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 20))).thenReturn(Arrays.asList(
+                new EstatisticaDiaria(LocalDate.of(2024, 2, 20), DimensaoEstatistica.INTEGRANTE, "1", 1),
+                new EstatisticaDiaria(LocalDate.of(2024, 2, 20), DimensaoEstatistica.INTEGRANTE, "2", 1)));
+        when(integranteRepositoryMock.findAllById(Arrays.asList(2L))).thenReturn(Arrays.asList(maria));
+        when(integranteRepositoryMock.findAllById(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(joao, maria));
+
+        IntegranteAproximadoResponse maisUsado = apiService.integranteMaisUsadoAproximado(dataInicial, dataFinal);
+        List<IntegranteAproximadoResponse> ranking = apiService.topIntegrantesAproximado(dataInicial, dataFinal, 5);
+
+        Assertions.assertEquals(maria, maisUsado.getIntegrante());
+        Assertions.assertEquals(3L, maisUsado.getAparicoesEstimadas());
+        Assertions.assertEquals(0L, maisUsado.getErroMaximo());
+        Assertions.assertEquals(2, ranking.size());
+        Assertions.assertEquals(joao, ranking.get(1).getIntegrante());
+        Assertions.assertEquals(2L, ranking.get(1).getAparicoesEstimadas());
+        Mockito.verify(estatisticaService, Mockito.times(2)).aparicoesPorDia(Mockito.any(), Mockito.any());
+        Mockito.verify(timeRepositoryMock, Mockito.never()).listarIdsDosIntegrantesNoPeriodo(Mockito.any(), Mockito.any());
+        Mockito.verifyNoInteractions(timeService);
+    }
+
+    @Test
+    public void deveLancarNotFoundExceptionNoModoAproximadoQuandoOIntegranteMaisUsadoNaoExistirMais() {
+        LocalDate dataInicial = LocalDate.of(2024, 1, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 1, 31);
+
+        when(timeRepositoryMock.buscarPrimeiraData()).thenReturn(dataInicial);
+        when(timeRepositoryMock.buscarUltimaData()).thenReturn(dataFinal);
+        when(timeRepositoryMock.listarIdsDosIntegrantesNoPeriodo(dataInicial, dataFinal)).thenReturn(Arrays.asList(1L));
+        when(integranteRepositoryMock.findAllById(Arrays.asList(1L))).thenReturn(Collections.emptyList());
+
+        Assertions.assertThrows(NotFoundException.class, () -> apiService.integranteMaisUsadoAproximado(dataInicial, dataFinal));
+    }
+
+    @Test
+    public void deveLancarNotFoundExceptionNoModoAproximadoSemTimesCadastrados() {
+        LocalDate dataInicial = LocalDate.of(2024, 1, 1);
+        LocalDate dataFinal = LocalDate.of(2024, 12, 31);
+
+        Assertions.assertThrows(NotFoundException.class, () -> apiService.integranteMaisUsadoAproximado(dataInicial, dataFinal));
+    }
+
+}
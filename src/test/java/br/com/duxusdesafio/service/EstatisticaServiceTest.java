@@ -0,0 +1,342 @@
+package br.com.duxusdesafio.service;
+
+import br.com.duxusdesafio.analytics.ConsolidacaoMensal;
+import br.com.duxusdesafio.analytics.ContagensAcumuladas;
+import br.com.duxusdesafio.dto.ContagemPorChave;
+import br.com.duxusdesafio.model.ComposicaoTime;
+import br.com.duxusdesafio.model.DimensaoEstatistica;
+import br.com.duxusdesafio.model.EstatisticaDiaria;
+import br.com.duxusdesafio.model.EstatisticaMensal;
+import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.repository.EstatisticaDiariaRepository;
+import br.com.duxusdesafio.repository.EstatisticaMensalRepository;
+import br.com.duxusdesafio.repository.TimeRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class EstatisticaServiceTest {
+
+    @InjectMocks
+    private EstatisticaService estatisticaService;
+
+    @Mock
+    private EstatisticaDiariaRepository estatisticaDiariaRepository;
+
+    @Mock
+    private EstatisticaMensalRepository estatisticaMensalRepository;
+
+    @Mock
+    private TimeRepository timeRepository;
+
+    @Spy
+    private ContagensAcumuladas contagensAcumuladas = new ContagensAcumuladas();
+
+    @Spy
+    private ConsolidacaoMensal consolidacaoMensal = new ConsolidacaoMensal();
+
+    private final LocalDate data = LocalDate.of(2024, 10, 1);
+
+    private Integrante joao;
+    private Integrante maria;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(estatisticaDiariaRepository.inserirSeAusente(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong()))
+                .thenReturn(1);
+
+        joao = new Integrante("Franquia A", "João", "Atacante", Collections.emptyList());
+        joao.setId(1L);
+        maria = new Integrante("Franquia B", "Maria", "Defensor", Collections.emptyList());
+        maria.setId(2L);
+    }
+
+    private Time criarTime(LocalDate data, Integrante... integrantes) {
+        Time time = new Time(data, null);
+        ComposicaoTime[] composicoes = Arrays.stream(integrantes)
+                .map(integrante -> new ComposicaoTime(time, integrante))
+                .toArray(ComposicaoTime[]::new);
+        time.setComposicaoTime(Arrays.asList(composicoes));
+        return time;
+    }
+
+    @Test
+    void deveRegistrarAsAparicoesDoTimeEmTodasAsDimensoes() {
+        estatisticaService.registrarTime(criarTime(data, joao, maria));
+
+        String assinatura = Time.calcularAssinatura(Arrays.asList(1L, 2L));
+        Mockito.verify(estatisticaDiariaRepository, Mockito.times(7))
+                .inserirSeAusente(Mockito.eq(data), Mockito.anyString(), Mockito.anyString(), Mockito.eq(1L));
+        Mockito.verify(estatisticaDiariaRepository).inserirSeAusente(data, "COMPOSICAO", assinatura, 1L);
+        Mockito.verify(estatisticaDiariaRepository).inserirSeAusente(data, "INTEGRANTE", "1", 1L);
+        Mockito.verify(estatisticaDiariaRepository).inserirSeAusente(data, "FUNCAO", "Defensor", 1L);
+        Mockito.verify(estatisticaDiariaRepository).inserirSeAusente(data, "FRANQUIA", "Franquia A", 1L);
+    }
+
+    @Test
+    void deveGravarCadaChaveUmaUnicaVezAoRegistrarVariosTimes() {
+        estatisticaService.registrarTimes(Arrays.asList(criarTime(data, joao, maria), criarTime(data, joao, maria)));
+
+        Mockito.verify(estatisticaDiariaRepository, Mockito.times(7))
+                .somarAoTotal(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+        Mockito.verify(estatisticaDiariaRepository, Mockito.times(7))
+                .inserirSeAusente(Mockito.eq(data), Mockito.anyString(), Mockito.anyString(), Mockito.eq(2L));
+    }
+
+    @Test
+    void deveSomarAoTotalJaExistenteSemInserir() {
+        Mockito.when(estatisticaDiariaRepository.somarAoTotal(data, DimensaoEstatistica.FUNCAO, "Atacante", 1L))
+                .thenReturn(1);
+
+        estatisticaService.registrarTime(criarTime(data, joao));
+
+        Mockito.verify(estatisticaDiariaRepository, Mockito.never()).inserirSeAusente(data, "FUNCAO", "Atacante", 1L);
+        Mockito.verify(estatisticaDiariaRepository).inserirSeAusente(data, "INTEGRANTE", "1", 1L);
+    }
+
+    @Test
+    void deveSomarNovamenteQuandoOutraTransacaoInserirALinhaAntes() {
+        Mockito.when(estatisticaDiariaRepository.inserirSeAusente(data, "INTEGRANTE", "1", 1L)).thenReturn(0);
+
+        estatisticaService.registrarTime(criarTime(data, joao));
+
+        Mockito.verify(estatisticaDiariaRepository, Mockito.times(2))
+                .somarAoTotal(data, DimensaoEstatistica.INTEGRANTE, "1", 1L);
+        Mockito.verify(estatisticaDiariaRepository, Mockito.times(1))
+                .somarAoTotal(data, DimensaoEstatistica.FUNCAO, "Atacante", 1L);
+    }
+
+    @Test
+    void deveAplicarApenasADiferencaAoAlterarOTime() {
+        Time timeAtualizado = criarTime(data, joao);
+        Mockito.when(estatisticaDiariaRepository.somarAoTotal(Mockito.eq(data), Mockito.any(), Mockito.any(), Mockito.eq(-1L)))
+                .thenReturn(1);
+
+        estatisticaService.registrarAlteracaoDeTime(data, Arrays.asList(joao, maria), timeAtualizado);
+
+        // João continua no time na mesma data, então apenas as linhas de Maria são tocadas
+        Mockito.verify(estatisticaDiariaRepository, Mockito.never())
+                .somarAoTotal(Mockito.eq(data), Mockito.eq(DimensaoEstatistica.INTEGRANTE), Mockito.eq("1"), Mockito.anyLong());
+        Mockito.verify(estatisticaDiariaRepository).somarAoTotal(data, DimensaoEstatistica.INTEGRANTE, "2", -1L);
+        Mockito.verify(estatisticaDiariaRepository).removerSemAparicoes(data, DimensaoEstatistica.INTEGRANTE, "2");
+    }
+
+    @Test
+    void deveRemoverALinhaQuandoOTotalChegarAZero() {
+        Mockito.when(estatisticaDiariaRepository.somarAoTotal(data, DimensaoEstatistica.INTEGRANTE, "1", -1L))
+                .thenReturn(1);
+
+        estatisticaService.removerTime(criarTime(data, joao));
+
+        Mockito.verify(estatisticaDiariaRepository).removerSemAparicoes(data, DimensaoEstatistica.INTEGRANTE, "1");
+        Mockito.verify(estatisticaDiariaRepository, Mockito.never())
+                .inserirSeAusente(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+    }
+
+    @Test
+    void naoDeveInserirNemMarcarPendenteAoRetirarAparicaoInexistente() {
+        estatisticaService.removerTime(criarTime(data, joao));
+
+        Mockito.verify(estatisticaDiariaRepository, Mockito.never())
+                .inserirSeAusente(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+        Mockito.verify(estatisticaDiariaRepository, Mockito.never())
+                .removerSemAparicoes(Mockito.any(), Mockito.any(), Mockito.any());
+        Mockito.verify(consolidacaoMensal, Mockito.never()).marcarPendente(Mockito.any());
+    }
+
+    @Test
+    void deveMoverAsAparicoesQuandoAFuncaoDoIntegranteMudar() {
+        EstatisticaDiaria aparicoes = new EstatisticaDiaria(data, DimensaoEstatistica.INTEGRANTE, "1", 2);
+        Mockito.when(estatisticaDiariaRepository.findByDimensaoAndChave(DimensaoEstatistica.INTEGRANTE, "1"))
+                .thenReturn(Collections.singletonList(aparicoes));
+        Mockito.when(estatisticaDiariaRepository.somarAoTotal(data, DimensaoEstatistica.FUNCAO, "Goleiro", -2L))
+                .thenReturn(1);
+
+        estatisticaService.registrarAlteracaoDeIntegrante("Goleiro", "Franquia A", joao);
+
+        Mockito.verify(estatisticaDiariaRepository).removerSemAparicoes(data, DimensaoEstatistica.FUNCAO, "Goleiro");
+        Mockito.verify(estatisticaDiariaRepository).inserirSeAusente(data, "FUNCAO", "Atacante", 2L);
+        Mockito.verify(estatisticaDiariaRepository, Mockito.never())
+                .somarAoTotal(Mockito.eq(data), Mockito.eq(DimensaoEstatistica.FRANQUIA), Mockito.any(), Mockito.anyLong());
+    }
+
+    @Test
+    void deveReconstruirAsEstatisticasAPartirDosTimes() {
+        Mockito.when(timeRepository.findAllComComposicao())
+                .thenReturn(Arrays.asList(criarTime(data, joao), criarTime(data, joao, maria)));
+
+        estatisticaService.reconstruir();
+
+        Mockito.verify(estatisticaDiariaRepository).deleteAllInBatch();
+        Mockito.verify(estatisticaDiariaRepository).saveAll(Mockito.argThat(estatisticas -> {
+            for (EstatisticaDiaria estatistica : estatisticas) {
+                if (estatistica.getDimensao() == DimensaoEstatistica.INTEGRANTE && estatistica.getChave().equals("1")) {
+                    return estatistica.getTotal() == 2;
+                }
+            }
+            return false;
+        }));
+    }
+
+    @Test
+    void deveResponderFuncoesPelasSomasAcumuladasECorrigiLasNasEscritas() {
+        Mockito.when(estatisticaDiariaRepository.findByDimensao(DimensaoEstatistica.FUNCAO))
+                .thenReturn(Collections.singletonList(new EstatisticaDiaria(data, DimensaoEstatistica.FUNCAO, "Atacante", 2)));
+
+        Map<String, Long> antes = estatisticaService.contagemNoPeriodo(DimensaoEstatistica.FUNCAO, data, data);
+        estatisticaService.registrarTime(criarTime(data, joao, maria));
+        Map<String, Long> depois = estatisticaService.contagemNoPeriodo(DimensaoEstatistica.FUNCAO, data, data);
+
+        Assertions.assertEquals(Collections.singletonMap("Atacante", 2L), antes);
+        Assertions.assertEquals(3L, depois.get("Atacante"));
+        Assertions.assertEquals(1L, depois.get("Defensor"));
+        Mockito.verify(estatisticaDiariaRepository, Mockito.times(1)).findByDimensao(DimensaoEstatistica.FUNCAO);
+    }
+
+    @Test
+    void deveContarUmaUnicaVezAEscritaLidaPorUmaReconstrucaoEntreAConfirmacaoEOsEfeitosAposConfirmar() {
+        Mockito.when(estatisticaDiariaRepository.findByDimensao(DimensaoEstatistica.FUNCAO))
+                .thenReturn(Collections.singletonList(new EstatisticaDiaria(data, DimensaoEstatistica.FUNCAO, "Atacante", 1)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            estatisticaService.registrarTime(criarTime(data, joao));
+            // a transação já foi confirmada: a reconstrução lê a escrita antes dos efeitos após a confirmação
+            estatisticaService.contagemNoPeriodo(DimensaoEstatistica.FUNCAO, data, data);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Map<String, Long> contagem = estatisticaService.contagemNoPeriodo(DimensaoEstatistica.FUNCAO, data, data);
+
+        Assertions.assertEquals(Collections.singletonMap("Atacante", 1L), contagem);
+    }
+
+    @Test
+    void deveCompactarTodosOsMesesNaPrimeiraExecucao() {
+        Mockito.when(estatisticaDiariaRepository.findAll()).thenReturn(Arrays.asList(
+                new EstatisticaDiaria(data, DimensaoEstatistica.INTEGRANTE, "1", 2),
+                new EstatisticaDiaria(data.plusDays(5), DimensaoEstatistica.INTEGRANTE, "1", 3),
+                new EstatisticaDiaria(data.plusMonths(1), DimensaoEstatistica.INTEGRANTE, "1", 1)));
+
+        estatisticaService.compactar();
+
+        Mockito.verify(estatisticaMensalRepository).deleteAllInBatch();
+        Mockito.verify(estatisticaMensalRepository).saveAll(Arrays.asList(
+                new EstatisticaMensal(data, DimensaoEstatistica.INTEGRANTE, "1", 5),
+                new EstatisticaMensal(data.plusMonths(1), DimensaoEstatistica.INTEGRANTE, "1", 1)));
+        Assertions.assertTrue(consolidacaoMensal.isConsolidado());
+    }
+
+    @Test
+    void deveCompactarApenasOsMesesAlteradosDepoisDaPrimeiraExecucao() {
+        estatisticaService.compactar();
+        Mockito.reset(estatisticaMensalRepository);
+
+        estatisticaService.registrarTime(criarTime(data.plusDays(3), joao));
+        Assertions.assertFalse(consolidacaoMensal.podeUsar(YearMonth.from(data)));
+        estatisticaService.compactar();
+
+        Mockito.verify(estatisticaMensalRepository, Mockito.never()).deleteAllInBatch();
+        Mockito.verify(estatisticaMensalRepository).excluirDoMes(data);
+        Mockito.verify(estatisticaDiariaRepository).findByDataBetween(data, YearMonth.from(data).atEndOfMonth());
+        Assertions.assertTrue(consolidacaoMensal.podeUsar(YearMonth.from(data)));
+    }
+
+    @Test
+    void deveUsarApenasAsEstatisticasDiariasAntesDaPrimeiraCompactacao() {
+        List<EstatisticaService.Trecho> trechos =
+                estatisticaService.dividirEmTrechos(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 6, 10));
+
+        Assertions.assertEquals(1, trechos.size());
+        Assertions.assertFalse(trechos.get(0).mensal);
+        Assertions.assertEquals(LocalDate.of(2024, 6, 10), trechos.get(0).fim);
+    }
+
+    @Test
+    void deveDividirOPeriodoEmDiasDasPontasEMesesCompactados() {
+        estatisticaService.compactar();
+        consolidacaoMensal.marcarPendente(LocalDate.of(2024, 4, 20));
+
+        List<EstatisticaService.Trecho> trechos =
+                estatisticaService.dividirEmTrechos(LocalDate.of(2024, 1, 15), LocalDate.of(2024, 6, 10));
+
+        Assertions.assertEquals(5, trechos.size());
+        assertTrecho(trechos.get(0), LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 31), false);
+        assertTrecho(trechos.get(1), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 31), true);
+        assertTrecho(trechos.get(2), LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30), false);
+        assertTrecho(trechos.get(3), LocalDate.of(2024, 5, 1), LocalDate.of(2024, 5, 31), true);
+        assertTrecho(trechos.get(4), LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 10), false);
+    }
+
+    @Test
+    void deveSomarMesesCompactadosEDiasDasPontas() {
+        estatisticaService.compactar();
+        LocalDate dataInicial = LocalDate.of(2024, 1, 15);
+        LocalDate dataFinal = LocalDate.of(2024, 3, 31);
+        List<ContagemPorChave> pontas = Collections.singletonList(contagem("1", 2L));
+        List<ContagemPorChave> meses = Arrays.asList(contagem("1", 5L), contagem("2", 4L));
+        Mockito.when(estatisticaDiariaRepository.somarPorChaveNoPeriodo(DimensaoEstatistica.INTEGRANTE,
+                dataInicial, LocalDate.of(2024, 1, 31))).thenReturn(pontas);
+        Mockito.when(estatisticaMensalRepository.somarPorChaveNoPeriodo(DimensaoEstatistica.INTEGRANTE,
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1))).thenReturn(meses);
+
+        Map<String, Long> contagem = estatisticaService.contagemNoPeriodo(DimensaoEstatistica.INTEGRANTE, dataInicial, dataFinal);
+
+        Assertions.assertEquals(7L, contagem.get("1"));
+        Assertions.assertEquals(4L, contagem.get("2"));
+    }
+
+    @Test
+    void deveCompactarAoReconstruir() {
+        Mockito.when(timeRepository.findAllComComposicao()).thenReturn(Collections.singletonList(criarTime(data, joao)));
+
+        estatisticaService.reconstruir();
+
+        Mockito.verify(estatisticaMensalRepository).deleteAllInBatch();
+        Mockito.verify(estatisticaMensalRepository).saveAll(Mockito.argThat(mensais ->
+                mensais.iterator().hasNext()
+                        && mensais.iterator().next().getMes().equals(data.withDayOfMonth(1))));
+        Assertions.assertTrue(consolidacaoMensal.isConsolidado());
+    }
+
+    @Test
+    void deveReconstruirNaInicializacaoQuandoFaltaremAsEstatisticasDeComposicao() {
+        Mockito.when(timeRepository.count()).thenReturn(1L);
+        Mockito.when(estatisticaDiariaRepository.existsByDimensao(DimensaoEstatistica.COMPOSICAO)).thenReturn(false);
+
+        estatisticaService.inicializar();
+
+        Mockito.verify(estatisticaDiariaRepository).deleteAllInBatch();
+    }
+
+    private void assertTrecho(EstatisticaService.Trecho trecho, LocalDate inicio, LocalDate fim, boolean mensal) {
+        Assertions.assertEquals(inicio, trecho.inicio);
+        Assertions.assertEquals(fim, trecho.fim);
+        Assertions.assertEquals(mensal, trecho.mensal);
+    }
+
+    private ContagemPorChave contagem(String chave, long total) {
+        ContagemPorChave contagem = Mockito.mock(ContagemPorChave.class);
+        Mockito.when(contagem.getChave()).thenReturn(chave);
+        Mockito.when(contagem.getTotal()).thenReturn(total);
+        return contagem;
+    }
+}
@@ -1,20 +1,40 @@
 package br.com.duxusdesafio.service;
 
+import br.com.duxusdesafio.analytics.AnaliseColunar;
+import br.com.duxusdesafio.analytics.CacheDeResultados;
+import br.com.duxusdesafio.analytics.DicionarioIntegrantes;
+import br.com.duxusdesafio.analytics.IndiceTimesPorData;
+import br.com.duxusdesafio.component.LimiteDePaginacao;
+import br.com.duxusdesafio.component.VersaoDosDados;
 import br.com.duxusdesafio.dto.IntegranteDto;
 import br.com.duxusdesafio.exceptions.IntegranteException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
 import br.com.duxusdesafio.exceptions.NullIntegranteException;
 import br.com.duxusdesafio.model.Integrante;
 import br.com.duxusdesafio.repository.IntegranteRepository;
+import br.com.duxusdesafio.response.ImportacaoResponse;
+import br.com.duxusdesafio.response.IntegranteResponse;
+import br.com.duxusdesafio.response.PaginaResponse;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +46,36 @@ class IntegranteServiceTest {
     @Mock
     private IntegranteRepository integranteRepository;
 
+    @Spy
+    private IndiceTimesPorData indiceTimesPorData = new IndiceTimesPorData();
+
+    @Mock
+    private EstatisticaService estatisticaService;
+
+    @Spy
+    private AnaliseColunar analiseColunar = new AnaliseColunar();
+
+    @Spy
+    private DicionarioIntegrantes dicionarioIntegrantes = new DicionarioIntegrantes();
+
+    @Spy
+    private CacheDeResultados cacheDeResultados = new CacheDeResultados();
+
+    @Spy
+    private VersaoDosDados versaoDosDados = new VersaoDosDados();
+
+    @Spy
+    private LimiteDePaginacao limiteDePaginacao = new LimiteDePaginacao();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
+    @Captor
+    private ArgumentCaptor<List<Integrante>> inseridos;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -67,6 +117,21 @@ class IntegranteServiceTest {
 
     }
 
+    @Test
+    void deveRegistrarFuncaoEFranquiaNoDicionarioAoCadastrar() {
+        IntegranteDto integranteDto = new IntegranteDto();
+        integranteDto.setFranquia("Franquia Exemplo");
+        integranteDto.setNome("Nome Exemplo");
+        integranteDto.setFuncao("Função Exemplo");
+
+        integranteService.cadastrarIntegrante(integranteDto);
+
+        Assertions.assertEquals(1, dicionarioIntegrantes.getFuncoes().tamanho());
+        Assertions.assertEquals(1, dicionarioIntegrantes.getFranquias().tamanho());
+        Assertions.assertEquals("Função Exemplo", dicionarioIntegrantes.getFuncoes().decodificar(0));
+        Assertions.assertEquals("Franquia Exemplo", dicionarioIntegrantes.getFranquias().decodificar(0));
+    }
+
     @Test
     void deveListarIntegrantesComSucesso() {
         Integrante integrante1 = new Integrante();
@@ -88,6 +153,7 @@ class IntegranteServiceTest {
         Assertions.assertEquals(2, integrantes.size());
         Assertions.assertEquals("Integrante 1", integrantes.get(0).getNome());
         Assertions.assertEquals("Integrante 2", integrantes.get(1).getNome());
+        Mockito.verify(integranteRepository, Mockito.times(1)).findAll();
     }
 
     @Test
@@ -108,13 +174,11 @@ class IntegranteServiceTest {
 
     @Test
     void deveRetornarIntegranteQuandoIdForValido() {
-        Integrante integrante = new Integrante();
-        integrante.setId(1L);
-        integrante.setNome("Integrante Teste");
+        IntegranteResponse integrante = new IntegranteResponse(1L, "Franquia", "Integrante Teste", "Função");
 
-        Mockito.when(integranteRepository.findById(1L)).thenReturn(Optional.of(integrante));
+        Mockito.when(integranteRepository.buscarResumoPorId(1L)).thenReturn(Optional.of(integrante));
 
-        Optional<Integrante> resultado = integranteService.buscarIntegrantePorId(1L);
+        Optional<IntegranteResponse> resultado = integranteService.buscarIntegrantePorId(1L);
 
         Assertions.assertTrue(resultado.isPresent());
         Assertions.assertEquals("Integrante Teste", resultado.get().getNome());
@@ -160,6 +224,9 @@ class IntegranteServiceTest {
 
         Mockito.verify(integranteRepository, Mockito.times(1)).findById(id);
         Mockito.verify(integranteRepository, Mockito.times(1)).save(integrante);
+        Mockito.verify(cacheDeResultados).invalidarIntegrante(id, true, true, true);
+        Mockito.verify(indiceTimesPorData).atualizarIntegrante(integrante);
+        Mockito.verify(versaoDosDados).registrarEscrita();
     }
 
     @Test
@@ -190,4 +257,127 @@ class IntegranteServiceTest {
         Mockito.verify(integranteRepository, Mockito.times(1)).deleteById(id);
     }
 
+    @Test
+    void deveListarIntegrantesPaginadosComOProximoCursor() {
+        Integrante integrante1 = new Integrante();
+        integrante1.setId(3L);
+        Integrante integrante2 = new Integrante();
+        integrante2.setId(5L);
+        Integrante integrante3 = new Integrante();
+        integrante3.setId(8L);
+        Mockito.when(integranteRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(integrante1, integrante2, integrante3));
+
+        PaginaResponse<Integrante> pagina = integranteService.listarIntegrantesPaginados(null, 2);
+
+        Assertions.assertEquals(Arrays.asList(integrante1, integrante2), pagina.getItens());
+        Assertions.assertEquals(5L, pagina.getProximoCursor());
+    }
+
+    @Test
+    void deveRetornarUltimaPaginaDeIntegrantesSemProximoCursor() {
+        Integrante integrante = new Integrante();
+        integrante.setId(9L);
+        Mockito.when(integranteRepository.findByIdGreaterThanOrderByIdAsc(5L, PageRequest.of(0, 21)))
+                .thenReturn(Arrays.asList(integrante));
+
+        PaginaResponse<Integrante> pagina = integranteService.listarIntegrantesPaginados(5L, null);
+
+        Assertions.assertEquals(1, pagina.getItens().size());
+        Assertions.assertNull(pagina.getProximoCursor());
+    }
+
+    private ImportacaoResponse importar(String csv, boolean atualizarExistentes) throws Exception {
+        return integranteService.importarIntegrantes(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), atualizarExistentes);
+    }
+
+    @Test
+    void deveImportarIntegrantesDoCsvInformandoAsLinhasInvalidas() throws Exception {
+        String csv = "franquia,nome,funcao\n" +
+                "Franquia A,João,Atacante\n" +
+                "Franquia B,Maria\n" +
+                "\n" +
+                "\"Franquia, C\",\"Ana \"\"Aninha\"\"\",Goleiro\n" +
+                "Franquia D,,Defensor\n" +
+                "\"Franquia E,Pedro,Meia\n";
+
+        ImportacaoResponse resposta = importar(csv, false);
+
+        Assertions.assertEquals(5, resposta.getLinhasLidas());
+        Assertions.assertEquals(2, resposta.getInseridos());
+        Assertions.assertEquals(0, resposta.getAtualizados());
+        Assertions.assertEquals(3, resposta.getTotalDeErros());
+        Assertions.assertEquals(3, resposta.getErros().get(0).getIndice());
+        Assertions.assertEquals("A linha deve ter as colunas franquia, nome e funcao.", resposta.getErros().get(0).getMensagem());
+        Assertions.assertEquals(6, resposta.getErros().get(1).getIndice());
+        Assertions.assertEquals("Aspas não fechadas na linha.", resposta.getErros().get(2).getMensagem());
+
+        Mockito.verify(integranteRepository).saveAll(inseridos.capture());
+        Assertions.assertEquals("Franquia, C", inseridos.getValue().get(1).getFranquia());
+        Assertions.assertEquals("Ana \"Aninha\"", inseridos.getValue().get(1).getNome());
+        Mockito.verify(integranteRepository, Mockito.never()).findByNomeIn(Mockito.anyCollection());
+    }
+
+    @Test
+    void deveAtualizarOsIntegrantesJaCadastradosPeloNome() throws Exception {
+        Integrante joao = new Integrante("Franquia A", "João", "Atacante", null);
+        joao.setId(7L);
+        Mockito.when(integranteRepository.findByNomeIn(Mockito.anyCollection())).thenReturn(Collections.singletonList(joao));
+        String csv = "Franquia A,João,Goleiro\nFranquia B,Maria,Defensor\nFranquia C,Maria,Meia\n";
+
+        ImportacaoResponse resposta = importar(csv, true);
+
+        Assertions.assertEquals(1, resposta.getInseridos());
+        Assertions.assertEquals(1, resposta.getAtualizados());
+        Assertions.assertEquals(1, resposta.getRepetidos());
+        Assertions.assertEquals(0, resposta.getInalterados());
+        Assertions.assertEquals("Goleiro", joao.getFuncao());
+        Mockito.verify(estatisticaService).registrarAlteracaoDeIntegrante("Atacante", "Franquia A", joao);
+        Mockito.verify(cacheDeResultados).invalidarIntegrante(7L, false, true, false);
+        Mockito.verify(integranteRepository).saveAll(inseridos.capture());
+        Assertions.assertEquals("Franquia C", inseridos.getValue().get(0).getFranquia());
+        Mockito.verify(indiceTimesPorData).atualizarIntegrante(joao);
+    }
+
+    @Test
+    void deveContarComoInalteradoOIntegranteCadastradoSemMudancas() throws Exception {
+        Integrante joao = new Integrante("Franquia A", "João", "Atacante", null);
+        joao.setId(7L);
+        Mockito.when(integranteRepository.findByNomeIn(Mockito.anyCollection())).thenReturn(Collections.singletonList(joao));
+        String csv = "Franquia A,João,Atacante\nFranquia A,João,Goleiro\n";
+
+        ImportacaoResponse resposta = importar(csv, true);
+
+        Assertions.assertEquals(2, resposta.getLinhasLidas());
+        Assertions.assertEquals(0, resposta.getInseridos());
+        Assertions.assertEquals(1, resposta.getAtualizados());
+        Assertions.assertEquals(0, resposta.getInalterados());
+        Assertions.assertEquals(1, resposta.getRepetidos());
+        Assertions.assertEquals("Goleiro", joao.getFuncao());
+
+        ImportacaoResponse semMudancas = importar("Franquia A,João,Goleiro\n", true);
+
+        Assertions.assertEquals(0, semMudancas.getAtualizados());
+        Assertions.assertEquals(1, semMudancas.getInalterados());
+        Mockito.verify(estatisticaService, Mockito.times(1))
+                .registrarAlteracaoDeIntegrante(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void deveGravarAImportacaoEmTransacoesSeparadasEContinuarAposUmaFalha() throws Exception {
+        ReflectionTestUtils.setField(integranteService, "linhasPorTransacao", 2);
+        Mockito.doThrow(new IllegalStateException("conexão perdida")).doNothing().when(entityManager).flush();
+        String csv = "F,A,X\nF,B,X\nF,C,X\nF,D,X\nF,E,X\n";
+
+        ImportacaoResponse resposta = importar(csv, false);
+
+        Mockito.verify(transactionTemplate, Mockito.times(3)).execute(Mockito.any());
+        Assertions.assertEquals(5, resposta.getLinhasLidas());
+        Assertions.assertEquals(3, resposta.getInseridos());
+        Assertions.assertEquals(2, resposta.getTotalDeErros());
+        Assertions.assertEquals("Falha ao gravar o lote: conexão perdida", resposta.getErros().get(0).getMensagem());
+        Assertions.assertEquals(1, resposta.getErros().get(0).getIndice());
+    }
+
 }
@@ -0,0 +1,67 @@
+package br.com.duxusdesafio.service;
+
+import br.com.duxusdesafio.model.ComposicaoTime;
+import br.com.duxusdesafio.model.Integrante;
+import br.com.duxusdesafio.model.Time;
+import br.com.duxusdesafio.repository.IntegranteRepository;
+import br.com.duxusdesafio.response.ComposicaoTimeResponse;
+import br.com.duxusdesafio.response.IntegranteResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Atualização do time pelo TimeService em um banco real, contando os comandos gerados para as composições.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:atualizacao-de-time;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class TimeServiceIntegracaoTest {
+
+    @Autowired
+    private TimeService timeService;
+
+    @Autowired
+    private IntegranteRepository integranteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void deveGravarApenasAsComposicoesRetiradasEIncluidasAoTrocarUmIntegrante() {
+        List<Integrante> integrantes = integranteRepository.saveAll(Arrays.asList(
+                new Integrante("Franquia A", "João", "Atacante", null),
+                new Integrante("Franquia B", "Maria", "Defensor", null),
+                new Integrante("Franquia C", "Ana", "Goleiro", null),
+                new Integrante("Franquia D", "Pedro", "Meia", null)));
+        List<Long> ids = integrantes.stream().map(Integrante::getId).collect(Collectors.toList());
+        LocalDate data = LocalDate.now().plusDays(1);
+        Time time = timeService.cadastrarTime(data, ids.subList(0, 3));
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        timeService.atualizarTime(time.getId(), data, Arrays.asList(ids.get(0), ids.get(1), ids.get(3)));
+
+        EntityStatistics composicoes = estatisticas.getEntityStatistics(ComposicaoTime.class.getName());
+        Assertions.assertEquals(1, composicoes.getInsertCount());
+        Assertions.assertEquals(1, composicoes.getDeleteCount());
+        Assertions.assertEquals(0, composicoes.getUpdateCount());
+        Assertions.assertEquals(Arrays.asList("João", "Maria", "Pedro"),
+                timeService.consultarTime(time.getId()).getComposicaoTime().stream()
+                        .map(ComposicaoTimeResponse::getIntegrante)
+                        .map(IntegranteResponse::getNome)
+                        .collect(Collectors.toList()));
+    }
+}
@@ -1,5 +1,12 @@
 package br.com.duxusdesafio.service;
 
+import br.com.duxusdesafio.analytics.AnaliseColunar;
+import br.com.duxusdesafio.analytics.CacheDeResultados;
+import br.com.duxusdesafio.analytics.IndiceTimesPorData;
+import br.com.duxusdesafio.analytics.ResumosDeAparicoes;
+import br.com.duxusdesafio.component.LimiteDePaginacao;
+import br.com.duxusdesafio.component.VersaoDosDados;
+import br.com.duxusdesafio.dto.TimeDto;
 import br.com.duxusdesafio.exceptions.DateNotFoundException;
 import br.com.duxusdesafio.exceptions.IntegranteException;
 import br.com.duxusdesafio.exceptions.NotFoundException;
@@ -9,19 +16,38 @@ import br.com.duxusdesafio.model.Integrante;
 import br.com.duxusdesafio.model.Time;
 import br.com.duxusdesafio.repository.IntegranteRepository;
 import br.com.duxusdesafio.repository.TimeRepository;
+import br.com.duxusdesafio.response.CadastroEmLoteResponse;
+import br.com.duxusdesafio.response.PaginaResponse;
+import br.com.duxusdesafio.response.TimeResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
-
+import org.mockito.Spy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static br.com.duxusdesafio.dto.LinhasDeTimeDeTeste.linha;
+import static br.com.duxusdesafio.dto.LinhasDeTimeDeTeste.timeSemIntegrantes;
 
 public class TimeServiceTest {
 
@@ -34,6 +60,39 @@ public class TimeServiceTest {
     @Mock
     private TimeRepository timeRepository;
 
+    @Spy
+    private IndiceTimesPorData indiceTimesPorData = new IndiceTimesPorData();
+
+    @Mock
+    private EstatisticaService estatisticaService;
+
+    @Spy
+    private AnaliseColunar analiseColunar = new AnaliseColunar();
+
+    @Spy
+    private ResumosDeAparicoes resumosDeAparicoes = new ResumosDeAparicoes();
+
+    @Spy
+    private CacheDeResultados cacheDeResultados = new CacheDeResultados();
+
+    @Spy
+    private VersaoDosDados versaoDosDados = new VersaoDosDados();
+
+    @Spy
+    private LimiteDePaginacao limiteDePaginacao = new LimiteDePaginacao();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class));
+
+    @Captor
+    private ArgumentCaptor<List<Time>> gravados;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -136,28 +195,53 @@ public class TimeServiceTest {
 
     @Test
     void deveLancarNotFoundExceptionQuandoNaoExistiremTimes() {
-        Mockito.when(timeRepository.findAll()).thenReturn(Collections.emptyList());
+        Mockito.when(timeRepository.listarLinhasDosTimes()).thenReturn(Collections.emptyList());
 
         NotFoundException exception = Assertions.assertThrows(NotFoundException.class, () ->
                 timeService.listarTodosOsTimes());
 
         Assertions.assertEquals("Nenhum time encontrado.", exception.getMessage());
-        Mockito.verify(timeRepository, Mockito.times(1)).findAll();
+        Mockito.verify(timeRepository, Mockito.times(1)).listarLinhasDosTimes();
     }
 
     @Test
     void deveRetornarListaDeTimesQuandoExistiremTimes() {
-        Time time1 = new Time();
-        Time time2 = new Time();
-        Mockito.when(timeRepository.findAll()).thenReturn(Arrays.asList(time1, time2));
+        LocalDate data = LocalDate.of(2024, 12, 13);
+        Mockito.when(timeRepository.listarLinhasDosTimes()).thenReturn(Arrays.asList(
+                linha(1L, data, 10L, 7L, "João"),
+                linha(1L, data, 11L, 8L, "Maria"),
+                timeSemIntegrantes(2L, data)));
 
-        List<Time> times = timeService.listarTodosOsTimes();
+        List<TimeResponse> times = timeService.listarTodosOsTimes();
 
-        Assertions.assertNotNull(times);
         Assertions.assertEquals(2, times.size());
-        Assertions.assertTrue(times.contains(time1));
-        Assertions.assertTrue(times.contains(time2));
-        Mockito.verify(timeRepository, Mockito.times(1)).findAll();
+        Assertions.assertEquals(2, times.get(0).getComposicaoTime().size());
+        Assertions.assertTrue(times.get(1).getComposicaoTime().isEmpty());
+        Mockito.verify(timeRepository, Mockito.times(1)).listarLinhasDosTimes();
+        Mockito.verify(timeRepository, Mockito.never()).findAllComComposicao();
+    }
+
+    @Test
+    void deveConsultarTimePorIdPelaProjecao() {
+        LocalDate data = LocalDate.of(2024, 12, 13);
+        Mockito.when(timeRepository.listarLinhasDoTime(1L)).thenReturn(Collections.singletonList(
+                linha(1L, data, 10L, 7L, "João")));
+
+        TimeResponse time = timeService.consultarTime(1L);
+
+        Assertions.assertEquals(1L, time.getId());
+        Assertions.assertEquals("João", time.getComposicaoTime().get(0).getIntegrante().getNome());
+        Mockito.verify(timeRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+
+    @Test
+    void deveLancarNotFoundExceptionAoConsultarTimeInexistente() {
+        Mockito.when(timeRepository.listarLinhasDoTime(1L)).thenReturn(Collections.emptyList());
+
+        NotFoundException exception = Assertions.assertThrows(NotFoundException.class, () ->
+                timeService.consultarTime(1L));
+
+        Assertions.assertEquals("Time não encontrado com o ID: 1", exception.getMessage());
     }
 
     @Test
@@ -265,6 +349,9 @@ public class TimeServiceTest {
 
         // Verifica se o método delete foi chamado
         Mockito.verify(timeRepository, Mockito.times(1)).delete(time);
+        Mockito.verify(analiseColunar).invalidar();
+        Mockito.verify(cacheDeResultados).invalidarData(time.getData());
+        Mockito.verify(versaoDosDados).registrarEscrita();
     }
 
     @Test
@@ -278,4 +365,352 @@ public class TimeServiceTest {
         Mockito.verify(timeRepository, Mockito.never()).delete(Mockito.any(Time.class));
     }
 
+    @Test
+    void deveRetornarApenasOsTimesDoPeriodo() {
+        Time timeForaDoPeriodo = new Time(LocalDate.of(2024, 1, 10), Collections.emptyList());
+        timeForaDoPeriodo.setId(1L);
+        Time timeDoPeriodo = new Time(LocalDate.of(2024, 2, 10), Collections.emptyList());
+        timeDoPeriodo.setId(2L);
+        Mockito.when(timeRepository.findAllComComposicao()).thenReturn(Arrays.asList(timeForaDoPeriodo, timeDoPeriodo));
+
+        List<Time> times = timeService.listarTimesPorPeriodo(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 28));
+
+        Assertions.assertEquals(Collections.singletonList(timeDoPeriodo), times);
+    }
+
+    @Test
+    void deveCarregarOIndiceApenasUmaVez() {
+        Time time = new Time(LocalDate.of(2024, 2, 10), Collections.emptyList());
+        Mockito.when(timeRepository.findAllComComposicao()).thenReturn(Collections.singletonList(time));
+
+        timeService.listarTimesPorPeriodo(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 28));
+        timeService.listarTimesPorPeriodo(LocalDate.of(2024, 2, 10), LocalDate.of(2024, 2, 10));
+
+        Mockito.verify(timeRepository, Mockito.times(1)).findAllComComposicao();
+    }
+
+    @Test
+    void deveLancarNotFoundExceptionQuandoNaoHouverTimesNoPeriodo() {
+        Mockito.when(timeRepository.findAllComComposicao()).thenReturn(Collections.emptyList());
+
+        NotFoundException exception = Assertions.assertThrows(NotFoundException.class, () ->
+                timeService.listarTimesPorPeriodo(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 28)));
+
+        Assertions.assertEquals("Nenhum time encontrado no período especificado.", exception.getMessage());
+    }
+
+    @Test
+    void deveManterOIndiceAtualizadoAoDeletarTime() {
+        Time time = new Time(LocalDate.of(2024, 2, 10), Collections.emptyList());
+        time.setId(1L);
+        Mockito.when(timeRepository.findAllComComposicao()).thenReturn(Collections.singletonList(time));
+        Mockito.when(timeRepository.findById(1L)).thenReturn(Optional.of(time));
+
+        timeService.listarTimesPorPeriodo(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 28));
+        timeService.deletarTime(1L);
+
+        Assertions.assertThrows(NotFoundException.class, () ->
+                timeService.listarTimesPorPeriodo(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 28)));
+    }
+
+    @Test
+    void deveAtualizarAsEstatisticasComAComposicaoAnteriorDoTime() {
+        Long id = 1L;
+        LocalDate dataAnterior = LocalDate.now().plusDays(1);
+        LocalDate novaData = LocalDate.now().plusDays(2);
+
+        Integrante integranteAnterior = new Integrante();
+        integranteAnterior.setId(1L);
+        Integrante novoIntegrante = new Integrante();
+        novoIntegrante.setId(2L);
+
+        Time timeExistente = new Time(dataAnterior, null);
+        timeExistente.setComposicaoTime(new ArrayList<>(Arrays.asList(new ComposicaoTime(timeExistente, integranteAnterior))));
+
+        Mockito.when(timeRepository.findById(id)).thenReturn(Optional.of(timeExistente));
+        Mockito.when(integranteRepository.findAllById(Arrays.asList(2L))).thenReturn(Arrays.asList(novoIntegrante));
+        Mockito.when(timeRepository.save(timeExistente)).thenReturn(timeExistente);
+
+        timeService.atualizarTime(id, novaData, Arrays.asList(2L));
+
+        Mockito.verify(estatisticaService).registrarAlteracaoDeTime(dataAnterior, Arrays.asList(integranteAnterior), timeExistente);
+    }
+
+    private Time timeComIntegrantes(LocalDate data, Integrante... integrantes) {
+        Time time = new Time(data, null);
+        time.setId(1L);
+        List<ComposicaoTime> composicoes = new ArrayList<>();
+        for (Integrante integrante : integrantes) {
+            composicoes.add(new ComposicaoTime(time, integrante));
+        }
+        time.setComposicaoTime(composicoes);
+        return time;
+    }
+
+    @Test
+    void deveAlterarApenasOIntegranteTrocadoAoAtualizarTime() {
+        LocalDate data = LocalDate.now().plusDays(1);
+        Integrante integrante1 = integrante(1L);
+        Integrante integrante2 = integrante(2L);
+        Integrante integrante3 = integrante(3L);
+        Integrante integrante4 = integrante(4L);
+        Time timeExistente = timeComIntegrantes(data, integrante1, integrante2, integrante3);
+        List<ComposicaoTime> composicoesMantidas = new ArrayList<>(timeExistente.getComposicaoTime().subList(0, 2));
+        List<Long> novosIds = Arrays.asList(1L, 2L, 4L);
+        Mockito.when(timeRepository.findById(1L)).thenReturn(Optional.of(timeExistente));
+        Mockito.when(integranteRepository.findAllById(novosIds)).thenReturn(Arrays.asList(integrante1, integrante2, integrante4));
+        Mockito.when(timeRepository.save(timeExistente)).thenReturn(timeExistente);
+
+        Time timeAtualizado = timeService.atualizarTime(1L, data, novosIds);
+
+        List<ComposicaoTime> composicao = timeAtualizado.getComposicaoTime();
+        Assertions.assertEquals(3, composicao.size());
+        Assertions.assertSame(composicoesMantidas.get(0), composicao.get(0));
+        Assertions.assertSame(composicoesMantidas.get(1), composicao.get(1));
+        Assertions.assertEquals(integrante4, composicao.get(2).getIntegrante());
+        Assertions.assertEquals(Time.calcularAssinatura(novosIds), timeAtualizado.getAssinatura());
+    }
+
+    @Test
+    void naoDeveGravarNadaQuandoOTimeNaoMudar() {
+        LocalDate data = LocalDate.now().plusDays(1);
+        Integrante integrante1 = integrante(1L);
+        Integrante integrante2 = integrante(2L);
+        Time timeExistente = timeComIntegrantes(data, integrante1, integrante2);
+        List<ComposicaoTime> composicaoAnterior = new ArrayList<>(timeExistente.getComposicaoTime());
+        Mockito.when(timeRepository.findById(1L)).thenReturn(Optional.of(timeExistente));
+        Mockito.when(integranteRepository.findAllById(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(integrante2, integrante1));
+        String etagAnterior = versaoDosDados.getEtag();
+
+        Time timeAtualizado = timeService.atualizarTime(1L, data, Arrays.asList(2L, 1L));
+
+        Assertions.assertSame(timeExistente, timeAtualizado);
+        Assertions.assertEquals(composicaoAnterior, timeAtualizado.getComposicaoTime());
+        Mockito.verify(timeRepository, Mockito.never()).save(Mockito.any());
+        Mockito.verifyNoInteractions(estatisticaService);
+        Mockito.verify(cacheDeResultados, Mockito.never()).invalidarData(Mockito.any());
+        Assertions.assertEquals(etagAnterior, versaoDosDados.getEtag());
+    }
+
+    @Test
+    void deveManterAComposicaoQuandoApenasADataMudar() {
+        LocalDate data = LocalDate.now().plusDays(1);
+        Integrante integrante1 = integrante(1L);
+        Time timeExistente = timeComIntegrantes(data, integrante1);
+        ComposicaoTime composicaoAnterior = timeExistente.getComposicaoTime().get(0);
+        Mockito.when(timeRepository.findById(1L)).thenReturn(Optional.of(timeExistente));
+        Mockito.when(integranteRepository.findAllById(Arrays.asList(1L))).thenReturn(Arrays.asList(integrante1));
+        Mockito.when(timeRepository.save(timeExistente)).thenReturn(timeExistente);
+
+        Time timeAtualizado = timeService.atualizarTime(1L, data.plusDays(1), Arrays.asList(1L));
+
+        Assertions.assertEquals(data.plusDays(1), timeAtualizado.getData());
+        Assertions.assertSame(composicaoAnterior, timeAtualizado.getComposicaoTime().get(0));
+        Mockito.verify(timeRepository).save(timeExistente);
+    }
+
+    @Test
+    void deveDescontarAsEstatisticasAoDeletarTime() {
+        Time time = new Time(LocalDate.of(2024, 2, 10), Collections.emptyList());
+        Mockito.when(timeRepository.findById(1L)).thenReturn(Optional.of(time));
+
+        timeService.deletarTime(1L);
+
+        Mockito.verify(estatisticaService).removerTime(time);
+    }
+
+    @Test
+    void deveGravarAAssinaturaDaComposicaoAoCadastrarTime() {
+        LocalDate data = LocalDate.now().plusDays(1);
+        Integrante integrante1 = new Integrante();
+        integrante1.setId(1L);
+        Integrante integrante2 = new Integrante();
+        integrante2.setId(2L);
+
+        Mockito.when(integranteRepository.findAllById(Arrays.asList(2L, 1L))).thenReturn(Arrays.asList(integrante2, integrante1));
+        Mockito.when(timeRepository.save(Mockito.any(Time.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Time time = timeService.cadastrarTime(data, Arrays.asList(2L, 1L));
+
+        Assertions.assertEquals(Time.calcularAssinatura(Arrays.asList(1L, 2L)), time.getAssinatura());
+        Assertions.assertEquals(16, time.getAssinatura().length());
+        Assertions.assertNotEquals(Time.calcularAssinatura(Arrays.asList(1L, 3L)), time.getAssinatura());
+    }
+
+    @Test
+    void devePreencherAsAssinaturasPendentes() {
+        Integrante integrante = new Integrante();
+        integrante.setId(5L);
+        Time time = new Time(LocalDate.of(2024, 2, 10), null);
+        time.setComposicaoTime(Arrays.asList(new ComposicaoTime(time, integrante)));
+        Mockito.when(timeRepository.findByAssinaturaIsNull()).thenReturn(Collections.singletonList(time));
+
+        timeService.preencherAssinaturasPendentes();
+
+        Assertions.assertEquals(Time.calcularAssinatura(Collections.singletonList(5L)), time.getAssinatura());
+    }
+
+    @Test
+    void deveListarTimesPaginadosComOProximoCursor() {
+        Time time1 = new Time();
+        time1.setId(4L);
+        Time time2 = new Time();
+        time2.setId(7L);
+        Mockito.when(timeRepository.listarIdsAposCursor(2L, PageRequest.of(0, 3))).thenReturn(Arrays.asList(4L, 7L, 9L));
+        Mockito.when(timeRepository.findAllComComposicaoPorIds(Arrays.asList(4L, 7L))).thenReturn(Arrays.asList(time1, time2));
+
+        PaginaResponse<Time> pagina = timeService.listarTimesPaginados(2L, 2);
+
+        Assertions.assertEquals(Arrays.asList(time1, time2), pagina.getItens());
+        Assertions.assertEquals(7L, pagina.getProximoCursor());
+    }
+
+    @Test
+    void deveRetornarUltimaPaginaSemCursorESemConsultarComposicoesQuandoNaoHouverTimes() {
+        Mockito.when(timeRepository.listarIdsAposCursor(0L, PageRequest.of(0, 21))).thenReturn(Collections.emptyList());
+
+        PaginaResponse<Time> pagina = timeService.listarTimesPaginados(null, null);
+
+        Assertions.assertTrue(pagina.getItens().isEmpty());
+        Assertions.assertNull(pagina.getProximoCursor());
+        Mockito.verify(timeRepository, Mockito.never()).findAllComComposicaoPorIds(Mockito.any());
+    }
+
+    @Test
+    void deveLimitarOTamanhoDaPaginaAoMaximo() {
+        Mockito.when(timeRepository.listarIdsAposCursor(0L, PageRequest.of(0, 101))).thenReturn(Arrays.asList(1L, 2L));
+        Mockito.when(timeRepository.findAllComComposicaoPorIds(Arrays.asList(1L, 2L))).thenReturn(Collections.emptyList());
+
+        timeService.listarTimesPaginados(null, 5000);
+
+        Mockito.verify(timeRepository).listarIdsAposCursor(0L, PageRequest.of(0, 101));
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoTamanhoDaPaginaNaoForPositivo() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> timeService.listarTimesPaginados(null, 0));
+    }
+
+    @Test
+    void deveExportarUmTimePorLinhaLimpandoOContextoACadaLote() throws Exception {
+        Integrante integrante = new Integrante("Franquia", "Nome", "Função", null);
+        integrante.setId(1L);
+        List<Time> times = new ArrayList<>();
+        for (int i = 1; i <= 150; i++) {
+            Time time = new Time(LocalDate.of(2024, 1, 1), null);
+            time.setId(i);
+            time.setComposicaoTime(Collections.singletonList(new ComposicaoTime(time, integrante)));
+            times.add(time);
+        }
+        Mockito.when(timeRepository.streamTodosOrdenadosPorId()).thenReturn(times.stream());
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        long exportados = timeService.exportarTimes(saida);
+
+        String[] linhas = new String(saida.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(150, exportados);
+        Assertions.assertEquals(150, linhas.length);
+        Assertions.assertTrue(linhas[0].startsWith("{\"id\":1,"));
+        Assertions.assertTrue(linhas[149].contains("\"nome\":\"Nome\""));
+        Mockito.verify(entityManager, Mockito.times(2)).clear();
+    }
+
+    @Test
+    void deveFecharOStreamDeTimesAoExportar() throws Exception {
+        boolean[] fechado = {false};
+        Mockito.when(timeRepository.streamTodosOrdenadosPorId())
+                .thenReturn(Stream.<Time>empty().onClose(() -> fechado[0] = true));
+
+        long exportados = timeService.exportarTimes(new ByteArrayOutputStream());
+
+        Assertions.assertEquals(0, exportados);
+        Assertions.assertTrue(fechado[0]);
+    }
+
+    private TimeDto timeDto(LocalDate data, Long... idsIntegrantes) {
+        TimeDto timeDto = new TimeDto();
+        timeDto.setData(data);
+        timeDto.setIdsIntegrantes(Arrays.asList(idsIntegrantes));
+        return timeDto;
+    }
+
+    private void simularInsercaoDosTimes() {
+        long[] proximoId = {1};
+        Mockito.when(timeRepository.saveAll(Mockito.anyList())).thenAnswer(invocacao -> {
+            List<Time> times = invocacao.getArgument(0);
+            times.forEach(time -> time.setId(proximoId[0]++));
+            return times;
+        });
+    }
+
+    private Integrante integrante(long id) {
+        Integrante integrante = new Integrante("Franquia", "Integrante " + id, "Função", null);
+        integrante.setId(id);
+        return integrante;
+    }
+
+    @Test
+    void deveCadastrarTimesEmLoteInformandoOsErrosDeCadaItem() {
+        LocalDate data = LocalDate.now().plusDays(1);
+        List<TimeDto> times = Arrays.asList(
+                timeDto(data, 1L, 2L),
+                timeDto(LocalDate.now().minusDays(1), 1L),
+                timeDto(data, 1L, 99L),
+                timeDto(data),
+                timeDto(data, 2L, 2L),
+                timeDto(data, 2L));
+        Mockito.when(integranteRepository.findAllById(Mockito.anyCollection()))
+                .thenReturn(Arrays.asList(integrante(1L), integrante(2L)));
+        simularInsercaoDosTimes();
+
+        CadastroEmLoteResponse resposta = timeService.cadastrarTimesEmLote(times);
+
+        Assertions.assertEquals(6, resposta.getRecebidos());
+        Assertions.assertEquals(Arrays.asList(1L, 2L), resposta.getIdsCadastrados());
+        Assertions.assertEquals(4, resposta.getErros().size());
+        Assertions.assertEquals(1, resposta.getErros().get(0).getIndice());
+        Assertions.assertEquals("A data do time não pode ser nula ou anterior a data de hoje.", resposta.getErros().get(0).getMensagem());
+        Assertions.assertEquals("Um ou mais IDs de integrantes são inválidos.", resposta.getErros().get(1).getMensagem());
+        Assertions.assertEquals("A lista de IDs de integrantes não pode ser nula ou vazia.", resposta.getErros().get(2).getMensagem());
+        Assertions.assertEquals(4, resposta.getErros().get(3).getIndice());
+
+        Mockito.verify(integranteRepository, Mockito.times(1)).findAllById(Mockito.anyCollection());
+        Mockito.verify(timeRepository).saveAll(gravados.capture());
+        Assertions.assertEquals(3, gravados.getValue().stream().mapToInt(time -> time.getComposicaoTime().size()).sum());
+        Mockito.verify(estatisticaService).registrarTimes(Mockito.anyList());
+        Mockito.verify(cacheDeResultados, Mockito.times(1)).invalidarData(data);
+    }
+
+    @Test
+    void deveGravarOLoteEmTransacoesSeparadasEContinuarAposUmaFalha() {
+        ReflectionTestUtils.setField(timeService, "timesPorTransacao", 2);
+        LocalDate data = LocalDate.now().plusDays(1);
+        List<TimeDto> times = Arrays.asList(timeDto(data, 1L), timeDto(data, 1L), timeDto(data, 1L),
+                timeDto(data, 1L), timeDto(data, 1L));
+        Mockito.when(integranteRepository.findAllById(Mockito.anyCollection()))
+                .thenReturn(Collections.singletonList(integrante(1L)));
+        simularInsercaoDosTimes();
+        Mockito.doThrow(new IllegalStateException("conexão perdida")).doNothing().when(entityManager).flush();
+
+        CadastroEmLoteResponse resposta = timeService.cadastrarTimesEmLote(times);
+
+        // a busca dos integrantes e os três lotes
+        Mockito.verify(transactionTemplate, Mockito.times(4)).execute(Mockito.any());
+        Assertions.assertEquals(3, resposta.getCadastrados());
+        Assertions.assertEquals(2, resposta.getErros().size());
+        Assertions.assertEquals(0, resposta.getErros().get(0).getIndice());
+        Assertions.assertEquals("Falha ao gravar o lote: conexão perdida", resposta.getErros().get(0).getMensagem());
+        Assertions.assertEquals(1, resposta.getErros().get(1).getIndice());
+    }
+
+    @Test
+    void deveRecusarLoteVazioOuAcimaDoMaximo() {
+        ReflectionTestUtils.setField(timeService, "maximoPorRequisicao", 1);
+        LocalDate data = LocalDate.now().plusDays(1);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> timeService.cadastrarTimesEmLote(Collections.emptyList()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> timeService.cadastrarTimesEmLote(Arrays.asList(timeDto(data, 1L), timeDto(data, 1L))));
+    }
+
 }